@@ -1,5 +1,6 @@
 package com.omar.spring_data_aot.coffee;
 
+import com.omar.spring_data_aot.paging.KeysetPage;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -9,6 +10,8 @@ import java.util.List;
 @RequestMapping("/api/coffee")
 public class CoffeeController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CoffeeRepository coffeeRepository;
 
     public CoffeeController(CoffeeRepository coffeeRepository) {
@@ -20,6 +23,18 @@ public class CoffeeController {
         return coffeeRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated listing: pass the returned {@code nextCursor} as {@code after}
+     * to get the next page, until it is {@code null}.
+     */
+    @GetMapping("/page")
+    public KeysetPage<Coffee> getCoffeesPage(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return KeysetPage.of(coffeeRepository.findPageAfter(after, pageSize + 1), pageSize, Coffee::id);
+    }
+
     @GetMapping("/search")
     public List<Coffee> searchCoffeesByName(@RequestParam String pattern) {
         return coffeeRepository.findByNameContainingIgnoreCase(pattern);
@@ -47,4 +47,19 @@ public interface CoffeeRepository extends ListCrudRepository<Coffee, Long> {
         """)
     List<Coffee> findAffordableCoffeesBySize(@Param("size") String size,
                                               @Param("maxPrice") BigDecimal maxPrice);
-}
\ No newline at end of file
+
+    /**
+     * DEMONSTRATES: Keyset (cursor) pagination with a validated custom query.
+     *
+     * Returns the coffees after a given id, in id order. Seeking on the primary key
+     * keeps every page equally cheap, however deep - unlike OFFSET, which reads and
+     * discards all the skipped rows. Start with {@code after = 0}.
+     */
+    @Query("""
+        SELECT * FROM coffee
+        WHERE id > :after
+        ORDER BY id
+        LIMIT :limit
+        """)
+    List<Coffee> findPageAfter(@Param("after") long after, @Param("limit") int limit);
+}
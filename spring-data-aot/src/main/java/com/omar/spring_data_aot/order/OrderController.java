@@ -1,7 +1,14 @@
 package com.omar.spring_data_aot.order;
 
+import com.omar.spring_data_aot.paging.KeysetPage;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -9,13 +16,18 @@ import java.util.List;
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderExportService orderExportService;
 
     public OrderController(OrderRepository orderRepository,
-                          OrderItemRepository orderItemRepository) {
+                          OrderItemRepository orderItemRepository,
+                          OrderExportService orderExportService) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
+        this.orderExportService = orderExportService;
     }
 
     @GetMapping
@@ -23,6 +35,44 @@ public class OrderController {
         return orderRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated listing, for tables too large for {@link #getAllOrders()}:
+     * pass the returned {@code nextCursor} as {@code after} to get the next page,
+     * until it is {@code null}. Every page costs the same, however deep.
+     */
+    @GetMapping("/page")
+    public KeysetPage<Order> getOrdersPage(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return KeysetPage.of(orderRepository.findPageAfter(after, pageSize + 1), pageSize, Order::id);
+    }
+
+    /**
+     * Streams every order to the response as NDJSON (default) or CSV. Rows are
+     * written while they are read, so the export never holds the table in memory.
+     */
+    @GetMapping("/export")
+    public void exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        switch (format) {
+            case "ndjson" -> {
+                response.setContentType("application/x-ndjson");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("orders.ndjson").build().toString());
+                orderExportService.exportNdjson(response.getOutputStream());
+            }
+            case "csv" -> {
+                response.setContentType("text/csv;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("orders.csv").build().toString());
+                orderExportService.exportCsv(response.getOutputStream());
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unsupported export format '" + format + "', use ndjson or csv");
+        }
+    }
+
     @GetMapping("/customer/{customerName}")
     public List<Order> getOrdersByCustomer(@PathVariable String customerName) {
         return orderRepository.findByCustomerName(customerName);
@@ -0,0 +1,96 @@
+package com.omar.spring_data_aot.order;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exports every order, written row by row as it is read from the database.
+ *
+ * Nothing is collected into a list: each order is mapped, serialized and written
+ * before the next one is fetched, so memory use is the same for a hundred orders
+ * or tens of millions. The read-only transaction keeps the database cursor open
+ * for the whole export and lets the driver stream with its fetch size.
+ */
+@Service
+public class OrderExportService {
+
+    static final String CSV_HEADER = "id,customerId,customerName,orderDate,totalAmount,status";
+
+    private final OrderRepository orderRepository;
+    private final JsonMapper jsonMapper;
+
+    public OrderExportService(OrderRepository orderRepository, JsonMapper jsonMapper) {
+        this.orderRepository = orderRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Writes one JSON object per line (NDJSON), in id order.
+     *
+     * @return number of orders written
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Order> orders = orderRepository.streamAllOrderById()) {
+            for (Iterator<Order> it = orders.iterator(); it.hasNext(); rows++) {
+                out.write(jsonMapper.writeValueAsBytes(it.next()));
+                out.write('\n');
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * Writes a CSV file with a header line, in id order.
+     *
+     * @return number of orders written
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try (Stream<Order> orders = orderRepository.streamAllOrderById()) {
+            for (Iterator<Order> it = orders.iterator(); it.hasNext(); rows++) {
+                Order order = it.next();
+                writer.write(String.valueOf(order.id()));
+                writer.write(',');
+                writer.write(order.customerId() == null ? "" : order.customerId().toString());
+                writer.write(',');
+                writer.write(csvField(order.customerName()));
+                writer.write(',');
+                writer.write(order.orderDate().toString());
+                writer.write(',');
+                writer.write(order.totalAmount().toPlainString());
+                writer.write(',');
+                writer.write(order.status().name());
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * Quotes a value containing a separator, quote or line break (RFC 4180).
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * OrderRepository demonstrating Spring Data AOT capabilities with temporal queries.
@@ -53,4 +54,37 @@ public interface OrderRepository extends ListCrudRepository<Order, Long> {
         ORDER BY o.order_date DESC
         """)
     List<Order> findOrdersByCoffeeName(@Param("coffeeName") String coffeeName);
-}
\ No newline at end of file
+
+    /**
+     * DEMONSTRATES: Keyset (cursor) pagination over a large table.
+     *
+     * AOT validates: SELECT * FROM orders WHERE id > ? ORDER BY id LIMIT ?
+     *
+     * Benefit: with tens of millions of orders, {@code findAll()} materializes the whole
+     * table. This query seeks the primary key index to {@code after} and reads only
+     * {@code limit} rows, so response time stays flat regardless of page depth.
+     */
+    @Query("""
+        SELECT * FROM orders
+        WHERE id > :after
+        ORDER BY id
+        LIMIT :limit
+        """)
+    List<Order> findPageAfter(@Param("after") long after, @Param("limit") int limit);
+
+    /**
+     * DEMONSTRATES: Streaming query results instead of materializing them.
+     *
+     * AOT generates: SELECT * FROM orders ORDER BY id, read through a cursor.
+     *
+     * Benefit: rows are mapped one at a time as the caller consumes the stream,
+     * fetched from the database {@code spring.jdbc.template.fetch-size} at a time,
+     * so memory stays constant however many orders there are. Must be consumed
+     * inside a transaction and closed (try-with-resources).
+     */
+    @Query("""
+        SELECT * FROM orders
+        ORDER BY id
+        """)
+    Stream<Order> streamAllOrderById();
+}
@@ -0,0 +1,29 @@
+package com.omar.spring_data_aot.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ *
+ * Unlike OFFSET paging, the next page is requested with the id of the last row
+ * ({@code WHERE id > :after ORDER BY id LIMIT :n}), so the database seeks the
+ * primary key index straight to it: page 10,000 costs the same as page 1.
+ *
+ * @param content    rows of this page, in id order
+ * @param nextCursor value to pass as {@code after} for the next page, {@code null} on the last page
+ */
+public record KeysetPage<T>(List<T> content, Long nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows: the extra row only
+     * tells whether another page exists, without a second query or a COUNT.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(List.copyOf(content), id.apply(content.getLast()));
+    }
+}
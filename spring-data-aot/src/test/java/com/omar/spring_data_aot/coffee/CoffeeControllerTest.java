@@ -81,4 +81,18 @@ class CoffeeControllerTest {
             .asArray()
             .isNotEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnLastCoffeesPageWithoutCursor() {
+        var coffees = List.of(
+            new Coffee(7L, "Mocha", "Chocolate mocha", new BigDecimal("4.75"), Size.MEDIUM)
+        );
+        when(coffeeRepository.findPageAfter(6L, 51)).thenReturn(coffees);
+
+        assertThat(mockMvcTester.get().uri("/api/coffee/page?after=6"))
+            .hasStatusOk()
+            .bodyJson()
+            .extractingPath("$.nextCursor")
+            .isNull();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabas
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -68,4 +69,19 @@ class CoffeeRepositoryTest {
                 .isGreaterThanOrEqualTo(results.get(i + 1).price());
         }
     }
+
+    @Test
+    void findPageAfter_shouldWalkAllCoffeesWithoutGapsOrDuplicates() {
+        List<Long> paged = new ArrayList<>();
+        long after = 0;
+        List<Coffee> page;
+        while (!(page = coffeeRepository.findPageAfter(after, 2)).isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(2);
+            page.forEach(coffee -> paged.add(coffee.id()));
+            after = page.getLast().id();
+        }
+
+        assertThat(paged).isSorted().doesNotHaveDuplicates()
+            .containsExactlyElementsOf(coffeeRepository.findAll().stream().map(Coffee::id).sorted().toList());
+    }
 }
\ No newline at end of file
@@ -37,6 +37,9 @@ class OrderControllerTest {
     @MockitoBean
     OrderItemRepository orderItemRepository;
 
+    @MockitoBean
+    OrderExportService orderExportService;
+
     @Autowired
     RestTestClient client;
 
@@ -97,4 +100,28 @@ class OrderControllerTest {
             .expectBody()
             .jsonPath("$[0].quantity").isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnOrdersPageWithNextCursor() {
+        var orders = List.of(
+            new Order(4L, 1L, "Alice", LocalDateTime.now(), new BigDecimal("10.00"), OrderStatus.PENDING),
+            new Order(5L, 2L, "Bob", LocalDateTime.now(), new BigDecimal("5.00"), OrderStatus.READY),
+            new Order(6L, 3L, "Carol", LocalDateTime.now(), new BigDecimal("7.50"), OrderStatus.DELIVERED)
+        );
+        when(orderRepository.findPageAfter(3L, 3)).thenReturn(orders);
+
+        client.get().uri("/api/orders/page?after=3&size=2")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.content.length()").isEqualTo(2)
+            .jsonPath("$.nextCursor").isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectUnknownExportFormat() {
+        client.get().uri("/api/orders/export?format=xlsx")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,53 @@
+package com.omar.spring_data_aot.order;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderExportServiceTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderExportService exportService =
+        new OrderExportService(orderRepository, JsonMapper.builder().build());
+
+    private final LocalDateTime orderDate = LocalDateTime.of(2025, 1, 15, 9, 30);
+
+    @Test
+    void exportNdjson_shouldWriteOneJsonObjectPerLine() throws Exception {
+        when(orderRepository.streamAllOrderById()).thenReturn(Stream.of(
+            new Order(1L, 10L, "Alice", orderDate, new BigDecimal("10.00"), OrderStatus.PENDING),
+            new Order(2L, 20L, "Bob", orderDate, new BigDecimal("5.50"), OrderStatus.READY)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportNdjson(out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+            .hasSize(2)
+            .allMatch(line -> line.startsWith("{") && line.endsWith("}"))
+            .anyMatch(line -> line.contains("\"customerName\":\"Bob\""));
+    }
+
+    @Test
+    void exportCsv_shouldWriteHeaderAndQuoteSpecialCharacters() throws Exception {
+        when(orderRepository.streamAllOrderById()).thenReturn(Stream.of(
+            new Order(1L, 10L, "Smith, \"Jo\"", orderDate, new BigDecimal("10.00"), OrderStatus.DELIVERED)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportCsv(out);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+            OrderExportService.CSV_HEADER,
+            "1,10,\"Smith, \"\"Jo\"\"\",2025-01-15T09:30,10.00,DELIVERED");
+    }
+}
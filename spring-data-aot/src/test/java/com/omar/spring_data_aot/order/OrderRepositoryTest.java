@@ -7,7 +7,9 @@ import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabas
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -70,4 +72,30 @@ class OrderRepositoryTest {
 
         assertThat(results).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPageAfter_shouldWalkAllOrdersInIdOrder() {
+        List<Long> paged = new ArrayList<>();
+        long after = 0;
+        List<Order> page;
+        while (!(page = orderRepository.findPageAfter(after, 3)).isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(3);
+            page.forEach(order -> paged.add(order.id()));
+            after = page.getLast().id();
+        }
+
+        assertThat(paged).isSorted()
+            .containsExactlyElementsOf(orderRepository.findAll().stream().map(Order::id).sorted().toList());
+    }
+
+    @Test
+    void streamAllOrderById_shouldStreamEveryOrderInIdOrder() {
+        List<Long> streamed;
+        try (Stream<Order> orders = orderRepository.streamAllOrderById()) {
+            streamed = orders.map(Order::id).toList();
+        }
+
+        assertThat(streamed).isSorted()
+            .containsExactlyElementsOf(orderRepository.findAll().stream().map(Order::id).sorted().toList());
+    }
+}
@@ -0,0 +1,118 @@
+package com.omar.spring_native_resilience.config;
+
+import com.omar.spring_native_resilience.driver.domain.Driver;
+import com.omar.spring_native_resilience.resilience.circuitbreaker.CircuitBreakerAnnotationBeanPostProcessor;
+import com.omar.spring_native_resilience.resilience.concurrency.AdaptiveConcurrencyLimitAnnotationBeanPostProcessor;
+import com.omar.spring_native_resilience.resilience.concurrency.KeyedConcurrencyLimitAnnotationBeanPostProcessor;
+import com.omar.spring_native_resilience.resilience.deadline.TimeoutAnnotationBeanPostProcessor;
+import com.omar.spring_native_resilience.resilience.hedging.HedgedExecutor;
+import com.omar.spring_native_resilience.resilience.idempotency.IdempotencyCache;
+import com.omar.spring_native_resilience.resilience.priority.AttemptTrackingAnnotationBeanPostProcessor;
+import com.omar.spring_native_resilience.resilience.priority.PrioritizeFirstAttemptsAnnotationBeanPostProcessor;
+import com.omar.spring_native_resilience.resilience.ratelimit.RateLimitAnnotationBeanPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Role;
+
+import java.time.Duration;
+
+/**
+ * 🛡️ Registers the QuickBites resilience annotations next to Spring's built-in ones.
+ *
+ * <p>
+ * {@code @EnableResilientMethods} activates {@code @Retryable} and {@code @ConcurrencyLimit};
+ * this configuration plugs the additional annotations into the same proxying mechanism,
+ * so they compose on the same beans without any extra library.
+ *
+ * <p>
+ * Post-processors are declared {@code static} so they can be instantiated before
+ * the regular beans they advise.
+ *
+ * <p>
+ * The reflection they rely on is declared in {@link ResilienceRuntimeHints} for native images.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(ResilienceRuntimeHints.class)
+public class ResilienceConfig {
+
+    /**
+     * Declared before the circuit breaker and rate limit so it wraps them (see the post-processor's Javadoc).
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static PrioritizeFirstAttemptsAnnotationBeanPostProcessor prioritizeFirstAttemptsAnnotationBeanPostProcessor() {
+        return new PrioritizeFirstAttemptsAnnotationBeanPostProcessor();
+    }
+
+    /**
+     * Declared before the timeout so it runs inside it (see the post-processor's Javadoc).
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static AttemptTrackingAnnotationBeanPostProcessor attemptTrackingAnnotationBeanPostProcessor() {
+        return new AttemptTrackingAnnotationBeanPostProcessor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static CircuitBreakerAnnotationBeanPostProcessor circuitBreakerAnnotationBeanPostProcessor() {
+        return new CircuitBreakerAnnotationBeanPostProcessor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static AdaptiveConcurrencyLimitAnnotationBeanPostProcessor adaptiveConcurrencyLimitAnnotationBeanPostProcessor() {
+        return new AdaptiveConcurrencyLimitAnnotationBeanPostProcessor();
+    }
+
+    /**
+     * Declared after the adaptive limit so its advice wraps it (see the post-processor's Javadoc).
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static KeyedConcurrencyLimitAnnotationBeanPostProcessor keyedConcurrencyLimitAnnotationBeanPostProcessor() {
+        return new KeyedConcurrencyLimitAnnotationBeanPostProcessor();
+    }
+
+    /**
+     * Declared after the circuit breaker so it sits inside it (see the post-processor's Javadoc).
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static RateLimitAnnotationBeanPostProcessor rateLimitAnnotationBeanPostProcessor() {
+        return new RateLimitAnnotationBeanPostProcessor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static TimeoutAnnotationBeanPostProcessor timeoutAnnotationBeanPostProcessor() {
+        return new TimeoutAnnotationBeanPostProcessor();
+    }
+
+    /**
+     * Opt-in hedging for partner menu fetches ({@code quickbites.menu-hedging.enabled}).
+     */
+    @Bean(destroyMethod = "close")
+    HedgedExecutor partnerMenuHedging(MeterRegistry meterRegistry,
+                                      @Value("${quickbites.menu-hedging.enabled:false}") boolean enabled,
+                                      @Value("${quickbites.menu-hedging.percentile:95}") double percentile,
+                                      @Value("${quickbites.menu-hedging.min-delay:PT0.05S}") Duration minDelay,
+                                      @Value("${quickbites.menu-hedging.max-hedge-ratio:0.1}") double maxHedgeRatio) {
+        return new HedgedExecutor("partnerMenu", enabled, percentile, minDelay, maxHedgeRatio, meterRegistry);
+    }
+
+    /**
+     * Driver assignments already running or done for an {@code Idempotency-Key}, so client retries never
+     * start a second retry loop for the same order.
+     */
+    @Bean(destroyMethod = "close")
+    IdempotencyCache<Driver> driverAssignmentIdempotency(MeterRegistry meterRegistry,
+                                                         @Value("${quickbites.idempotency.maximum-size:10000}") int maximumSize,
+                                                         @Value("${quickbites.idempotency.ttl:PT10M}") Duration ttl) {
+        return new IdempotencyCache<>("driverAssignment", maximumSize, ttl, meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.omar.spring_native_resilience.config;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineRetryPredicate;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantNotificationService;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * 🧊 Reflection the resilience annotations need at runtime, registered for the GraalVM native image.
+ *
+ * <p>
+ * On the JVM everything is reachable reflectively; a native image only keeps what is declared:
+ * <ul>
+ *     <li>🔑 SpEL keys of {@code @KeyedConcurrencyLimit} / {@code @RateLimit} read method parameter names
+ *     and call accessors such as {@code #order.restaurantId()}</li>
+ *     <li>🔁 {@code @Retryable(predicate = ...)} instantiates the predicate class reflectively</li>
+ * </ul>
+ * Without these hints the native image starts fine but fails on the first limited or retried call,
+ * which {@code StartupFootprintBenchmark} reports as a low retry success ratio.
+ */
+class ResilienceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(Order.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(RestaurantNotificationService.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(DeadlineRetryPredicate.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
@@ -1,12 +1,22 @@
 package com.omar.spring_native_resilience.driver.controller;
 
+import com.omar.spring_native_resilience.driver.dispatch.BatchDispatcher;
+import com.omar.spring_native_resilience.driver.domain.DispatchAssignment;
 import com.omar.spring_native_resilience.driver.domain.Driver;
+import com.omar.spring_native_resilience.driver.exception.NoDriversAvailableException;
 import com.omar.spring_native_resilience.driver.service.DriverAssignmentService;
 import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.annotation.Timeout;
+import com.omar.spring_native_resilience.resilience.idempotency.IdempotencyCache;
+import com.omar.spring_native_resilience.resilience.idempotency.IdempotencyKeyReusedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -14,6 +24,8 @@ import org.springframework.web.bind.annotation.RestController;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * 🚗 REST API controller for driver assignment operations.
@@ -28,10 +40,19 @@ import java.util.Map;
 public class DriverController {
 
     private static final Logger log = LoggerFactory.getLogger(DriverController.class);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final DriverAssignmentService driverService;
+    private final BatchDispatcher batchDispatcher;
+    private final IdempotencyCache<Driver> assignmentIdempotency;
 
-    public DriverController(DriverAssignmentService driverService) {
+    public DriverController(DriverAssignmentService driverService,
+                            BatchDispatcher batchDispatcher,
+                            IdempotencyCache<Driver> assignmentIdempotency) {
         this.driverService = driverService;
+        this.batchDispatcher = batchDispatcher;
+        this.assignmentIdempotency = assignmentIdempotency;
     }
 
     /**
@@ -42,46 +63,141 @@ public class DriverController {
      * Driver assignment uses RetryTemplate, so logs will show retry attempts
      * if no drivers are immediately available.
      *
-     * @param orderId the ID of the order to assign a driver for
+     * <p>
+     * The whole assignment is capped at 15 seconds: retries whose backoff would end later are not
+     * scheduled, and work still running at the deadline is cancelled (HTTP 504).
+     *
+     * <p>
+     * With an {@code Idempotency-Key} header, the assignment runs once per key: a client retrying after a
+     * timeout attaches to the assignment still in progress, or gets its result ({@code Idempotent-Replayed: true}).
+     * The assignment then runs detached from the request, with its full retry budget, so a timed-out request
+     * does not cancel it.
+     *
+     * @param orderId        the ID of the order to assign a driver for
+     * @param idempotencyKey optional client-generated key, identical across retries of the same request
      * @return a JSON response containing driver details or error message
      */
     @PostMapping("/assign")
-    public ResponseEntity<Map<String, Object>> assignDriver(@RequestParam String orderId) {
+    @Timeout(15_000)
+    public ResponseEntity<Map<String, Object>> assignDriver(@RequestParam String orderId,
+                                                            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("🚗 API request: Assign driver for order {}", orderId);
 
-        try {
-            // Create a sample order
-            Order order = new Order(
-                    orderId,
-                    "customer-123",
-                    "rest-001",
-                    List.of("item-1", "item-2"),
-                    new BigDecimal("25.99"),
-                    "payment-123"
-            );
-
-            // This call uses RetryTemplate - watch the logs for detailed retry events!
-            Driver driver = driverService.assignDriver(order);
-
-            return ResponseEntity.ok(Map.of(
-                    "orderId", orderId,
-                    "driver", Map.of(
-                            "id", driver.id(),
-                            "name", driver.name(),
-                            "rating", driver.rating()
-                    ),
-                    "message", "Driver assigned successfully (possibly after retries)"
-            ));
+        // Create a sample order
+        Order order = new Order(
+                orderId,
+                "customer-123",
+                "rest-001",
+                List.of("item-1", "item-2"),
+                new BigDecimal("25.99"),
+                "payment-123"
+        );
 
+        boolean replayed = false;
+        Driver driver;
+        try {
+            if (idempotencyKey == null || idempotencyKey.isBlank()) {
+                // This call uses RetryTemplate - watch the logs for detailed retry events!
+                driver = driverService.assignDriver(order);
+            } else {
+                IdempotencyCache.Execution<Driver> execution = assignmentIdempotency.execute(
+                        idempotencyKey, orderId, () -> driverService.assignDriver(order));
+                replayed = execution.existing();
+                if (replayed) {
+                    log.info("🔑 Idempotency-Key {} already seen: reusing its assignment for order {}", idempotencyKey, orderId);
+                }
+                driver = execution.result().get();
+            }
+        } catch (IdempotencyKeyReusedException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("❌ Failed to assign driver after all retries: {}", e.getMessage());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = (e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e);
+            log.error("❌ Failed to assign driver after all retries: {}", cause.getMessage());
             return ResponseEntity.status(503).body(Map.of(
                     "error", "No drivers available",
-                    "message", e.getMessage(),
+                    "message", String.valueOf(cause.getMessage()),
                     "orderId", orderId
             ));
         }
+
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(replayed))
+                .body(Map.of(
+                        "orderId", orderId,
+                        "driver", Map.of(
+                                "id", driver.id(),
+                                "name", driver.name(),
+                                "rating", driver.rating()
+                        ),
+                        "message", "Driver assigned successfully (possibly after retries)"
+                ));
+    }
+
+    /**
+     * Dispatches a driver to the given order through the batch dispatcher.
+     *
+     * <p>
+     * Unlike {@link #assignDriver}, the order is not matched on its own: it waits for the next dispatch tick
+     * (200ms by default) and is matched together with every other pending order, minimising the total pickup
+     * ETA of the batch. Fire many of these concurrently to see batches form.
+     *
+     * @param orderId      the ID of the order to dispatch
+     * @param restaurantId where the driver picks the order up
+     * @return the assignment, with the batch it was solved in
+     */
+    @PostMapping("/dispatch")
+    public ResponseEntity<?> dispatchDriver(@RequestParam String orderId,
+                                            @RequestParam(defaultValue = "rest-001") String restaurantId) {
+        Order order = new Order(
+                orderId,
+                "customer-123",
+                restaurantId,
+                List.of("item-1", "item-2"),
+                new BigDecimal("25.99"),
+                "payment-123"
+        );
+
+        try {
+            DispatchAssignment assignment = batchDispatcher.dispatch(order).join();
+            log.info("🧭 Order {} dispatched to driver {} (ETA {} min, batch of {}, {})", orderId,
+                    assignment.driver().id(), assignment.etaMinutes(), assignment.batchSize(), assignment.algorithm());
+            return ResponseEntity.ok(assignment);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NoDriversAvailableException noDrivers) {
+                return ResponseEntity.status(503).body(Map.of(
+                        "error", "No drivers available",
+                        "message", noDrivers.getMessage(),
+                        "orderId", orderId
+                ));
+            }
+            // e.g. BulkheadFullException, mapped to 429 by the resilience exception handler
+            throw (e.getCause() instanceof RuntimeException cause ? cause : e);
+        }
     }
 
+    /**
+     * A driver comes online. Higher-rated drivers are proportionally likelier to be assigned.
+     */
+    @PostMapping
+    public ResponseEntity<Driver> driverJoined(@RequestBody Driver driver) {
+        driverService.driverJoined(driver);
+        log.info("🟢 Driver {} ({}) is available, rating {}", driver.id(), driver.name(), driver.rating());
+        return ResponseEntity.ok(driver);
+    }
 
-}
\ No newline at end of file
+    /**
+     * A driver goes offline and is no longer assigned.
+     */
+    @DeleteMapping("/{driverId}")
+    public ResponseEntity<Driver> driverLeft(@PathVariable String driverId) {
+        Driver driver = driverService.driverLeft(driverId);
+        if (driver == null) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("⚪ Driver {} went offline", driverId);
+        return ResponseEntity.ok(driver);
+    }
+}
@@ -0,0 +1,277 @@
+package com.omar.spring_native_resilience.driver.dispatch;
+
+import com.omar.spring_native_resilience.driver.domain.DispatchAssignment;
+import com.omar.spring_native_resilience.driver.domain.Driver;
+import com.omar.spring_native_resilience.driver.exception.NoDriversAvailableException;
+import com.omar.spring_native_resilience.driver.selection.WeightedDriverPool;
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧭 Matches pending orders to drivers in batches, once per tick.
+ *
+ * <p>
+ * Assigning every order greedily and in isolation gives poor global matches at peak time:
+ * the first order grabs the closest driver even when that driver is the only good option for
+ * the next one. Instead, orders submitted here wait for the next tick, and each tick solves
+ * one assignment problem over all pending orders and available drivers:
+ * <ul>
+ *     <li>🧮 <b>Hungarian</b> (optimal total ETA) while the batch is small enough</li>
+ *     <li>⚡ <b>Greedy by cost</b> (cheapest pairs first) for larger batches</li>
+ * </ul>
+ * Every driver takes at most one order per tick. Orders left unmatched (more orders than drivers)
+ * are carried over to the next tick until their {@code max-wait} expires, when their future fails
+ * with {@link NoDriversAvailableException}.
+ *
+ * <p>
+ * Metrics: {@code dispatch.tick} (tick latency), {@code dispatch.batch.size},
+ * {@code dispatch.assignments{algorithm}}, {@code dispatch.eta} (ETA of matched drivers, minutes),
+ * {@code dispatch.match.quality} (total ETA ÷ sum of each order's best ETA, 1.0 = every order got its
+ * closest driver), {@code dispatch.pending} and {@code dispatch.expired}.
+ */
+@Service
+public class BatchDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    private final WeightedDriverPool driverPool;
+    private final EtaEstimator etaEstimator;
+    private final int hungarianMaxCells;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final LinkedBlockingQueue<PendingOrder> submitted;
+    private final List<PendingOrder> carriedOver = new ArrayList<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("dispatch-tick").daemon().factory());
+
+    private final MeterRegistry meterRegistry;
+    private final Timer tickLatency;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary eta;
+    private final DistributionSummary matchQuality;
+    private final Counter expired;
+    private volatile int pendingCount;
+
+    public BatchDispatcher(WeightedDriverPool driverPool,
+                           EtaEstimator etaEstimator,
+                           MeterRegistry meterRegistry,
+                           @Value("${quickbites.dispatch.tick:PT0.2S}") Duration tick,
+                           @Value("${quickbites.dispatch.hungarian-max-cells:40000}") int hungarianMaxCells,
+                           @Value("${quickbites.dispatch.max-batch-size:500}") int maxBatchSize,
+                           @Value("${quickbites.dispatch.max-pending:10000}") int maxPending,
+                           @Value("${quickbites.dispatch.max-wait:PT30S}") Duration maxWait) {
+        this.driverPool = driverPool;
+        this.etaEstimator = etaEstimator;
+        this.hungarianMaxCells = hungarianMaxCells;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.submitted = new LinkedBlockingQueue<>(maxPending);
+
+        this.meterRegistry = meterRegistry;
+        this.tickLatency = Timer.builder("dispatch.tick")
+                .description("Time to solve and complete one dispatch batch")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("dispatch.batch.size").register(meterRegistry);
+        this.eta = DistributionSummary.builder("dispatch.eta")
+                .description("Pickup ETA of matched drivers, in minutes")
+                .baseUnit("minutes")
+                .register(meterRegistry);
+        this.matchQuality = DistributionSummary.builder("dispatch.match.quality")
+                .description("Batch total ETA divided by the sum of each order's best ETA (1.0 is ideal)")
+                .register(meterRegistry);
+        this.expired = meterRegistry.counter("dispatch.expired");
+        Gauge.builder("dispatch.pending", this, dispatcher -> dispatcher.pendingCount + dispatcher.submitted.size())
+                .register(meterRegistry);
+
+        long tickNanos = tick.toNanos();
+        ticker.scheduleWithFixedDelay(this::safeTick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        log.info("🧭 Batch dispatch enabled (tick={}, maxBatchSize={}, maxWait={})", tick, maxBatchSize, maxWait);
+    }
+
+    /**
+     * Queues the order for the next dispatch tick.
+     *
+     * @return a future completed with the assignment, or failed if no driver was found within {@code max-wait}
+     */
+    public CompletableFuture<DispatchAssignment> dispatch(Order order) {
+        PendingOrder pending = new PendingOrder(order, System.nanoTime() + maxWaitNanos, new CompletableFuture<>());
+        if (!submitted.offer(pending)) {
+            return CompletableFuture.failedFuture(new BulkheadFullException(
+                    "batchDispatcher", submitted.remainingCapacity() + " free slots in the dispatch queue"));
+        }
+        return pending.assignment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        NoDriversAvailableException shuttingDown = new NoDriversAvailableException("Dispatcher is shutting down");
+        carriedOver.forEach(pending -> pending.assignment().completeExceptionally(shuttingDown));
+        submitted.forEach(pending -> pending.assignment().completeExceptionally(shuttingDown));
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the periodic task
+            log.error("❌ Dispatch tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs on the single ticker thread, which owns {@link #carriedOver}.
+     */
+    private void tick() {
+        submitted.drainTo(carriedOver);
+        expireOverdue();
+        pendingCount = carriedOver.size();
+        if (carriedOver.isEmpty()) {
+            return;
+        }
+        List<Driver> drivers = driverPool.snapshot();
+        if (drivers.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        // Oldest orders first; the rest waits for the next tick
+        List<PendingOrder> batch = new ArrayList<>(carriedOver.subList(0, Math.min(maxBatchSize, carriedOver.size())));
+        double[][] cost = new double[batch.size()][drivers.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            for (int j = 0; j < drivers.size(); j++) {
+                cost[i][j] = etaEstimator.etaMinutes(drivers.get(j), batch.get(i).order());
+            }
+        }
+
+        boolean optimal = (long) batch.size() * drivers.size() <= hungarianMaxCells;
+        String algorithm = (optimal ? "hungarian" : "greedy");
+        int[] driverOfOrder = (optimal ? hungarian(cost) : greedy(cost));
+
+        double totalEta = 0;
+        double lowerBound = 0;
+        Set<PendingOrder> assigned = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            int j = driverOfOrder[i];
+            if (j < 0) {
+                continue;
+            }
+            PendingOrder pending = batch.get(i);
+            double orderEta = cost[i][j];
+            totalEta += orderEta;
+            lowerBound += Arrays.stream(cost[i]).min().orElse(orderEta);
+            eta.record(orderEta);
+            assigned.add(pending);
+            pending.assignment().complete(new DispatchAssignment(
+                    pending.order().id(), drivers.get(j), Math.round(orderEta * 10) / 10.0, batch.size(), algorithm));
+        }
+        carriedOver.removeAll(assigned);
+        pendingCount = carriedOver.size();
+        int matched = assigned.size();
+
+        tickLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        meterRegistry.counter("dispatch.assignments", "algorithm", algorithm).increment(matched);
+        if (lowerBound > 0) {
+            matchQuality.record(totalEta / lowerBound);
+        }
+        log.debug("🧭 Dispatch tick: {} orders, {} drivers, {} matched ({}), {} carried over",
+                batch.size(), drivers.size(), matched, algorithm, carriedOver.size());
+    }
+
+    private void expireOverdue() {
+        long now = System.nanoTime();
+        carriedOver.removeIf(pending -> {
+            if (now - pending.deadlineNanos() < 0) {
+                return false;
+            }
+            expired.increment();
+            pending.assignment().completeExceptionally(new NoDriversAvailableException(
+                    "No driver matched order " + pending.order().id() + " before its dispatch deadline"));
+            return true;
+        });
+    }
+
+    /**
+     * Optimal matching. The Hungarian solver needs rows ≤ columns, so with more orders than
+     * drivers the problem is solved transposed and the surplus orders stay unmatched.
+     *
+     * @return driver index per order, {@code -1} for unmatched orders
+     */
+    static int[] hungarian(double[][] cost) {
+        int orders = cost.length;
+        int drivers = cost[0].length;
+        int[] driverOfOrder = new int[orders];
+        if (orders <= drivers) {
+            return HungarianAlgorithm.solve(cost);
+        }
+        double[][] transposed = new double[drivers][orders];
+        for (int i = 0; i < orders; i++) {
+            for (int j = 0; j < drivers; j++) {
+                transposed[j][i] = cost[i][j];
+            }
+        }
+        Arrays.fill(driverOfOrder, -1);
+        int[] orderOfDriver = HungarianAlgorithm.solve(transposed);
+        for (int j = 0; j < drivers; j++) {
+            driverOfOrder[orderOfDriver[j]] = j;
+        }
+        return driverOfOrder;
+    }
+
+    /**
+     * Greedy matching: all order/driver pairs by increasing ETA, each taken if both sides are still free.
+     *
+     * @return driver index per order, {@code -1} for unmatched orders
+     */
+    static int[] greedy(double[][] cost) {
+        int orders = cost.length;
+        int drivers = cost[0].length;
+        Integer[] pairs = new Integer[orders * drivers];
+        for (int p = 0; p < pairs.length; p++) {
+            pairs[p] = p;
+        }
+        Arrays.sort(pairs, (a, b) -> Double.compare(cost[a / drivers][a % drivers], cost[b / drivers][b % drivers]));
+
+        int[] driverOfOrder = new int[orders];
+        Arrays.fill(driverOfOrder, -1);
+        boolean[] driverTaken = new boolean[drivers];
+        int remaining = Math.min(orders, drivers);
+        for (int p = 0; p < pairs.length && remaining > 0; p++) {
+            int order = pairs[p] / drivers;
+            int driver = pairs[p] % drivers;
+            if (driverOfOrder[order] < 0 && !driverTaken[driver]) {
+                driverOfOrder[order] = driver;
+                driverTaken[driver] = true;
+                remaining--;
+            }
+        }
+        return driverOfOrder;
+    }
+
+    private record PendingOrder(Order order, long deadlineNanos, CompletableFuture<DispatchAssignment> assignment) {
+    }
+}
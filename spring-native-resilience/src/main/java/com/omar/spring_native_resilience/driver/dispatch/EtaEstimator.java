@@ -0,0 +1,30 @@
+package com.omar.spring_native_resilience.driver.dispatch;
+
+import com.omar.spring_native_resilience.driver.domain.Driver;
+import com.omar.spring_native_resilience.order.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🗺️ Estimates how long a driver needs to reach an order's restaurant.
+ *
+ * <p>
+ * Drivers and restaurants carry no location yet, so the estimate is simulated: a stable
+ * pseudo-distance between 2 and 30 minutes derived from the driver and restaurant ids.
+ * It is deterministic, which keeps batch matching reproducible and comparable across ticks.
+ */
+@Component
+public class EtaEstimator {
+
+    static final double MIN_ETA_MINUTES = 2.0;
+    static final double MAX_ETA_MINUTES = 30.0;
+
+    public double etaMinutes(Driver driver, Order order) {
+        int hash = (driver.id() + "→" + order.restaurantId()).hashCode();
+        // Spread the hash bits before reducing them to a [0, 1) fraction
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        double fraction = (hash & 0x7fffffff) / (double) Integer.MAX_VALUE;
+        return MIN_ETA_MINUTES + fraction * (MAX_ETA_MINUTES - MIN_ETA_MINUTES);
+    }
+}
@@ -0,0 +1,86 @@
+package com.omar.spring_native_resilience.driver.dispatch;
+
+import java.util.Arrays;
+
+/**
+ * 🧮 Optimal assignment (Hungarian algorithm, Kuhn–Munkres with potentials) in O(n²·m).
+ *
+ * <p>
+ * Solves rectangular problems with {@code n} rows and {@code m ≥ n} columns: every row gets
+ * a distinct column and the total cost is minimal.
+ */
+final class HungarianAlgorithm {
+
+    private HungarianAlgorithm() {
+    }
+
+    /**
+     * @param cost {@code n × m} cost matrix with {@code n ≤ m}
+     * @return for every row, the index of its assigned column
+     */
+    static int[] solve(double[][] cost) {
+        int n = cost.length;
+        int m = (n == 0 ? 0 : cost[0].length);
+        if (n > m) {
+            throw new IllegalArgumentException("Hungarian algorithm needs rows <= columns, got " + n + "x" + m);
+        }
+
+        // 1-based arrays, as in the classical formulation; column 0 is a virtual start column
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minSlack = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int row = 1; row <= n; row++) {
+            rowOfColumn[0] = row;
+            int column = 0;
+            Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[column] = true;
+                int currentRow = rowOfColumn[column];
+                double delta = Double.POSITIVE_INFINITY;
+                int nextColumn = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        double slack = cost[currentRow - 1][j - 1] - u[currentRow] - v[j];
+                        if (slack < minSlack[j]) {
+                            minSlack[j] = slack;
+                            way[j] = column;
+                        }
+                        if (minSlack[j] < delta) {
+                            delta = minSlack[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+
+            // Flip the augmenting path
+            do {
+                int previous = way[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (rowOfColumn[j] != 0) {
+                assignment[rowOfColumn[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,18 @@
+package com.omar.spring_native_resilience.driver.domain;
+
+/**
+ * 🧭 Result of dispatching one order in a batch.
+ *
+ * @param orderId    The dispatched order
+ * @param driver     Driver matched to the order
+ * @param etaMinutes Estimated pickup time of that driver at the order's restaurant
+ * @param batchSize  Number of orders matched together in the same tick
+ * @param algorithm  Matching algorithm used for the batch ({@code hungarian} or {@code greedy})
+ */
+public record DispatchAssignment(
+        String orderId,
+        Driver driver,
+        double etaMinutes,
+        int batchSize,
+        String algorithm
+) {}
@@ -0,0 +1,94 @@
+package com.omar.spring_native_resilience.driver.selection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * 🎲 Immutable alias table for O(1) weighted random sampling (Walker's alias method, Vose's construction).
+ *
+ * <p>
+ * Every slot {@code i} holds an item, an alternative ("alias") and the probability of keeping
+ * the item. Sampling picks a slot uniformly and flips one biased coin – two random numbers,
+ * whatever the number of items – while building the table takes O(n).
+ *
+ * @param <T> item type
+ */
+public final class AliasTable<T> {
+
+    private final List<T> items;
+    private final double[] probability;
+    private final int[] alias;
+    private final double totalWeight;
+
+    private AliasTable(List<T> items, double[] probability, int[] alias, double totalWeight) {
+        this.items = items;
+        this.probability = probability;
+        this.alias = alias;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Builds the table. Items with a non-positive weight are never sampled.
+     */
+    public static <T> AliasTable<T> of(List<T> items, ToDoubleFunction<T> weight) {
+        List<T> snapshot = List.copyOf(items);
+        int n = snapshot.size();
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+
+        double total = 0;
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0, weight.applyAsDouble(snapshot.get(i)));
+            total += scaled[i];
+        }
+        if (total <= 0) {
+            return new AliasTable<>(List.of(), new double[0], new int[0], 0);
+        }
+
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = scaled[i] * n / total;
+            (scaled[i] < 1 ? small : large).push(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        // Leftovers are 1 up to floating-point error
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1;
+        }
+        while (!small.isEmpty()) {
+            probability[small.pop()] = 1;
+        }
+        return new AliasTable<>(snapshot, probability, alias, total);
+    }
+
+    /**
+     * Draws an item with probability proportional to its weight, or {@code null} if the table is empty.
+     */
+    public T sample(RandomGenerator random) {
+        if (items.isEmpty()) {
+            return null;
+        }
+        int slot = random.nextInt(items.size());
+        return items.get(random.nextDouble() < probability[slot] ? slot : alias[slot]);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+}
@@ -0,0 +1,128 @@
+package com.omar.spring_native_resilience.driver.selection;
+
+import com.omar.spring_native_resilience.driver.domain.Driver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🚚 Available drivers, sampled with probability proportional to their rating.
+ *
+ * <p>
+ * Sampling reads an immutable {@link AliasTable} through a volatile field, so concurrent
+ * assignments never lock. The table is maintained lazily:
+ * <ul>
+ *     <li>➕ A driver joining (or changing rating) marks the table stale; the next sample rebuilds it</li>
+ *     <li>➖ A driver leaving costs nothing: samples landing on a driver who left are simply redrawn.
+ *     Once {@value #MAX_DEPARTED_WEIGHT_RATIO} of the table's weight has left, it is rebuilt</li>
+ * </ul>
+ * Rebuilds happen under a lock, one at a time, and publish the new table only once it is complete.
+ * Redraws guarantee a departed driver is never returned, whichever table a sampler is reading.
+ */
+@Component
+public class WeightedDriverPool {
+
+    static final double MAX_DEPARTED_WEIGHT_RATIO = 0.25;
+    private static final int MAX_REDRAWS = 32;
+
+    private final Map<String, Driver> drivers = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Generation generation = new Generation(AliasTable.of(List.of(), Driver::rating), -1);
+
+    public void join(Driver driver) {
+        drivers.put(driver.id(), driver);
+        version.incrementAndGet();
+    }
+
+    public void joinAll(Collection<Driver> newDrivers) {
+        newDrivers.forEach(driver -> drivers.put(driver.id(), driver));
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return the driver who left, or {@code null} if no such driver was available
+     */
+    public Driver leave(String driverId) {
+        Driver removed = drivers.remove(driverId);
+        if (removed != null) {
+            generation.departedWeight().add(removed.rating());
+        }
+        return removed;
+    }
+
+    /**
+     * Draws an available driver, higher ratings being proportionally likelier.
+     *
+     * @return the driver, or {@code null} if none is available
+     */
+    public Driver sample() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            AliasTable<Driver> table = currentTable();
+            for (int draw = 0; draw < MAX_REDRAWS; draw++) {
+                Driver candidate = table.sample(random);
+                if (candidate == null) {
+                    return null;
+                }
+                if (drivers.get(candidate.id()) == candidate) {
+                    return candidate;
+                }
+            }
+            // Unlucky streak of departed drivers: force a fresh table
+            version.incrementAndGet();
+        }
+        return null;
+    }
+
+    public int size() {
+        return drivers.size();
+    }
+
+    public List<Driver> snapshot() {
+        return new ArrayList<>(drivers.values());
+    }
+
+    private AliasTable<Driver> currentTable() {
+        Generation current = generation;
+        if (!needsRebuild(current)) {
+            return current.table();
+        }
+        rebuildLock.lock();
+        try {
+            current = generation;
+            if (needsRebuild(current)) {
+                // Read the version first: a driver joining while we copy bumps it again
+                long builtAt = version.get();
+                current = new Generation(AliasTable.of(new ArrayList<>(drivers.values()), Driver::rating), builtAt);
+                generation = current;
+            }
+            return current.table();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean needsRebuild(Generation current) {
+        return current.builtAtVersion() != version.get()
+                || current.departedWeight().sum() > MAX_DEPARTED_WEIGHT_RATIO * current.table().totalWeight();
+    }
+
+    /**
+     * One alias table, the pool version it was built from, and the weight that left since.
+     */
+    private record Generation(AliasTable<Driver> table, long builtAtVersion, DoubleAdder departedWeight) {
+
+        Generation(AliasTable<Driver> table, long builtAtVersion) {
+            this(table, builtAtVersion, new DoubleAdder());
+        }
+    }
+}
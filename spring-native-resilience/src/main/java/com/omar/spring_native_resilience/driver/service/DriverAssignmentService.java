@@ -3,7 +3,12 @@ package com.omar.spring_native_resilience.driver.service;
 import com.omar.spring_native_resilience.driver.listener.DriverRetryListener;
 import com.omar.spring_native_resilience.driver.domain.Driver;
 import com.omar.spring_native_resilience.driver.exception.NoDriversAvailableException;
+import com.omar.spring_native_resilience.driver.selection.WeightedDriverPool;
 import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineAwareRetryPolicy;
+import com.omar.spring_native_resilience.resilience.priority.AttemptClass;
+import com.omar.spring_native_resilience.resilience.priority.PriorityScheduler;
+import com.omar.spring_native_resilience.resilience.priority.PrioritySchedulerRegistry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +18,6 @@ import org.springframework.core.retry.RetryTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,8 +33,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Features:
  * <ul>
  *     <li>Randomized driver availability simulation</li>
+ *     <li>Rating-weighted driver selection in O(1) ({@link WeightedDriverPool})</li>
  *     <li>Retries up to 10 times with exponential backoff</li>
  *     <li>Custom RetryListener to track and log retry events</li>
+ *     <li>No retry scheduled past the caller's deadline ({@link DeadlineAwareRetryPolicy})</li>
+ *     <li>First attempts served before retries, expired retries dropped ({@link PriorityScheduler})</li>
  *     <li>Throws {@link NoDriversAvailableException} when assignment fails</li>
  * </ul>
  */
@@ -38,13 +45,18 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class DriverAssignmentService {
 
     private static final Logger log = LoggerFactory.getLogger(DriverAssignmentService.class);
-    private final List<Driver> availableDrivers = new ArrayList<>();
+    private final WeightedDriverPool availableDrivers;
     private final RetryTemplate retryTemplate;
     private final Random random = new Random();
     private final DriverRetryListener driverRetryListener;
+    private final PriorityScheduler attemptScheduler;
 
-    public DriverAssignmentService(DriverRetryListener driverRetryListener) {
+    public DriverAssignmentService(DriverRetryListener driverRetryListener, WeightedDriverPool availableDrivers,
+                                   PrioritySchedulerRegistry prioritySchedulerRegistry) {
         this.driverRetryListener = driverRetryListener;
+        this.availableDrivers = availableDrivers;
+        // At most 8 attempts search the pool at once; new orders go ahead of retries
+        this.attemptScheduler = prioritySchedulerRegistry.scheduler("driverAssignment", 8, 500);
 
         // Configure RetryTemplate programmatically for advanced control
         // This is useful when you need more dynamic control over retry behavior
@@ -59,7 +71,8 @@ public class DriverAssignmentService {
                 .build();
 
         // new RetryTemplate() :: Implicitly uses RetryPolicy.withDefaults()
-        retryTemplate = new RetryTemplate(retryPolicy);
+        // The decorator gives up as soon as the next backoff would end past the request deadline
+        retryTemplate = new RetryTemplate(DeadlineAwareRetryPolicy.of(retryPolicy));
         retryTemplate.setRetryListener(driverRetryListener);
     }
 
@@ -70,6 +83,10 @@ public class DriverAssignmentService {
      * Simulates 50% chance of driver availability. If no driver is available,
      * {@link NoDriversAvailableException} is thrown and retries are triggered.
      *
+     * <p>
+     * Each attempt waits for a slot of the {@code driverAssignment} scheduler: the first attempt of an
+     * order ahead of any retry, and a retry still waiting when the request deadline passes is dropped.
+     *
      * @param order the customer order to assign a driver for
      * @return the assigned {@link Driver}
      * @throws RetryException if retries are exhausted without success
@@ -83,22 +100,42 @@ public class DriverAssignmentService {
         return retryTemplate.execute(() -> {
             int currentAttempt = attempt.incrementAndGet();
             //log.info("  Attempt #{} to find available driver", currentAttempt);
+            return attemptScheduler.call(AttemptClass.of(currentAttempt), () -> findAvailableDriver(order));
+        });
 
-            // Simulate random driver availability (50% chance of success)
-            if (random.nextDouble() > 0.5 || availableDrivers.isEmpty()) {
-                throw new NoDriversAvailableException("No drivers available in area. Will retry...");
-            }
+    }
 
-            // Assign a random available driver
-            Driver assignedDriver = availableDrivers.get(
-                    random.nextInt(availableDrivers.size())
-            );
+    private Driver findAvailableDriver(Order order) {
+        // Simulate random driver availability (50% chance of success)
+        if (random.nextDouble() > 0.5) {
+            throw new NoDriversAvailableException("No drivers available in area. Will retry...");
+        }
 
-            //log.info("✅ Driver {} assigned to order {}", assignedDriver.name(), order.id());
+        // Pick an available driver, higher-rated drivers being proportionally likelier
+        Driver assignedDriver = availableDrivers.sample();
+        if (assignedDriver == null) {
+            throw new NoDriversAvailableException("No drivers available in area. Will retry...");
+        }
 
-            return assignedDriver;
-        });
+        //log.info("✅ Driver {} assigned to order {}", assignedDriver.name(), order.id());
+
+        return assignedDriver;
+    }
 
+    /**
+     * A driver comes online and becomes eligible for assignments.
+     */
+    public void driverJoined(Driver driver) {
+        availableDrivers.join(driver);
+    }
+
+    /**
+     * A driver goes offline.
+     *
+     * @return the driver, or {@code null} if they were not available
+     */
+    public Driver driverLeft(String driverId) {
+        return availableDrivers.leave(driverId);
     }
 
     /**
@@ -106,7 +143,7 @@ public class DriverAssignmentService {
      */
     @PostConstruct
     private void initializeDrivers() {
-        availableDrivers.addAll(List.of(
+        availableDrivers.joinAll(List.of(
                 new Driver("1", "Alex Johnson", 4.8),
                 new Driver("2", "Maria Garcia", 4.9),
                 new Driver("3", "James Wilson", 4.5),
@@ -79,6 +79,20 @@ public record Order(
      * Represents the lifecycle states of an order.
      */
     public enum OrderStatus {
-        PENDING, CONFIRMED, PREPARING, OUT_FOR_DELIVERY, DELIVERED, CANCELLED
+        PENDING, CONFIRMED, PREPARING, OUT_FOR_DELIVERY, DELIVERED, CANCELLED;
+
+        /**
+         * Whether an order may move from this status to {@code next}: one step forward along the
+         * lifecycle, or cancelled as long as it has not left the restaurant.
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            return switch (this) {
+                case PENDING -> next == CONFIRMED || next == CANCELLED;
+                case CONFIRMED -> next == PREPARING || next == CANCELLED;
+                case PREPARING -> next == OUT_FOR_DELIVERY || next == CANCELLED;
+                case OUT_FOR_DELIVERY -> next == DELIVERED;
+                case DELIVERED, CANCELLED -> false;
+            };
+        }
     }
 }
\ No newline at end of file
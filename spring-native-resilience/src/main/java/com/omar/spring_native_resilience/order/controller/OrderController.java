@@ -0,0 +1,96 @@
+package com.omar.spring_native_resilience.order.controller;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+import com.omar.spring_native_resilience.order.domain.OrderState;
+import com.omar.spring_native_resilience.order.exception.InvalidOrderTransitionException;
+import com.omar.spring_native_resilience.order.service.OrderLifecycleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📦 REST API for the order lifecycle.
+ *
+ * <p>
+ * Status changes are recorded as events by {@link OrderLifecycleService}; reads are answered
+ * from its in-memory projections and status index.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private final OrderLifecycleService lifecycleService;
+
+    public OrderController(OrderLifecycleService lifecycleService) {
+        this.lifecycleService = lifecycleService;
+    }
+
+    /**
+     * Records a new order (PENDING unless the body says CONFIRMED).
+     */
+    @PostMapping
+    public ResponseEntity<?> placeOrder(@RequestBody Order order) {
+        if (order.id() == null || order.restaurantId() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Order id and restaurantId are required"));
+        }
+        try {
+            OrderState state = lifecycleService.place(order);
+            log.info("📦 Order {} placed at {} ({})", state.orderId(), state.restaurantId(), state.status());
+            return ResponseEntity.ok(state);
+        } catch (InvalidOrderTransitionException e) {
+            return ResponseEntity.status(409).body(Map.of("error", "Invalid transition", "message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Moves an order along its lifecycle, e.g. CONFIRMED → PREPARING.
+     */
+    @PutMapping("/{orderId}/status")
+    public ResponseEntity<?> updateStatus(@PathVariable String orderId, @RequestParam OrderStatus status) {
+        try {
+            OrderState state = lifecycleService.transition(orderId, status);
+            log.info("📦 Order {} is now {}", orderId, status);
+            return ResponseEntity.ok(state);
+        } catch (InvalidOrderTransitionException e) {
+            return ResponseEntity.status(409).body(Map.of("error", "Invalid transition", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderState> getOrder(@PathVariable String orderId) {
+        return ResponseEntity.of(lifecycleService.find(orderId));
+    }
+
+    /**
+     * Orders currently in the given status, from the status index.
+     */
+    @GetMapping
+    public List<OrderState> getOrdersByStatus(@RequestParam OrderStatus status,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        return lifecycleService.findByStatus(status, Math.clamp(limit, 1, 1000));
+    }
+
+    /**
+     * Orders per status, and the state of the event log and its snapshots.
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "byStatus", lifecycleService.countByStatus(),
+                "store", lifecycleService.stats()
+        );
+    }
+}
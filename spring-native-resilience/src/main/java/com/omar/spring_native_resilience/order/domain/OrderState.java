@@ -0,0 +1,22 @@
+package com.omar.spring_native_resilience.order.domain;
+
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * 📌 Current state of an order, projected from its lifecycle events.
+ *
+ * @param orderId      The order
+ * @param restaurantId Restaurant fulfilling the order, recorded by its first event
+ * @param status       Status set by the latest event
+ * @param updatedAt    When the latest event was recorded
+ * @param version      Sequence number of the latest event in the event log
+ */
+public record OrderState(
+        String orderId,
+        String restaurantId,
+        OrderStatus status,
+        Instant updatedAt,
+        long version
+) {}
@@ -0,0 +1,20 @@
+package com.omar.spring_native_resilience.order.event;
+
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+
+/**
+ * 📝 One order status transition, as stored in the {@link OrderEventLog}.
+ *
+ * @param sequence     Position of the event in the whole log, starting at 1
+ * @param orderId      The order that changed
+ * @param restaurantId Restaurant of the order; only carried by the order's first event, {@code null} afterwards
+ * @param status       Status the order moved to
+ * @param timestamp    When the transition was recorded, in epoch milliseconds
+ */
+public record OrderEvent(
+        long sequence,
+        String orderId,
+        String restaurantId,
+        OrderStatus status,
+        long timestamp
+) {}
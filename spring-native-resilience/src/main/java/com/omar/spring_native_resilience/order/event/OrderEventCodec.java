@@ -0,0 +1,69 @@
+package com.omar.spring_native_resilience.order.event;
+
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 🔢 Compact binary encoding of {@link OrderEvent}s.
+ *
+ * <p>
+ * An encoded event (the record body) is laid out as:
+ * <pre>
+ *   long   sequence
+ *   long   timestamp (epoch millis)
+ *   byte   status ordinal
+ *   short  orderId length,      orderId bytes (UTF-8)
+ *   short  restaurantId length, restaurantId bytes (UTF-8, 0 = none)
+ * </pre>
+ * About 45 bytes for a typical event, against ~150 for the same event as JSON.
+ */
+final class OrderEventCodec {
+
+    private static final int FIXED_SIZE = Long.BYTES + Long.BYTES + Byte.BYTES + Short.BYTES + Short.BYTES;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderEventCodec() {
+    }
+
+    static byte[] encode(OrderEvent event) {
+        byte[] orderId = utf8(event.orderId());
+        byte[] restaurantId = (event.restaurantId() == null ? new byte[0] : utf8(event.restaurantId()));
+        return ByteBuffer.allocate(FIXED_SIZE + orderId.length + restaurantId.length)
+                .putLong(event.sequence())
+                .putLong(event.timestamp())
+                .put((byte) event.status().ordinal())
+                .putShort((short) orderId.length)
+                .put(orderId)
+                .putShort((short) restaurantId.length)
+                .put(restaurantId)
+                .array();
+    }
+
+    /**
+     * Decodes the event held by the remaining bytes of {@code body}.
+     */
+    static OrderEvent decode(ByteBuffer body) {
+        long sequence = body.getLong();
+        long timestamp = body.getLong();
+        OrderStatus status = STATUSES[body.get()];
+        String orderId = string(body);
+        String restaurantId = string(body);
+        return new OrderEvent(sequence, orderId, (restaurantId.isEmpty() ? null : restaurantId), status, timestamp);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Identifier too long for the order event log: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String string(ByteBuffer body) {
+        byte[] bytes = new byte[body.getShort()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
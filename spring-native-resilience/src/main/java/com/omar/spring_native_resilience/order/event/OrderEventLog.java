@@ -0,0 +1,231 @@
+package com.omar.spring_native_resilience.order.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 📜 Append-only, memory-mapped log of {@link OrderEvent}s.
+ *
+ * <p>
+ * The log is a sequence of fixed-size segment files ({@code order-events-000000.log}, ...), each mapped
+ * into memory once. Appending is a few memory writes - no system call, no serialization framework -
+ * and replay walks the mapped segments sequentially at memory speed. Every record is:
+ * <pre>
+ *   int   body length (0 marks the end of the log)
+ *   int   CRC32C of the body
+ *   byte[] body, encoded by {@link OrderEventCodec}
+ * </pre>
+ * The length is written last, so a record only becomes visible once complete. After a crash, replay stops
+ * at the first zero length or checksum mismatch (a torn write), and the tail beyond it is wiped.
+ *
+ * <p>
+ * Writes reach the page cache immediately, so they survive a process crash; {@link #flush()} forces them
+ * to disk to also survive a power loss. Appends are not thread-safe: the caller serialises them.
+ */
+public final class OrderEventLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventLog.class);
+
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("order-events-(\\d{6})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int offset;
+
+    private OrderEventLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the log in {@code directory}, replays every event from {@code from} onwards into
+     * {@code consumer}, and positions the log for appending after the last complete event.
+     *
+     * @param segmentSize size of newly created segment files, in bytes
+     * @param from        where to start replaying, e.g. the position recorded by a snapshot
+     */
+    public static OrderEventLog open(Path directory, int segmentSize, Position from, Consumer<OrderEvent> consumer) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1KB, was " + segmentSize);
+        }
+        try {
+            Files.createDirectories(directory);
+            OrderEventLog eventLog = new OrderEventLog(directory, segmentSize);
+            eventLog.recover(from, consumer);
+            return eventLog;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order event log in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @return the position right after the event
+     */
+    public Position append(OrderEvent event) {
+        byte[] body = OrderEventCodec.encode(event);
+        int recordSize = HEADER_SIZE + body.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Event of " + recordSize + " bytes does not fit a segment of " + segmentSize);
+        }
+        if (segment.capacity() - offset < recordSize) {
+            map(segmentIndex + 1, true);
+            offset = 0;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        segment.put(offset + HEADER_SIZE, body);
+        segment.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(offset, body.length); // publishes the record
+        offset += recordSize;
+        return position();
+    }
+
+    /**
+     * Position right after the last appended event.
+     */
+    public Position position() {
+        return new Position(segmentIndex, offset);
+    }
+
+    /**
+     * Bytes used by the log on disk, including the unwritten tail of the current segment.
+     */
+    public long sizeInBytes() {
+        return (long) segmentIndex * segmentSize + segment.capacity();
+    }
+
+    /**
+     * Forces appended events of the current segment to disk. Full segments were forced when rolled over.
+     */
+    public void flush() {
+        segment.force();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void recover(Position from, Consumer<OrderEvent> consumer) throws IOException {
+        int lastSegment = lastSegmentIndex();
+        if (lastSegment < from.segment()) {
+            // No log beyond the starting point (e.g. the log was removed but a snapshot was kept)
+            map(from.segment(), false);
+            offset = from.offset();
+            return;
+        }
+
+        for (int index = from.segment(); index <= lastSegment; index++) {
+            if (!Files.exists(segmentPath(index))) {
+                log.warn("📜 Order event segment {} is missing, skipping it", index);
+                continue;
+            }
+            map(index, false);
+            offset = replaySegment(index == from.segment() ? from.offset() : 0, consumer);
+            if (index < lastSegment && !isEndOfLog(offset)) {
+                log.warn("📜 Order event segment {} is corrupted at offset {}, later events are kept", index, offset);
+            }
+        }
+        wipeTail();
+    }
+
+    private int replaySegment(int start, Consumer<OrderEvent> consumer) {
+        int position = start;
+        CRC32C crc = new CRC32C();
+        while (segment.capacity() - position >= HEADER_SIZE) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > segment.capacity() - position - HEADER_SIZE) {
+                break; // torn length
+            }
+            ByteBuffer body = segment.slice(position + HEADER_SIZE, length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+                break; // torn body
+            }
+            consumer.accept(OrderEventCodec.decode(body));
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private boolean isEndOfLog(int position) {
+        return segment.capacity() - position < HEADER_SIZE || segment.getInt(position) == 0;
+    }
+
+    /**
+     * Zeroes whatever a torn write left after the last complete event, so that no stale bytes
+     * can be mistaken for a record once new events are appended.
+     */
+    private void wipeTail() {
+        if (isEndOfLog(offset)) {
+            return;
+        }
+        log.warn("📜 Discarding a torn write at the end of order event segment {} (offset {})", segmentIndex, offset);
+        for (int i = offset; i < segment.capacity(); i++) {
+            segment.put(i, (byte) 0);
+        }
+        segment.force();
+    }
+
+    private void map(int index, boolean create) {
+        if (segment != null && create) {
+            segment.force();
+        }
+        Path path = segmentPath(index);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = (channel.size() > 0 ? channel.size() : segmentSize);
+            // The mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            segmentIndex = index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map order event segment " + path, e);
+        }
+    }
+
+    private int lastSegmentIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> SEGMENT_NAME.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                    .max()
+                    .orElse(-1);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve("order-events-%06d.log".formatted(index));
+    }
+
+    /**
+     * A position in the log: a segment and a byte offset within it.
+     */
+    public record Position(int segment, int offset) {
+
+        public static final Position START = new Position(0, 0);
+    }
+}
@@ -0,0 +1,124 @@
+package com.omar.spring_native_resilience.order.event;
+
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+import com.omar.spring_native_resilience.order.domain.OrderState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 📸 Point-in-time copy of every order's current state, with the log position it covers.
+ *
+ * <p>
+ * Startup loads the latest snapshot and only replays the events appended after {@link #position()},
+ * instead of the whole log. Snapshots are written to a temporary file and atomically moved into place,
+ * and carry a trailing CRC32C: a half-written or corrupted snapshot is ignored and the full log replayed.
+ *
+ * @param lastSequence Sequence of the last event included in the snapshot
+ * @param position     Log position right after that event
+ * @param orders       Current state of every order at that point
+ */
+public record OrderSnapshot(long lastSequence, OrderEventLog.Position position, List<OrderState> orders) {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSnapshot.class);
+
+    private static final int MAGIC = 0x5142_5350; // "QBSP"
+    private static final int FORMAT_VERSION = 1;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    public static final OrderSnapshot EMPTY = new OrderSnapshot(0, OrderEventLog.Position.START, List.of());
+
+    /**
+     * Atomically replaces the snapshot at {@code file}.
+     */
+    public void writeTo(Path file) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16), new CRC32C());
+            try (DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(lastSequence);
+                out.writeInt(position.segment());
+                out.writeInt(position.offset());
+                out.writeInt(orders.size());
+                for (OrderState order : orders) {
+                    out.writeUTF(order.orderId());
+                    out.writeUTF(order.restaurantId() == null ? "" : order.restaurantId());
+                    out.writeByte(order.status().ordinal());
+                    out.writeLong(order.updatedAt().toEpochMilli());
+                    out.writeLong(order.version());
+                }
+                out.writeInt((int) checked.getChecksum().getValue());
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write order snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Reads the snapshot at {@code file}.
+     *
+     * @return the snapshot, or empty if there is none or it is unreadable
+     */
+    public static Optional<OrderSnapshot> readFrom(Path file) {
+        CheckedInputStream checked;
+        try {
+            checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16), new CRC32C());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("📸 Cannot open order snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                log.warn("📸 Ignoring order snapshot {}: unknown format", file);
+                return Optional.empty();
+            }
+            long lastSequence = in.readLong();
+            OrderEventLog.Position position = new OrderEventLog.Position(in.readInt(), in.readInt());
+            int count = in.readInt();
+            List<OrderState> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String orderId = in.readUTF();
+                String restaurantId = in.readUTF();
+                orders.add(new OrderState(
+                        orderId,
+                        (restaurantId.isEmpty() ? null : restaurantId),
+                        STATUSES[in.readByte()],
+                        Instant.ofEpochMilli(in.readLong()),
+                        in.readLong()));
+            }
+            int expectedChecksum = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expectedChecksum) {
+                log.warn("📸 Ignoring order snapshot {}: checksum mismatch", file);
+                return Optional.empty();
+            }
+            return Optional.of(new OrderSnapshot(lastSequence, position, orders));
+        } catch (IOException | RuntimeException e) {
+            log.warn("📸 Ignoring unreadable order snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.omar.spring_native_resilience.order.exception;
+
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+
+/**
+ * ⚠️ Thrown when a status change does not follow the order lifecycle
+ * (e.g. {@code DELIVERED → PREPARING}), or targets an unknown order.
+ */
+public class InvalidOrderTransitionException extends RuntimeException {
+
+    public InvalidOrderTransitionException(String orderId, OrderStatus from, OrderStatus to) {
+        super(from == null
+                ? "Order " + orderId + " does not exist yet and cannot start as " + to
+                : "Order " + orderId + " cannot move from " + from + " to " + to);
+    }
+}
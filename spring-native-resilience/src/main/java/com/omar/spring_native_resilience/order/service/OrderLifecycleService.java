@@ -0,0 +1,283 @@
+package com.omar.spring_native_resilience.order.service;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+import com.omar.spring_native_resilience.order.domain.OrderState;
+import com.omar.spring_native_resilience.order.event.OrderEvent;
+import com.omar.spring_native_resilience.order.event.OrderEventLog;
+import com.omar.spring_native_resilience.order.event.OrderSnapshot;
+import com.omar.spring_native_resilience.order.exception.InvalidOrderTransitionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 📦 Records order status transitions as events and answers status queries from projections.
+ *
+ * <p>
+ * {@link Order#withStatus} only creates a new record; nothing remembered where an order stood.
+ * Every transition now goes through this service:
+ * <ul>
+ *     <li>📜 <b>Event log</b> - validated against the lifecycle, then appended to a memory-mapped {@link OrderEventLog}</li>
+ *     <li>📌 <b>Projection</b> - the current {@link OrderState} of every order, updated in place</li>
+ *     <li>🗂️ <b>Status index</b> - order ids per status, so "all orders being prepared" is a lookup, not a scan</li>
+ *     <li>📸 <b>Snapshots</b> - every {@code snapshot-every} events, so startup only replays the recent tail</li>
+ * </ul>
+ *
+ * <p>
+ * Appends are serialised by one lock (validation, log write and projection update must agree);
+ * reads are lock-free against the concurrent projection and index.
+ */
+@Service
+public class OrderLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLifecycleService.class);
+
+    private final Path snapshotFile;
+    private final long snapshotEvery;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Map<String, OrderState> orders = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Set<String>> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    private final OrderEventLog eventLog;
+    private long lastSequence;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("order-snapshot").factory());
+    private volatile long lastSnapshotSequence;
+
+    private final Counter appended;
+    private final Counter rejected;
+    private final Timer appendLatency;
+    private final Timer snapshotLatency;
+
+    public OrderLifecycleService(MeterRegistry meterRegistry,
+                                 @Value("${quickbites.order-events.directory:${java.io.tmpdir}/quickbites/order-events}") Path directory,
+                                 @Value("${quickbites.order-events.segment-size:64MB}") DataSize segmentSize,
+                                 @Value("${quickbites.order-events.snapshot-every:100000}") long snapshotEvery) {
+        this.snapshotFile = directory.resolve("orders.snapshot");
+        this.snapshotEvery = snapshotEvery;
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+
+        // 📸 Latest snapshot first, then only the events appended after it
+        long start = System.nanoTime();
+        OrderSnapshot snapshot = OrderSnapshot.readFrom(snapshotFile).orElse(OrderSnapshot.EMPTY);
+        snapshot.orders().forEach(this::project);
+        this.lastSequence = snapshot.lastSequence();
+        this.lastSnapshotSequence = snapshot.lastSequence();
+        long[] replayed = new long[1];
+        this.eventLog = OrderEventLog.open(directory, Math.toIntExact(segmentSize.toBytes()), snapshot.position(), event -> {
+            apply(event);
+            replayed[0]++;
+        });
+        long replayNanos = System.nanoTime() - start;
+
+        this.appended = meterRegistry.counter("order.events.appended");
+        this.rejected = meterRegistry.counter("order.events.rejected");
+        this.appendLatency = Timer.builder("order.events.append")
+                .description("Time to validate, append and project one order event")
+                .register(meterRegistry);
+        this.snapshotLatency = Timer.builder("order.events.snapshot").register(meterRegistry);
+        Timer.builder("order.events.replay")
+                .description("Startup time spent loading the snapshot and replaying the event log")
+                .register(meterRegistry)
+                .record(replayNanos, TimeUnit.NANOSECONDS);
+        Gauge.builder("order.events.log.size", eventLog, OrderEventLog::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        ordersByStatus.forEach((status, ids) ->
+                Gauge.builder("orders.status", ids, Set::size).tag("status", status.name()).register(meterRegistry));
+
+        log.info("📦 Order lifecycle store ready in {}: {} orders from snapshot @{} + {} events replayed in {}ms",
+                directory, snapshot.orders().size(), snapshot.lastSequence(), replayed[0],
+                TimeUnit.NANOSECONDS.toMillis(replayNanos));
+    }
+
+    /**
+     * Records a new order, in its current status (PENDING, or CONFIRMED if payment already went through).
+     *
+     * @throws InvalidOrderTransitionException if the order is already known or starts in a later status
+     */
+    public OrderState place(Order order) {
+        OrderStatus status = (order.status() == null ? OrderStatus.PENDING : order.status());
+        return append(order.id(), order.restaurantId(), status);
+    }
+
+    /**
+     * Moves an order to the next status of its lifecycle.
+     *
+     * @throws InvalidOrderTransitionException if the order is unknown or the lifecycle forbids the change
+     */
+    public OrderState transition(String orderId, OrderStatus status) {
+        return append(orderId, null, status);
+    }
+
+    public Optional<OrderState> find(String orderId) {
+        return Optional.ofNullable(orders.get(orderId));
+    }
+
+    /**
+     * Orders currently in the given status, answered from the status index.
+     */
+    public List<OrderState> findByStatus(OrderStatus status, int limit) {
+        return ordersByStatus.get(status).stream()
+                .map(orders::get)
+                .filter(order -> order != null && order.status() == status)
+                .limit(limit)
+                .toList();
+    }
+
+    public Map<OrderStatus, Integer> countByStatus() {
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+        ordersByStatus.forEach((status, ids) -> counts.put(status, ids.size()));
+        return counts;
+    }
+
+    public Stats stats() {
+        appendLock.lock();
+        try {
+            return new Stats(orders.size(), lastSequence, lastSnapshotSequence, eventLog.sizeInBytes());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot now, then forces the log to disk.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() {
+        long start = System.nanoTime();
+        OrderSnapshot snapshot;
+        appendLock.lock();
+        try {
+            // Copying under the lock keeps projection and log position consistent
+            snapshot = new OrderSnapshot(lastSequence, eventLog.position(), List.copyOf(orders.values()));
+        } finally {
+            appendLock.unlock();
+        }
+        if (snapshot.lastSequence() == lastSnapshotSequence) {
+            return;
+        }
+        // A snapshot must never point past what is durable in the log
+        eventLog.flush();
+        snapshot.writeTo(snapshotFile);
+        lastSnapshotSequence = snapshot.lastSequence();
+        snapshotLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("📸 Order snapshot written: {} orders up to event {}", snapshot.orders().size(), snapshot.lastSequence());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot();
+        eventLog.close();
+    }
+
+    private OrderState append(String orderId, String restaurantId, OrderStatus status) {
+        long start = System.nanoTime();
+        OrderState state;
+        appendLock.lock();
+        try {
+            OrderState current = orders.get(orderId);
+            boolean allowed = (current == null
+                    ? restaurantId != null && (status == OrderStatus.PENDING || status == OrderStatus.CONFIRMED)
+                    : restaurantId == null && current.status().canTransitionTo(status));
+            if (!allowed) {
+                rejected.increment();
+                throw new InvalidOrderTransitionException(orderId, (current == null ? null : current.status()), status);
+            }
+
+            OrderEvent event = new OrderEvent(lastSequence + 1, orderId, restaurantId, status, System.currentTimeMillis());
+            eventLog.append(event);
+            lastSequence = event.sequence();
+            state = apply(event);
+        } finally {
+            appendLock.unlock();
+        }
+        appended.increment();
+        appendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        maybeSnapshot(state.version());
+        return state;
+    }
+
+    private OrderState apply(OrderEvent event) {
+        OrderState previous = orders.get(event.orderId());
+        String restaurantId = (event.restaurantId() != null || previous == null ? event.restaurantId() : previous.restaurantId());
+        OrderState state = new OrderState(
+                event.orderId(), restaurantId, event.status(), Instant.ofEpochMilli(event.timestamp()), event.sequence());
+        if (previous != null) {
+            ordersByStatus.get(previous.status()).remove(event.orderId());
+        }
+        project(state);
+        lastSequence = Math.max(lastSequence, event.sequence());
+        return state;
+    }
+
+    private void project(OrderState state) {
+        orders.put(state.orderId(), state);
+        ordersByStatus.get(state.status()).add(state.orderId());
+    }
+
+    private void maybeSnapshot(long sequence) {
+        if (sequence - lastSnapshotSequence < snapshotEvery || !snapshotting.compareAndSet(false, true)) {
+            return;
+        }
+        snapshotExecutor.execute(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                log.error("❌ Order snapshot failed: {}", e.getMessage(), e);
+            } finally {
+                snapshotting.set(false);
+            }
+        });
+    }
+
+    /**
+     * @param orders               Orders known to the store
+     * @param lastSequence         Sequence of the latest event
+     * @param lastSnapshotSequence Sequence covered by the latest snapshot (replay starts after it)
+     * @param logSizeBytes         Disk space used by the event log
+     */
+    public record Stats(int orders, long lastSequence, long lastSnapshotSequence, long logSizeBytes) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.omar.spring_native_resilience.resilience.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 📈 Concurrency limit that adapts to how the protected system behaves.
+ *
+ * <p>
+ * A drop-in alternative to {@code @ConcurrencyLimit(n)} for calls whose capacity changes
+ * over time. The limit follows an <b>AIMD</b> scheme (as in Netflix concurrency-limits):
+ * <ul>
+ *     <li>➕ Additive increase – a call completing within {@link #latencyThreshold()} while the
+ *     limit was actually being used raises the limit by one</li>
+ *     <li>✖️ Multiplicative decrease – an exception or a call slower than the threshold
+ *     multiplies the limit by {@link #backoffRatio()}</li>
+ * </ul>
+ * The limit always stays within {@link #minLimit()} and {@link #maxLimit()}.
+ * Callers above the current limit wait for a permit, like with {@code @ConcurrencyLimit}.
+ *
+ * <p>
+ * 🚧 <b>Bulkhead mode</b>: setting {@link #maxQueue()} and/or {@link #maxWait()} bounds that waiting.
+ * Callers arriving when the queue is full, or still waiting after {@code maxWait}, fail fast with a
+ * {@code BulkheadFullException} (mapped to HTTP 429) instead of piling up blocked threads.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdaptiveConcurrencyLimit {
+
+    /**
+     * Name of the limiter. Methods sharing a name share one limit.
+     */
+    String name();
+
+    int initialLimit() default 10;
+
+    int minLimit() default 1;
+
+    int maxLimit() default 100;
+
+    /**
+     * Calls slower than this (in milliseconds) are treated as a sign of overload.
+     */
+    long latencyThreshold() default 1_000;
+
+    /**
+     * Factor applied to the limit on overload, in {@code (0, 1)}.
+     */
+    double backoffRatio() default 0.9;
+
+    /**
+     * Maximum number of callers allowed to wait for a permit. {@code -1} means unbounded.
+     */
+    int maxQueue() default -1;
+
+    /**
+     * Maximum time a caller waits for a permit, in milliseconds. {@code -1} means forever.
+     */
+    long maxWait() default -1;
+}
@@ -0,0 +1,67 @@
+package com.omar.spring_native_resilience.resilience.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ⚡ Declarative circuit breaker for calls to unreliable external systems.
+ *
+ * <p>
+ * Works alongside {@code @Retryable}: the breaker advice sits <i>inside</i> the retry advice,
+ * so every retry attempt is recorded in the sliding window. Once the circuit opens, calls are
+ * rejected immediately with a {@code CallNotPermittedException} — which is not a retryable
+ * exception — so callers fail in microseconds instead of waiting out the whole backoff chain.
+ *
+ * <p>
+ * Lifecycle:
+ * <ul>
+ *     <li>🟢 CLOSED → calls flow, outcomes recorded in a count-based sliding window</li>
+ *     <li>🔴 OPEN → failure rate exceeded, calls fail fast for {@link #waitDurationInOpenState()}</li>
+ *     <li>🟡 HALF_OPEN → a few probe calls decide whether to close or re-open</li>
+ * </ul>
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CircuitBreaker {
+
+    /**
+     * Name of the breaker. Methods sharing a name share one circuit.
+     */
+    String name();
+
+    /**
+     * Number of most recent calls kept in the sliding window.
+     */
+    int slidingWindowSize() default 20;
+
+    /**
+     * Minimum number of recorded calls before the failure rate is evaluated.
+     */
+    int minimumNumberOfCalls() default 10;
+
+    /**
+     * Failure rate (percentage) at or above which the circuit opens.
+     */
+    float failureRateThreshold() default 50;
+
+    /**
+     * How long the circuit stays open before allowing probe calls, in milliseconds.
+     */
+    long waitDurationInOpenState() default 10_000;
+
+    /**
+     * Number of probe calls permitted while half-open.
+     */
+    int permittedCallsInHalfOpenState() default 3;
+
+    /**
+     * Exceptions recorded as failures. Empty means every exception counts.
+     * Other exceptions pass through and are ignored: they count neither as a success nor as a failure,
+     * and a half-open probe that ends with one frees its permit for another probe.
+     */
+    Class<? extends Throwable>[] includes() default {};
+}
@@ -0,0 +1,49 @@
+package com.omar.spring_native_resilience.resilience.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 🔑 Concurrency limit partitioned by a key computed from the method arguments.
+ *
+ * <p>
+ * A single global limit lets one slow partner consume every permit and starve the others.
+ * This annotation isolates callers per key instead:
+ * <ul>
+ *     <li>🧱 At most {@link #perKey()} concurrent calls for the same key, e.g. one restaurant</li>
+ *     <li>🌍 At most {@link #global()} concurrent calls across all keys</li>
+ * </ul>
+ * Callers wait for their own key's permit first, so a saturated key never holds global permits
+ * while waiting.
+ *
+ * <p>
+ * Example: {@code @KeyedConcurrencyLimit(name = "notifications", key = "#order.restaurantId()", perKey = 2, global = 50)}
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface KeyedConcurrencyLimit {
+
+    /**
+     * Name of the limiter. Methods sharing a name share the same partitions and global limit.
+     */
+    String name();
+
+    /**
+     * SpEL expression evaluated against the method arguments (by name, or {@code #p0}, {@code #a0}).
+     */
+    String key();
+
+    int perKey() default 1;
+
+    int global() default 100;
+
+    /**
+     * Maximum time a caller waits for its permits, in milliseconds. {@code -1} means forever.
+     * Callers still waiting afterwards are rejected with a {@code BulkheadFullException}.
+     */
+    long maxWait() default -1;
+}
@@ -0,0 +1,42 @@
+package com.omar.spring_native_resilience.resilience.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 🥇 Runs the attempts of a {@code @Retryable} method through a priority scheduler.
+ *
+ * <p>
+ * Under overload, retries compete with fresh requests for the same capacity, and mostly serve callers
+ * that have already given up. With this annotation every attempt needs one of {@link #permits()} slots:
+ * <ul>
+ *     <li>🥇 <b>First attempts</b> are granted a free slot before any waiting retry</li>
+ *     <li>🔁 <b>Retries</b> only get the slots first attempts leave over</li>
+ *     <li>⏱️ <b>Expired</b> – an attempt whose caller deadline (see {@code @Timeout}) has passed is dropped
+ *     with a {@code DeadlineExceededException} instead of being started</li>
+ * </ul>
+ * Backoff delays between attempts hold no slot. Methods sharing a {@link #name()} share the slots.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PrioritizeFirstAttempts {
+
+    /**
+     * Name of the scheduler. Methods sharing a name share its slots.
+     */
+    String name();
+
+    /**
+     * Attempts allowed to run at once.
+     */
+    int permits() default 10;
+
+    /**
+     * Maximum number of attempts waiting per class (first attempts, retries). {@code -1} means unbounded.
+     */
+    int maxQueue() default -1;
+}
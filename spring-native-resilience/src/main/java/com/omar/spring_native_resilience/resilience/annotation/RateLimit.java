@@ -0,0 +1,72 @@
+package com.omar.spring_native_resilience.resilience.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 🪣 Rate limit for calls to a method, enforced by a token bucket.
+ *
+ * <p>
+ * Complements {@code @ConcurrencyLimit}: that one bounds how many calls run <i>at once</i>,
+ * this one bounds how many start <i>per second</i> – what partner APIs usually put in their contracts.
+ * <ul>
+ *     <li>🪙 Tokens refill at {@link #permitsPerSecond()}, up to {@link #burst()} saved tokens</li>
+ *     <li>🔑 An optional SpEL {@link #key()} gives every key its own bucket</li>
+ *     <li>🚦 {@link #mode()} decides what happens when no token is available</li>
+ * </ul>
+ *
+ * <p>
+ * Applied inside {@code @Retryable}: every retry attempt consumes a token, so retries cannot
+ * push the partner beyond its rate.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    /**
+     * Name of the rate limiter. Methods sharing a name share the same buckets.
+     */
+    String name();
+
+    double permitsPerSecond();
+
+    /**
+     * Tokens that can be saved up and spent at once. {@code 0} means one second worth of permits.
+     */
+    int burst() default 0;
+
+    /**
+     * Optional SpEL expression evaluated against the method arguments; empty means one bucket for all calls.
+     */
+    String key() default "";
+
+    Mode mode() default Mode.BLOCKING;
+
+    /**
+     * Maximum wait for a token in milliseconds, for {@link Mode#BLOCKING} and {@link Mode#NON_BLOCKING}.
+     * {@code -1} means no limit.
+     */
+    long maxWait() default -1;
+
+    /**
+     * What a call does when no token is available.
+     */
+    enum Mode {
+
+        /** Wait for the token on the calling thread. */
+        BLOCKING,
+
+        /**
+         * Reserve the token and run the call once it is due, without blocking the caller.
+         * Only for methods returning a {@code CompletableFuture}.
+         */
+        NON_BLOCKING,
+
+        /** Reject immediately with a {@code RateLimitExceededException}. */
+        FAIL_FAST
+    }
+}
@@ -0,0 +1,33 @@
+package com.omar.spring_native_resilience.resilience.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ⏱️ Caps the total time of a call, retries and backoffs included.
+ *
+ * <p>
+ * Meant for controller methods, where it sets the deadline of the request:
+ * <ul>
+ *     <li>🧵 The call runs on a virtual thread carrying the deadline ({@code DeadlineContext}), along with
+ *     the caller's request attributes, locale and logging MDC. Any other {@code ThreadLocal} state of the
+ *     caller, such as a security context, is not visible inside the call</li>
+ *     <li>🔁 Retry policies read that deadline and do not schedule retries past it</li>
+ *     <li>✂️ When the deadline passes, the call is cancelled – its thread is interrupted, e.g. in a
+ *     backoff sleep – and a {@code DeadlineExceededException} (HTTP 504) is thrown</li>
+ * </ul>
+ * Nested {@code @Timeout}s can only shorten an enclosing deadline, never extend it.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Timeout {
+
+    /**
+     * Maximum duration of the call, in milliseconds.
+     */
+    long value();
+}
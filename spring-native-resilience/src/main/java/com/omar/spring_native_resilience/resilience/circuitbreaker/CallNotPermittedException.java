@@ -0,0 +1,31 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import java.time.Duration;
+
+/**
+ * 🚫 Thrown when a call is rejected because its circuit breaker is open.
+ *
+ * <p>
+ * Deliberately not a domain exception, so {@code @Retryable(includes = ...)} does not
+ * retry it: a rejected call fails immediately. Carries the remaining open duration so
+ * controllers can send a {@code Retry-After} hint.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    private final String circuitBreakerName;
+    private final Duration retryAfter;
+
+    public CallNotPermittedException(String circuitBreakerName, Duration retryAfter) {
+        super("Circuit breaker '" + circuitBreakerName + "' is open - call not permitted");
+        this.circuitBreakerName = circuitBreakerName;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
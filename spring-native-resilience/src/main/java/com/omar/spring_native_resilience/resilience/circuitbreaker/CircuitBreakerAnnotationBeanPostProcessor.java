@@ -0,0 +1,19 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import com.omar.spring_native_resilience.resilience.annotation.CircuitBreaker;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link CircuitBreakerInterceptor} to beans using {@link CircuitBreaker}.
+ *
+ * <p>
+ * Registered after existing advisors, so the breaker sits inside {@code @Retryable}
+ * and sees every individual attempt.
+ */
+public class CircuitBreakerAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public CircuitBreakerAnnotationBeanPostProcessor() {
+        super(CircuitBreaker.class, false,
+                beanFactory -> new CircuitBreakerInterceptor(beanFactory.getBeanProvider(CircuitBreakerRegistry.class)));
+    }
+}
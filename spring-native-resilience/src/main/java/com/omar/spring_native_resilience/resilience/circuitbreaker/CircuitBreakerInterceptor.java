@@ -0,0 +1,80 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import com.omar.spring_native_resilience.resilience.annotation.CircuitBreaker;
+import com.omar.spring_native_resilience.resilience.support.ResilienceAnnotations;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ⚡ Method interceptor applying {@link CircuitBreaker} semantics.
+ *
+ * <p>
+ * The registry is resolved lazily so that the post-processor creating this interceptor
+ * does not force early initialization of the metrics infrastructure.
+ */
+public class CircuitBreakerInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<CircuitBreakerRegistry> registryProvider;
+    private final Map<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(ObjectProvider<CircuitBreakerRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Binding binding = bindings.computeIfAbsent(invocation.getMethod(), method -> bind(invocation));
+        CircuitBreakerStateMachine circuitBreaker = binding.circuitBreaker();
+        CircuitBreakerRegistry registry = registryProvider.getObject();
+
+        if (!circuitBreaker.tryAcquirePermission()) {
+            registry.recordCall(circuitBreaker.getName(), "rejected");
+            throw new CallNotPermittedException(circuitBreaker.getName(), circuitBreaker.remainingOpenDuration());
+        }
+
+        try {
+            Object result = invocation.proceed();
+            circuitBreaker.onSuccess();
+            registry.recordCall(circuitBreaker.getName(), "success");
+            return result;
+        } catch (Throwable ex) {
+            if (binding.isRecorded(ex)) {
+                circuitBreaker.onFailure();
+                registry.recordCall(circuitBreaker.getName(), "failure");
+            } else {
+                // Not a verdict on the protected system (e.g. a local rate limit): ignored
+                circuitBreaker.releasePermission();
+                registry.recordCall(circuitBreaker.getName(), "ignored");
+            }
+            throw ex;
+        }
+    }
+
+    private Binding bind(MethodInvocation invocation) {
+        CircuitBreaker config = ResilienceAnnotations.find(invocation, CircuitBreaker.class);
+        if (config == null) {
+            throw new IllegalStateException("No @CircuitBreaker found for " + invocation.getMethod());
+        }
+        return new Binding(registryProvider.getObject().circuitBreaker(config), config.includes());
+    }
+
+    private record Binding(CircuitBreakerStateMachine circuitBreaker, Class<? extends Throwable>[] includes) {
+
+        boolean isRecorded(Throwable ex) {
+            if (includes.length == 0) {
+                return true;
+            }
+            for (Class<? extends Throwable> type : includes) {
+                if (type.isInstance(ex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
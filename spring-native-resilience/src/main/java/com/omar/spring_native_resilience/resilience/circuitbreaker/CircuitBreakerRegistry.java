@@ -0,0 +1,79 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import com.omar.spring_native_resilience.resilience.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📒 Holds one {@link CircuitBreakerStateMachine} per breaker name and publishes its metrics.
+ *
+ * <p>
+ * Metrics (visible under {@code /actuator/metrics}):
+ * <ul>
+ *     <li>{@code resilience.circuitbreaker.state} – 0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN</li>
+ *     <li>{@code resilience.circuitbreaker.transitions} – state changes, tagged {@code from}/{@code to}</li>
+ *     <li>{@code resilience.circuitbreaker.calls} – outcomes, tagged {@code success}/{@code failure}/{@code ignored}/{@code rejected}</li>
+ * </ul>
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreakerStateMachine> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the breaker for the annotation's name, creating it from the annotation on first use.
+     */
+    public CircuitBreakerStateMachine circuitBreaker(CircuitBreaker config) {
+        return circuitBreakers.computeIfAbsent(config.name(), name -> create(name, config));
+    }
+
+    public Map<String, CircuitBreakerStateMachine> getCircuitBreakers() {
+        return Map.copyOf(circuitBreakers);
+    }
+
+    void recordCall(String name, String outcome) {
+        meterRegistry.counter("resilience.circuitbreaker.calls", "name", name, "outcome", outcome).increment();
+    }
+
+    private CircuitBreakerStateMachine create(String name, CircuitBreaker config) {
+        CircuitBreakerStateMachine circuitBreaker = new CircuitBreakerStateMachine(
+                name,
+                config.slidingWindowSize(),
+                config.minimumNumberOfCalls(),
+                config.failureRateThreshold(),
+                Duration.ofMillis(config.waitDurationInOpenState()),
+                config.permittedCallsInHalfOpenState(),
+                System::nanoTime,
+                this::onTransition);
+
+        Gauge.builder("resilience.circuitbreaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("Circuit breaker state (0 = closed, 1 = open, 2 = half-open)")
+                .tag("name", name)
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    private void onTransition(String name, CircuitBreakerStateMachine.State from, CircuitBreakerStateMachine.State to) {
+        if (to == CircuitBreakerStateMachine.State.OPEN) {
+            log.warn("🔴 Circuit breaker '{}' {} → {} (failing fast)", name, from, to);
+        } else {
+            log.info("🔌 Circuit breaker '{}' {} → {}", name, from, to);
+        }
+        meterRegistry.counter("resilience.circuitbreaker.transitions",
+                "name", name, "from", from.name(), "to", to.name()).increment();
+    }
+}
@@ -0,0 +1,193 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 🔌 Count-based sliding-window circuit breaker.
+ *
+ * <p>
+ * Keeps the outcome of the last {@code slidingWindowSize} calls in a ring buffer and opens
+ * the circuit once the failure rate reaches the threshold. After the open wait duration,
+ * a limited number of probe calls are let through (half-open); if they all succeed the
+ * circuit closes again, a single failure re-opens it.
+ *
+ * <p>
+ * The rejection path while OPEN is a pair of volatile reads, so blocked callers fail fast
+ * without touching the lock.
+ */
+public class CircuitBreakerStateMachine {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(String name, State from, State to);
+    }
+
+    private final String name;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final LongSupplier nanoClock;
+    private final TransitionListener listener;
+
+    // Ring buffer of CLOSED-state outcomes (true = failure)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openUntilNanos;
+    private int halfOpenPermitsIssued;
+    private int halfOpenSuccesses;
+
+    public CircuitBreakerStateMachine(String name, int slidingWindowSize, int minimumNumberOfCalls,
+                                      float failureRateThreshold, Duration waitDurationInOpenState,
+                                      int permittedCallsInHalfOpenState, LongSupplier nanoClock,
+                                      TransitionListener listener) {
+        if (slidingWindowSize < 1 || permittedCallsInHalfOpenState < 1) {
+            throw new IllegalArgumentException("Circuit breaker '" + name + "' needs a positive window and probe count");
+        }
+        this.name = name;
+        this.window = new boolean[slidingWindowSize];
+        this.minimumNumberOfCalls = Math.min(Math.max(1, minimumNumberOfCalls), slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.waitDurationInOpenStateNanos = waitDurationInOpenState.toNanos();
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        this.nanoClock = nanoClock;
+        this.listener = listener;
+    }
+
+    /**
+     * Asks for permission to perform a call.
+     *
+     * @return {@code true} if the call may proceed, {@code false} if it must fail fast
+     */
+    public boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && nanoClock.getAsLong() - openUntilNanos < 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (nanoClock.getAsLong() - openUntilNanos < 0) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermitsIssued >= permittedCallsInHalfOpenState) {
+                    return false;
+                }
+                halfOpenPermitsIssued++;
+            }
+            return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        record(true);
+    }
+
+    /**
+     * Gives back a permission without recording an outcome, for calls whose result says nothing
+     * about the protected system. A half-open probe permit becomes available again.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermitsIssued > halfOpenSuccesses) {
+            halfOpenPermitsIssued--;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Remaining time before the circuit allows probe calls, {@link Duration#ZERO} unless OPEN.
+     */
+    public Duration remainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntilNanos - nanoClock.getAsLong()));
+    }
+
+    /**
+     * Failure rate (percentage) of the current window, or {@code -1} while below the minimum call count.
+     */
+    public synchronized float failureRate() {
+        return (windowCount < minimumNumberOfCalls ? -1f : windowFailures * 100f / windowCount);
+    }
+
+    private void record(boolean failure) {
+        switch (state) {
+            case CLOSED -> {
+                recordInWindow(failure);
+                float rate = failureRate();
+                if (rate >= 0 && rate >= failureRateThreshold) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (failure) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= permittedCallsInHalfOpenState) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // Late outcome of a call permitted before the circuit opened - nothing to decide
+            }
+        }
+    }
+
+    private void recordInWindow(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        switch (target) {
+            case OPEN -> openUntilNanos = nanoClock.getAsLong() + waitDurationInOpenStateNanos;
+            case HALF_OPEN -> {
+                halfOpenPermitsIssued = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+        }
+        state = target;
+        listener.onTransition(name, previous, target);
+    }
+}
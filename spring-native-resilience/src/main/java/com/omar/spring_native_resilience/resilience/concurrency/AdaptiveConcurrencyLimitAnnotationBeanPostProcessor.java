@@ -0,0 +1,20 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import com.omar.spring_native_resilience.resilience.annotation.AdaptiveConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link AdaptiveConcurrencyLimitInterceptor} to beans using {@link AdaptiveConcurrencyLimit}.
+ *
+ * <p>
+ * Registered before existing advisors, like Spring's {@code @ConcurrencyLimit}: a permit
+ * covers the whole call, including any retries inside it.
+ */
+public class AdaptiveConcurrencyLimitAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public AdaptiveConcurrencyLimitAnnotationBeanPostProcessor() {
+        super(AdaptiveConcurrencyLimit.class, true,
+                beanFactory -> new AdaptiveConcurrencyLimitInterceptor(
+                        beanFactory.getBeanProvider(ConcurrencyLimiterRegistry.class)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import com.omar.spring_native_resilience.resilience.annotation.AdaptiveConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.support.ResilienceAnnotations;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📈 Method interceptor applying {@link AdaptiveConcurrencyLimit} semantics.
+ */
+public class AdaptiveConcurrencyLimitInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ConcurrencyLimiterRegistry> registryProvider;
+    private final Map<Method, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimitInterceptor(ObjectProvider<ConcurrencyLimiterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(invocation.getMethod(), method -> {
+            AdaptiveConcurrencyLimit config = ResilienceAnnotations.find(invocation, AdaptiveConcurrencyLimit.class);
+            if (config == null) {
+                throw new IllegalStateException("No @AdaptiveConcurrencyLimit found for " + method);
+            }
+            return registryProvider.getObject().limiter(config);
+        });
+
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Thread was interrupted while waiting for access to '" + limiter.getName() + "'", e);
+        }
+
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            limiter.release(permit, failed);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 📈 Semaphore-like limiter whose permit count follows an AIMD algorithm.
+ *
+ * <p>
+ * Every completed call is a sample: a fast, successful call made while the limit was at
+ * least half used raises the limit by one; an error or a call slower than the latency
+ * threshold multiplies it by the backoff ratio. Waiters are woken whenever permits are
+ * released or the limit grows.
+ *
+ * <p>
+ * Waiting can be bounded (bulkhead): a caller is rejected with {@link BulkheadFullException}
+ * when {@code maxQueue} callers are already waiting, or when no permit became available
+ * within {@code maxWait}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private int limit;
+    private int inFlight;
+    private int queued;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio,
+                                      int maxQueue, Duration maxWait) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid adaptive limit settings for '" + name + "'");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = (maxWait.isNegative() ? -1 : maxWait.toNanos());
+    }
+
+    /**
+     * Waits until a permit is available under the current limit.
+     *
+     * @return the acquired permit, to be passed to {@link #release}
+     * @throws BulkheadFullException if the wait queue is full or the maximum wait elapsed
+     */
+    public Permit acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                if (maxQueue >= 0 && queued >= maxQueue) {
+                    throw reject("wait queue is full (" + maxQueue + ")");
+                }
+                awaitPermit();
+            }
+            inFlight++;
+            return new Permit(inFlight, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitPermit() throws InterruptedException {
+        queued++;
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= limit) {
+                if (maxWaitNanos < 0) {
+                    permitAvailable.await();
+                } else {
+                    if (remaining <= 0) {
+                        throw reject("no permit within " + Duration.ofNanos(maxWaitNanos).toMillis() + "ms");
+                    }
+                    remaining = permitAvailable.awaitNanos(remaining);
+                }
+            }
+        } finally {
+            queued--;
+        }
+    }
+
+    private BulkheadFullException reject(String reason) {
+        rejected++;
+        return new BulkheadFullException(name, reason);
+    }
+
+    /**
+     * Returns a permit and feeds the call's outcome into the limit algorithm.
+     *
+     * @param failed whether the call ended with an exception
+     */
+    public void release(Permit permit, boolean failed) {
+        long latency = System.nanoTime() - permit.startNanos();
+        lock.lock();
+        try {
+            inFlight--;
+            int previousLimit = limit;
+            if (failed || latency > latencyThresholdNanos) {
+                limit = Math.max(minLimit, Math.min(limit - 1, (int) (limit * backoffRatio)));
+            } else if (permit.inFlightAtStart() * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+
+            if (limit > previousLimit) {
+                permitAvailable.signalAll();
+            } else if (inFlight < limit) {
+                permitAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(name, limit, inFlight, queued, rejected, minLimit, maxLimit, maxQueue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A granted permit, remembering how busy the limiter was when it was handed out.
+     */
+    public record Permit(int inFlightAtStart, long startNanos) {
+    }
+
+    /**
+     * Point-in-time view of the limiter.
+     */
+    public record Snapshot(String name, int limit, int inFlight, int queued, long rejected,
+                           int minLimit, int maxLimit, int maxQueue) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+/**
+ * 🚧 Thrown when a concurrency-limited call is rejected instead of queued.
+ *
+ * <p>
+ * Signals overload rather than a failure of the protected system: controllers
+ * should map it to {@code 429 Too Many Requests} (or {@code 503}) and let the client back off.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String limiterName;
+
+    public BulkheadFullException(String limiterName, String reason) {
+        super("Concurrency limit '" + limiterName + "' rejected the call: " + reason);
+        this.limiterName = limiterName;
+    }
+
+    public String getLimiterName() {
+        return limiterName;
+    }
+}
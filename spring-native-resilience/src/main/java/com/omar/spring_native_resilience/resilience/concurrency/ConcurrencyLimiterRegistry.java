@@ -0,0 +1,141 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import com.omar.spring_native_resilience.resilience.annotation.AdaptiveConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.annotation.KeyedConcurrencyLimit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📒 Holds the adaptive and keyed concurrency limiters by name and publishes their live state.
+ *
+ * <p>
+ * Metrics: {@code resilience.concurrency.limit}, {@code resilience.concurrency.in.flight}
+ * (permits in use), {@code resilience.concurrency.queued} and {@code resilience.concurrency.rejected},
+ * tagged with the limiter name. Keyed limiters additionally publish
+ * {@code resilience.concurrency.partitions}, the number of keys currently in use.
+ *
+ * <p>
+ * Annotations sharing a name share one limiter, so they must agree on its settings. The first use
+ * creates the limiter; a later annotation with different settings is rejected instead of being
+ * silently ignored.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, KeyedConcurrencyLimiter> keyedLimiters = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveSettings> adaptiveSettings = new ConcurrentHashMap<>();
+    private final Map<String, KeyedSettings> keyedSettings = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the limiter for the annotation's name, creating it from the annotation on first use.
+     */
+    public AdaptiveConcurrencyLimiter limiter(AdaptiveConcurrencyLimit config) {
+        checkSettings(adaptiveSettings, config.name(), new AdaptiveSettings(config.initialLimit(), config.minLimit(),
+                config.maxLimit(), config.latencyThreshold(), config.backoffRatio(), config.maxQueue(), config.maxWait()));
+        return limiters.computeIfAbsent(config.name(), name -> register(new AdaptiveConcurrencyLimiter(
+                name,
+                config.initialLimit(),
+                config.minLimit(),
+                config.maxLimit(),
+                Duration.ofMillis(config.latencyThreshold()),
+                config.backoffRatio(),
+                config.maxQueue(),
+                Duration.ofMillis(config.maxWait()))));
+    }
+
+    /**
+     * Returns the keyed limiter for the annotation's name, creating it from the annotation on first use.
+     */
+    public KeyedConcurrencyLimiter keyedLimiter(KeyedConcurrencyLimit config) {
+        checkSettings(keyedSettings, config.name(), new KeyedSettings(config.perKey(), config.global(), config.maxWait()));
+        return keyedLimiters.computeIfAbsent(config.name(), name -> register(new KeyedConcurrencyLimiter(
+                name,
+                config.perKey(),
+                config.global(),
+                Duration.ofMillis(config.maxWait()))));
+    }
+
+    public List<AdaptiveConcurrencyLimiter.Snapshot> snapshots() {
+        return limiters.values().stream()
+                .map(AdaptiveConcurrencyLimiter::snapshot)
+                .sorted(Comparator.comparing(AdaptiveConcurrencyLimiter.Snapshot::name))
+                .toList();
+    }
+
+    public List<KeyedConcurrencyLimiter.Snapshot> keyedSnapshots() {
+        return keyedLimiters.values().stream()
+                .map(KeyedConcurrencyLimiter::snapshot)
+                .sorted(Comparator.comparing(KeyedConcurrencyLimiter.Snapshot::name))
+                .toList();
+    }
+
+    private static <S> void checkSettings(Map<String, S> settings, String name, S requested) {
+        S existing = settings.putIfAbsent(name, requested);
+        if (existing != null && !existing.equals(requested)) {
+            throw new IllegalStateException("Concurrency limiter '" + name + "' is already configured with "
+                    + existing + ", cannot use it with " + requested);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter) {
+        String name = limiter.getName();
+        Gauge.builder("resilience.concurrency.limit", limiter, l -> l.snapshot().limit())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.concurrency.in.flight", limiter, l -> l.snapshot().inFlight())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.concurrency.queued", limiter, l -> l.snapshot().queued())
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.concurrency.rejected", limiter, l -> l.snapshot().rejected())
+                .description("Callers rejected by the bulkhead (queue full or max wait elapsed)")
+                .tag("name", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private KeyedConcurrencyLimiter register(KeyedConcurrencyLimiter limiter) {
+        String name = limiter.getName();
+        Gauge.builder("resilience.concurrency.limit", limiter, l -> l.snapshot().global())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.concurrency.in.flight", limiter, l -> l.snapshot().globalInFlight())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.concurrency.queued", limiter, l -> l.snapshot().globalQueued())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.concurrency.partitions", limiter, l -> l.snapshot().activePartitions())
+                .description("Keys currently holding or waiting for a permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.concurrency.rejected", limiter, l -> l.snapshot().rejected())
+                .description("Callers rejected by the bulkhead (queue full or max wait elapsed)")
+                .tag("name", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    // The key expression is per method and not part of the shared settings
+    private record KeyedSettings(int perKey, int global, long maxWait) {
+    }
+
+    private record AdaptiveSettings(int initialLimit, int minLimit, int maxLimit, long latencyThreshold,
+                                    double backoffRatio, int maxQueue, long maxWait) {
+    }
+}
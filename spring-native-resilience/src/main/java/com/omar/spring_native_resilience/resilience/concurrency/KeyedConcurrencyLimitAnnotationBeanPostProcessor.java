@@ -0,0 +1,21 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import com.omar.spring_native_resilience.resilience.annotation.KeyedConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link KeyedConcurrencyLimitInterceptor} to beans using {@link KeyedConcurrencyLimit}.
+ *
+ * <p>
+ * Registered before existing advisors and after the adaptive limit post-processor, so when both
+ * annotations sit on one method the per-key permit is taken first: callers queued behind a slow key
+ * never hold one of the shared adaptive permits.
+ */
+public class KeyedConcurrencyLimitAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public KeyedConcurrencyLimitAnnotationBeanPostProcessor() {
+        super(KeyedConcurrencyLimit.class, true,
+                beanFactory -> new KeyedConcurrencyLimitInterceptor(
+                        beanFactory.getBeanProvider(ConcurrencyLimiterRegistry.class)));
+    }
+}
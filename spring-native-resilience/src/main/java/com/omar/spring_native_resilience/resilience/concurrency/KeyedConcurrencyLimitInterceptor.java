@@ -0,0 +1,71 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import com.omar.spring_native_resilience.resilience.annotation.KeyedConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.support.ResilienceAnnotations;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔑 Method interceptor applying {@link KeyedConcurrencyLimit} semantics.
+ *
+ * <p>
+ * The key expression is parsed once per method and evaluated against the arguments of every call.
+ */
+public class KeyedConcurrencyLimitInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ConcurrencyLimiterRegistry> registryProvider;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    public KeyedConcurrencyLimitInterceptor(ObjectProvider<ConcurrencyLimiterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Binding binding = bindings.computeIfAbsent(method, m -> {
+            KeyedConcurrencyLimit config = ResilienceAnnotations.find(invocation, KeyedConcurrencyLimit.class);
+            if (config == null) {
+                throw new IllegalStateException("No @KeyedConcurrencyLimit found for " + m);
+            }
+            return new Binding(registryProvider.getObject().keyedLimiter(config), parser.parseExpression(config.key()));
+        });
+
+        Object key = binding.key().getValue(new MethodBasedEvaluationContext(
+                invocation.getThis(), method, invocation.getArguments(), parameterNameDiscoverer));
+        if (key == null) {
+            throw new IllegalArgumentException(
+                    "Key expression of '" + binding.limiter().getName() + "' evaluated to null for " + method);
+        }
+
+        KeyedConcurrencyLimiter.Permit permit;
+        try {
+            permit = binding.limiter().acquire(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Thread was interrupted while waiting for access to '" + binding.limiter().getName() + "'", e);
+        }
+
+        try {
+            return invocation.proceed();
+        } finally {
+            binding.limiter().release(permit);
+        }
+    }
+
+    private record Binding(KeyedConcurrencyLimiter limiter, Expression key) {
+    }
+}
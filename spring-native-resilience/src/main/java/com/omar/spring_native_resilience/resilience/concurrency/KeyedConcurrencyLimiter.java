@@ -0,0 +1,141 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🔑 Two-tier limiter: a small semaphore per key plus one global semaphore.
+ *
+ * <p>
+ * Partitions only exist while someone uses them. Each one counts its current users (holders and
+ * waiters) and is removed from the map as soon as the last one leaves, so memory grows with the
+ * number of <i>active</i> keys — a handful during a lunch rush — not with the 100k restaurants
+ * that might ever be notified. Creation, reference counting and eviction all happen inside
+ * {@link ConcurrentHashMap#compute}, which makes them atomic per key.
+ */
+public class KeyedConcurrencyLimiter {
+
+    private final String name;
+    private final int perKey;
+    private final int global;
+    private final long maxWaitNanos;
+
+    private final Semaphore globalPermits;
+    private final ConcurrentHashMap<Object, Partition> partitions = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public KeyedConcurrencyLimiter(String name, int perKey, int global, Duration maxWait) {
+        if (perKey < 1 || global < perKey) {
+            throw new IllegalArgumentException("Invalid keyed limit settings for '" + name + "'");
+        }
+        this.name = name;
+        this.perKey = perKey;
+        this.global = global;
+        this.maxWaitNanos = (maxWait.isNegative() ? -1 : maxWait.toNanos());
+        this.globalPermits = new Semaphore(global, true);
+    }
+
+    /**
+     * Waits for a permit of the key's partition, then for a global permit.
+     *
+     * @return the acquired permit, to be passed to {@link #release}
+     * @throws BulkheadFullException if {@code maxWait} elapsed before both permits were acquired
+     */
+    public Permit acquire(Object key) throws InterruptedException {
+        Partition partition = join(key);
+        boolean acquired = false;
+        try {
+            long deadline = System.nanoTime() + maxWaitNanos;
+            if (!acquire(partition.permits, deadline)) {
+                throw reject("key '" + key + "' is at its limit of " + perKey);
+            }
+            try {
+                if (!acquire(globalPermits, deadline)) {
+                    throw reject("global limit of " + global + " reached");
+                }
+            } catch (InterruptedException | RuntimeException e) {
+                partition.permits.release();
+                throw e;
+            }
+            acquired = true;
+            return new Permit(key, partition);
+        } finally {
+            if (!acquired) {
+                leave(key, partition);
+            }
+        }
+    }
+
+    public void release(Permit permit) {
+        globalPermits.release();
+        permit.partition().permits.release();
+        leave(permit.key(), permit.partition());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, perKey, global, global - globalPermits.availablePermits(),
+                globalPermits.getQueueLength(), partitions.size(), rejected.sum());
+    }
+
+    private boolean acquire(Semaphore semaphore, long deadline) throws InterruptedException {
+        if (maxWaitNanos < 0) {
+            semaphore.acquire();
+            return true;
+        }
+        return semaphore.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private Partition join(Object key) {
+        return partitions.compute(key, (k, existing) -> {
+            Partition partition = (existing != null ? existing : new Partition(perKey));
+            partition.users++;
+            return partition;
+        });
+    }
+
+    private void leave(Object key, Partition partition) {
+        partitions.computeIfPresent(key, (k, current) ->
+                (current == partition && --current.users == 0 ? null : current));
+    }
+
+    private BulkheadFullException reject(String reason) {
+        rejected.increment();
+        return new BulkheadFullException(name, reason);
+    }
+
+    /**
+     * Semaphore of one key. {@code users} is only read and written inside {@code compute},
+     * under the map's per-key lock.
+     */
+    static final class Partition {
+
+        final Semaphore permits;
+        int users;
+
+        Partition(int perKey) {
+            this.permits = new Semaphore(perKey, true);
+        }
+    }
+
+    /**
+     * A granted pair of permits for one key.
+     */
+    public record Permit(Object key, Partition partition) {
+    }
+
+    /**
+     * Point-in-time view of the limiter.
+     *
+     * @param activePartitions keys currently holding or waiting for a permit
+     */
+    public record Snapshot(String name, int perKey, int global, int globalInFlight, int globalQueued,
+                           int activePartitions, long rejected) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.omar.spring_native_resilience.resilience.controller;
+
+import com.omar.spring_native_resilience.resilience.concurrency.AdaptiveConcurrencyLimiter;
+import com.omar.spring_native_resilience.resilience.concurrency.ConcurrencyLimiterRegistry;
+import com.omar.spring_native_resilience.resilience.concurrency.KeyedConcurrencyLimiter;
+import com.omar.spring_native_resilience.resilience.priority.PriorityScheduler;
+import com.omar.spring_native_resilience.resilience.priority.PrioritySchedulerRegistry;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 🛡️ Live view of the resilience components.
+ *
+ * <p>
+ * Complements the actuator metrics with a single, human-readable snapshot
+ * that is handy while running the lunch-rush simulations.
+ */
+@RestController
+@RequestMapping("/api/resilience")
+public class ResilienceController {
+
+    private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+    private final PrioritySchedulerRegistry prioritySchedulerRegistry;
+
+    public ResilienceController(ConcurrencyLimiterRegistry concurrencyLimiterRegistry,
+                                PrioritySchedulerRegistry prioritySchedulerRegistry) {
+        this.concurrencyLimiterRegistry = concurrencyLimiterRegistry;
+        this.prioritySchedulerRegistry = prioritySchedulerRegistry;
+    }
+
+    /**
+     * Current limit, in-flight calls and queued callers of every adaptive limiter.
+     */
+    @GetMapping("/concurrency-limits")
+    public List<AdaptiveConcurrencyLimiter.Snapshot> concurrencyLimits() {
+        return concurrencyLimiterRegistry.snapshots();
+    }
+
+    /**
+     * Global usage and number of active keys of every keyed limiter.
+     */
+    @GetMapping("/keyed-concurrency-limits")
+    public List<KeyedConcurrencyLimiter.Snapshot> keyedConcurrencyLimits() {
+        return concurrencyLimiterRegistry.keyedSnapshots();
+    }
+
+    /**
+     * Permits in use, queued first attempts and retries, and dropped attempts of every priority scheduler.
+     */
+    @GetMapping("/priority-schedulers")
+    public List<PriorityScheduler.Snapshot> prioritySchedulers() {
+        return prioritySchedulerRegistry.snapshots();
+    }
+}
@@ -0,0 +1,34 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import java.time.Duration;
+
+/**
+ * ⏱️ A point in time by which a piece of work must be done, based on {@link System#nanoTime()}.
+ *
+ * @param expiresAtNanos {@code System.nanoTime()} value at which the deadline passes
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Returns whichever of the two deadlines passes first, so nested timeouts can only shorten it.
+     */
+    public Deadline earlierOf(Deadline other) {
+        return (other == null || expiresAtNanos - other.expiresAtNanos <= 0 ? this : other);
+    }
+}
@@ -0,0 +1,56 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+
+import java.time.Duration;
+
+/**
+ * ⏱️ Decorates a {@link RetryPolicy} so that no retry is scheduled past the current deadline.
+ *
+ * <p>
+ * For programmatic {@code RetryTemplate} usage. Before each backoff, the next delay is compared
+ * with the time left on the {@link DeadlineContext}: if the retry would start after the deadline,
+ * the backoff returns {@link BackOffExecution#STOP} and the template gives up right away instead
+ * of sleeping for nothing. Without a deadline the delegate behaves as usual.
+ */
+public class DeadlineAwareRetryPolicy implements RetryPolicy {
+
+    private final RetryPolicy delegate;
+
+    private DeadlineAwareRetryPolicy(RetryPolicy delegate) {
+        this.delegate = delegate;
+    }
+
+    public static RetryPolicy of(RetryPolicy delegate) {
+        return new DeadlineAwareRetryPolicy(delegate);
+    }
+
+    @Override
+    public boolean shouldRetry(Throwable throwable) {
+        Deadline deadline = DeadlineContext.current();
+        return (deadline == null || !deadline.isExpired()) && delegate.shouldRetry(throwable);
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return delegate.getTimeout();
+    }
+
+    @Override
+    public BackOff getBackOff() {
+        BackOff backOff = delegate.getBackOff();
+        return () -> {
+            BackOffExecution execution = backOff.start();
+            return () -> {
+                long delayMillis = execution.nextBackOff();
+                Deadline deadline = DeadlineContext.current();
+                if (delayMillis == BackOffExecution.STOP || deadline == null) {
+                    return delayMillis;
+                }
+                return (deadline.remainingNanos() / 1_000_000 <= delayMillis ? BackOffExecution.STOP : delayMillis);
+            };
+        };
+    }
+}
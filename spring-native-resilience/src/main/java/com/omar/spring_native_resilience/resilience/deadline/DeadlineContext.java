@@ -0,0 +1,67 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 🧵 Holds the deadline of the work running on the current thread.
+ *
+ * <p>
+ * Set by {@code @Timeout} for the duration of a call and read by the retry integrations
+ * ({@link DeadlineAwareRetryPolicy}, {@link DeadlineRetryPredicate}). Code handing work to another
+ * thread carries the deadline along with {@link #propagate(Supplier)}.
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * The deadline of the current work, or {@code null} if none was set.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the task with the given deadline, restoring the previous one afterwards.
+     */
+    public static <T> T callWith(Deadline deadline, Callable<T> task) throws Exception {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Wraps the supplier so that it runs with the caller's deadline on whatever thread executes it.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return supplier;
+        }
+        return () -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return supplier.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import java.time.Duration;
+
+/**
+ * ⏱️ Thrown when a call guarded by {@code @Timeout} did not finish before its deadline.
+ *
+ * <p>
+ * By then the work has been cancelled, interrupting its thread (e.g. while sleeping in a retry backoff).
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String operation, Duration timeout) {
+        super("Deadline of " + timeout.toMillis() + "ms exceeded for " + operation);
+    }
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import com.omar.spring_native_resilience.resilience.priority.RetryAttempts;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.resilience.annotation.Retryable;
+import org.springframework.resilience.retry.MethodRetryPredicate;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ⏱️ Stops {@code @Retryable} from retrying when the current deadline leaves no room for another attempt.
+ *
+ * <p>
+ * Usage: {@code @Retryable(includes = ..., predicate = DeadlineRetryPredicate.class)}.
+ * The predicate only sees the exception, not the next backoff, so it recomputes the shortest backoff the
+ * next retry can get from the annotation's {@code delay}, {@code multiplier}, {@code maxDelay} and
+ * {@code jitter}, and retries only if the deadline is further away. Which retry comes next is read from
+ * {@link RetryAttempts}, so the growing backoff is checked on every retry for methods that also use
+ * {@code @PrioritizeFirstAttempts}; on other methods every retry is checked against the initial
+ * {@code delay}, and longer backoffs are cut short when {@code @Timeout} cancels the call.
+ */
+public class DeadlineRetryPredicate implements MethodRetryPredicate {
+
+    private final Map<Method, Backoff> backoffs = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean shouldRetry(Method method, Throwable throwable) {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return true;
+        }
+        Backoff backoff = backoffs.computeIfAbsent(method, m -> {
+            Retryable retryable = AnnotatedElementUtils.findMergedAnnotation(m, Retryable.class);
+            if (retryable == null) {
+                retryable = AnnotatedElementUtils.findMergedAnnotation(m.getDeclaringClass(), Retryable.class);
+            }
+            return (retryable != null
+                    ? new Backoff(retryable.delay(), retryable.multiplier(), retryable.maxDelay(), retryable.jitter())
+                    : new Backoff(0, 1, 0, 0));
+        });
+        // The failed attempt was the n-th, so the next retry is the n-th one
+        int retry = Math.max(1, RetryAttempts.count());
+        return deadline.remainingNanos() / 1_000_000 > backoff.minimumDelay(retry);
+    }
+
+    /**
+     * Backoff settings of one {@code @Retryable} method, mirroring Spring's {@code ExponentialBackOff}.
+     */
+    record Backoff(long delay, double multiplier, long maxDelay, long jitter) {
+
+        /**
+         * Shortest delay before the given retry (1 = first retry), jitter included.
+         */
+        long minimumDelay(int retry) {
+            double interval = delay * Math.pow(Math.max(1, multiplier), retry - 1);
+            long capped = (long) Math.min(interval, maxDelay);
+            if (jitter <= 0 || delay <= 0) {
+                return capped;
+            }
+            return Math.max(delay, capped - jitter * (capped / delay));
+        }
+    }
+}
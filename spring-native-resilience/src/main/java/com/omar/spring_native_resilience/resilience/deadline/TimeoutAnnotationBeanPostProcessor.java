@@ -0,0 +1,17 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import com.omar.spring_native_resilience.resilience.annotation.Timeout;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link TimeoutInterceptor} to beans using {@link Timeout}.
+ *
+ * <p>
+ * Registered before existing advisors: the deadline covers the whole call, including any retries inside it.
+ */
+public class TimeoutAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public TimeoutAnnotationBeanPostProcessor() {
+        super(Timeout.class, true, beanFactory -> new TimeoutInterceptor());
+    }
+}
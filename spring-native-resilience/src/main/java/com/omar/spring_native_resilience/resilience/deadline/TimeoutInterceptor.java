@@ -0,0 +1,123 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import com.omar.spring_native_resilience.resilience.annotation.Timeout;
+import com.omar.spring_native_resilience.resilience.support.ResilienceAnnotations;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.MDC;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ⏱️ Method interceptor applying {@link Timeout} semantics.
+ *
+ * <p>
+ * The call runs on a virtual thread, so the caller's request attributes, locale and MDC are handed
+ * over to it and cleared again when it ends. Other thread-bound state is not carried over.
+ */
+public class TimeoutInterceptor implements MethodInterceptor, AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Method, Duration> timeouts = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Duration timeout = timeouts.computeIfAbsent(method, m -> {
+            Timeout config = ResilienceAnnotations.find(invocation, Timeout.class);
+            if (config == null) {
+                throw new IllegalStateException("No @Timeout found for " + m);
+            }
+            return Duration.ofMillis(config.value());
+        });
+        String operation = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        Deadline deadline = Deadline.after(timeout).earlierOf(DeadlineContext.current());
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException(operation, timeout);
+        }
+
+        CallerContext caller = CallerContext.capture();
+        Future<Object> call = executor.submit(() -> caller.callWith(
+                () -> DeadlineContext.callWith(deadline, () -> proceed(invocation))));
+        try {
+            return call.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new DeadlineExceededException(operation, timeout);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof InvocationFailure failure ? failure.getCause() : cause);
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Thread was interrupted while waiting for " + operation, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static Object proceed(MethodInvocation invocation) throws Exception {
+        try {
+            return invocation.proceed();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationFailure(t);
+        }
+    }
+
+    /**
+     * Thread-bound state of the calling (request) thread that the method may rely on.
+     */
+    private record CallerContext(RequestAttributes requestAttributes, LocaleContext localeContext,
+                                 Map<String, String> mdc) {
+
+        static CallerContext capture() {
+            return new CallerContext(RequestContextHolder.getRequestAttributes(),
+                    LocaleContextHolder.getLocaleContext(), MDC.getCopyOfContextMap());
+        }
+
+        <T> T callWith(Callable<T> callable) throws Exception {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            LocaleContextHolder.setLocaleContext(localeContext);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return callable.call();
+            } finally {
+                MDC.clear();
+                LocaleContextHolder.resetLocaleContext();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+    }
+
+    /**
+     * Carries a non-{@link Exception} throwable out of the {@code Callable}.
+     */
+    private static final class InvocationFailure extends Exception {
+
+        InvocationFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.omar.spring_native_resilience.resilience.hedging;
+
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 🏇 Hedged execution: races a second attempt against a slow first one.
+ *
+ * <p>
+ * Each call starts a primary attempt. If it has not completed after the hedge delay — the
+ * configured percentile of recently observed successful latencies — a second attempt is fired
+ * in parallel. Whichever succeeds first wins; the other is cancelled (interrupting its
+ * virtual thread, e.g. while it sleeps in a retry backoff).
+ *
+ * <p>
+ * Hedging is opt-in and throttled by a budget: every call deposits {@code maxHedgeRatio}
+ * tokens (capped at {@value #MAX_BUDGET}) and every hedge spends one, so in steady state
+ * at most {@code maxHedgeRatio} of calls are hedged and a degraded dependency never sees
+ * its load doubled.
+ *
+ * <p>
+ * Metrics: {@code hedging.requests}, {@code hedging.hedges.fired}, {@code hedging.hedges.won},
+ * {@code hedging.hedges.throttled} and {@code hedging.delay} (ms), all tagged with the executor name.
+ */
+public class HedgedExecutor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedExecutor.class);
+
+    static final double MAX_BUDGET = 10;
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MIN_SAMPLES = 20;
+
+    private final String name;
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final double maxHedgeRatio;
+    private final LatencyWindow latencies;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter requests;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesThrottled;
+
+    private double budget;
+
+    public HedgedExecutor(String name, boolean enabled, double percentile, Duration minDelay,
+                          double maxHedgeRatio, MeterRegistry meterRegistry) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Hedging percentile must be in (0, 100): " + percentile);
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.latencies = new LatencyWindow(WINDOW_SIZE, percentile);
+
+        this.requests = meterRegistry.counter("hedging.requests", "name", name);
+        this.hedgesFired = meterRegistry.counter("hedging.hedges.fired", "name", name);
+        this.hedgesWon = meterRegistry.counter("hedging.hedges.won", "name", name);
+        this.hedgesThrottled = meterRegistry.counter("hedging.hedges.throttled", "name", name);
+        Gauge.builder("hedging.delay", this, h -> h.hedgeDelayNanos() / 1_000_000.0)
+                .description("Current hedge delay in milliseconds (-1 while warming up)")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call, hedging it if it is slower than the current hedge delay.
+     */
+    public <T> T execute(Supplier<T> supplier) {
+        requests.increment();
+        // Attempts run on other threads: carry the caller's deadline over to them
+        Supplier<T> call = DeadlineContext.propagate(supplier);
+        long delayNanos = hedgeDelayNanos();
+        if (!enabled || delayNanos < 0) {
+            return timed(call).get();
+        }
+        depositBudget();
+
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        attempts.add(completion.submit(() -> timed(call).get()));
+        try {
+            Future<T> done = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+            int outstanding = 1;
+            if (done == null) {
+                if (tryAcquireHedge()) {
+                    hedgesFired.increment();
+                    log.debug("🏇 [{}] Primary slower than {}ms - firing hedge", name, delayNanos / 1_000_000);
+                    attempts.add(completion.submit(() -> timed(call).get()));
+                    outstanding = 2;
+                } else {
+                    hedgesThrottled.increment();
+                }
+            }
+
+            ExecutionException lastFailure = null;
+            while (outstanding > 0) {
+                if (done == null) {
+                    done = completion.take();
+                }
+                outstanding--;
+                try {
+                    T result = done.get();
+                    if (attempts.size() > 1 && done == attempts.get(1)) {
+                        hedgesWon.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    lastFailure = e;
+                    done = null;
+                }
+            }
+            throw unwrap(lastFailure);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for hedged call '" + name + "'");
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Current hedge delay in nanoseconds, or {@code -1} while too few latencies have been observed.
+     */
+    long hedgeDelayNanos() {
+        long percentileNanos = latencies.percentileNanos();
+        return (percentileNanos < 0 ? -1 : Math.max(percentileNanos, minDelayNanos));
+    }
+
+    private <T> Supplier<T> timed(Supplier<T> call) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = call.get();
+            latencies.record(System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(MAX_BUDGET, budget + maxHedgeRatio);
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Ring buffer of recent successful latencies. The percentile is recomputed every
+     * {@value #RECOMPUTE_EVERY} samples so the hot path only does a volatile read.
+     */
+    private static final class LatencyWindow {
+
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final long[] samples;
+        private final double percentile;
+        private int index;
+        private int count;
+        private int sinceRecompute;
+        private volatile long percentileNanos = -1;
+
+        LatencyWindow(int size, double percentile) {
+            this.samples = new long[size];
+            this.percentile = percentile;
+        }
+
+        synchronized void record(long nanos) {
+            samples[index] = nanos;
+            index = (index + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count >= MIN_SAMPLES && (++sinceRecompute >= RECOMPUTE_EVERY || percentileNanos < 0)) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+                percentileNanos = sorted[Math.max(0, rank)];
+            }
+        }
+
+        long percentileNanos() {
+            return percentileNanos;
+        }
+    }
+}
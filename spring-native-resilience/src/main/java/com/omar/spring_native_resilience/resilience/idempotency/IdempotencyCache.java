@@ -0,0 +1,173 @@
+package com.omar.spring_native_resilience.resilience.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🔑 Runs each idempotent operation once per {@code Idempotency-Key}, however often it is requested.
+ *
+ * <p>
+ * Clients retrying on timeout resend the same key. The first request starts the work; duplicates get the
+ * same {@link CompletableFuture}:
+ * <ul>
+ *     <li>⏳ <b>In flight</b> → they attach to the running execution instead of starting a parallel one</li>
+ *     <li>✅ <b>Completed</b> → they get the stored result, for {@code ttl} after completion</li>
+ *     <li>❌ <b>Failed</b> → nothing is stored, so the next request with the key starts afresh</li>
+ * </ul>
+ * Each key is bound to a request fingerprint (e.g. the order id); reusing a key for another request
+ * fails with {@link IdempotencyKeyReusedException}.
+ *
+ * <p>
+ * Work runs on the cache's own virtual threads, not on the request thread, so a request that times out
+ * leaves the work running for its retry to attach to. The cache is bounded: beyond {@code maximumSize}
+ * keys, the least recently used entry is evicted, in flight or not.
+ *
+ * <p>
+ * Metrics: {@code idempotency.requests{outcome=started|joined|replayed|conflict}},
+ * {@code idempotency.entries} and {@code idempotency.evictions}, all tagged with the cache name.
+ *
+ * @param <V> result type
+ */
+public class IdempotencyCache<V> implements AutoCloseable {
+
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry<V>> entries;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter started;
+    private final Counter joined;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter evictions;
+
+    public IdempotencyCache(String name, int maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.started = meterRegistry.counter("idempotency.requests", "name", name, "outcome", "started");
+        this.joined = meterRegistry.counter("idempotency.requests", "name", name, "outcome", "joined");
+        this.replayed = meterRegistry.counter("idempotency.requests", "name", name, "outcome", "replayed");
+        this.conflicts = meterRegistry.counter("idempotency.requests", "name", name, "outcome", "conflict");
+        this.evictions = meterRegistry.counter("idempotency.evictions", "name", name);
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                boolean evict = size() > maximumSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+        Gauge.builder("idempotency.entries", this, IdempotencyCache::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts {@code work} for the key, or returns the execution already registered for it.
+     *
+     * @param fingerprint identifies the request the key was first used with
+     * @throws IdempotencyKeyReusedException if the key belongs to a request with another fingerprint
+     */
+    public Execution<V> execute(String key, String fingerprint, Callable<V> work) {
+        Entry<V> entry;
+        lock.lock();
+        try {
+            Entry<V> existing = entries.get(key);
+            if (existing != null && !existing.isExpired(System.nanoTime(), ttlNanos)) {
+                if (!existing.fingerprint().equals(fingerprint)) {
+                    conflicts.increment();
+                    throw new IdempotencyKeyReusedException(key);
+                }
+                boolean done = existing.result().isDone();
+                (done ? replayed : joined).increment();
+                return new Execution<>(existing.result(), true);
+            }
+            entry = new Entry<>(fingerprint, new CompletableFuture<>());
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+
+        started.increment();
+        executor.execute(() -> run(key, entry, work));
+        return new Execution<>(entry.result(), false);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run(String key, Entry<V> entry, Callable<V> work) {
+        try {
+            V value = work.call();
+            entry.completedAtNanos = System.nanoTime();
+            entry.result().complete(value);
+        } catch (Throwable e) {
+            // Failures - errors included, or duplicates would wait forever - are not remembered:
+            // the client's next retry gets a fresh attempt
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * @param result   the shared execution
+     * @param existing whether the request attached to an earlier execution instead of starting one
+     */
+    public record Execution<V>(CompletableFuture<V> result, boolean existing) {
+    }
+
+    private static final class Entry<V> {
+
+        private final String fingerprint;
+        private final CompletableFuture<V> result;
+        private volatile long completedAtNanos = Long.MAX_VALUE;
+
+        Entry(String fingerprint, CompletableFuture<V> result) {
+            this.fingerprint = Objects.requireNonNull(fingerprint);
+            this.result = result;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        CompletableFuture<V> result() {
+            return result;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            long completedAt = completedAtNanos;
+            // In-flight entries never expire: they are only evicted for size
+            return completedAt != Long.MAX_VALUE && now - completedAt >= ttlNanos;
+        }
+    }
+}
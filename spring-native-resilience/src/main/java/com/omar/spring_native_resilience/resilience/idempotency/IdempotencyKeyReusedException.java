@@ -0,0 +1,22 @@
+package com.omar.spring_native_resilience.resilience.idempotency;
+
+/**
+ * 🔑 Thrown when an {@code Idempotency-Key} is sent again with a different request.
+ *
+ * <p>
+ * Replaying the stored result would answer a request the client never made, so the duplicate
+ * is rejected (HTTP 422) instead.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private final String key;
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key '" + key + "' was already used for a different request");
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,30 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+/**
+ * 🥇 Scheduling class of an attempt, highest priority first.
+ */
+public enum AttemptClass {
+
+    FIRST_ATTEMPT("first-attempt"),
+    RETRY("retry");
+
+    private final String tag;
+
+    AttemptClass(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Class of the given attempt, counted from 1.
+     */
+    public static AttemptClass of(int attempt) {
+        return (attempt <= 1 ? FIRST_ATTEMPT : RETRY);
+    }
+
+    /**
+     * Value of the {@code class} metric tag.
+     */
+    public String tag() {
+        return tag;
+    }
+}
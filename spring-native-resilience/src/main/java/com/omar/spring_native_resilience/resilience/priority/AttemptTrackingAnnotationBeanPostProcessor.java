@@ -0,0 +1,19 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import com.omar.spring_native_resilience.resilience.annotation.PrioritizeFirstAttempts;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link AttemptTrackingInterceptor} to beans using {@link PrioritizeFirstAttempts}.
+ *
+ * <p>
+ * Registered before existing advisors, so the attempt counter covers the whole call, retries included.
+ * Declared before the timeout post-processor, so it sits inside {@code @Timeout} and counts on the
+ * thread the attempts run on.
+ */
+public class AttemptTrackingAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public AttemptTrackingAnnotationBeanPostProcessor() {
+        super(PrioritizeFirstAttempts.class, true, beanFactory -> new AttemptTrackingInterceptor());
+    }
+}
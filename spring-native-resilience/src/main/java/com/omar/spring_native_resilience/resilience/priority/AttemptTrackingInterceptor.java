@@ -0,0 +1,21 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import com.omar.spring_native_resilience.resilience.annotation.PrioritizeFirstAttempts;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * 🔢 Opens the {@link RetryAttempts} counter around a whole {@link PrioritizeFirstAttempts} call, retries included.
+ */
+public class AttemptTrackingInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        int[] enclosing = RetryAttempts.open();
+        try {
+            return invocation.proceed();
+        } finally {
+            RetryAttempts.restore(enclosing);
+        }
+    }
+}
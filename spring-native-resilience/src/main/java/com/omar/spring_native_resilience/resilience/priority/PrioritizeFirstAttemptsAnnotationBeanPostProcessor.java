@@ -0,0 +1,20 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import com.omar.spring_native_resilience.resilience.annotation.PrioritizeFirstAttempts;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link PrioritySchedulingInterceptor} to beans using {@link PrioritizeFirstAttempts}.
+ *
+ * <p>
+ * Registered after existing advisors, so it sits inside {@code @Retryable} and every attempt waits for a
+ * permit, while backoff delays hold none. Declared before the circuit breaker and rate limit
+ * post-processors, so attempts are ordered by priority before they take tokens.
+ */
+public class PrioritizeFirstAttemptsAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public PrioritizeFirstAttemptsAnnotationBeanPostProcessor() {
+        super(PrioritizeFirstAttempts.class, false,
+                beanFactory -> new PrioritySchedulingInterceptor(beanFactory.getBeanProvider(PrioritySchedulerRegistry.class)));
+    }
+}
@@ -0,0 +1,257 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import com.omar.spring_native_resilience.resilience.deadline.Deadline;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineContext;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🥇 Fixed number of permits, handed out by {@link AttemptClass}: first attempts before retries.
+ *
+ * <p>
+ * Each class waits in its own FIFO queue. A released permit goes to the oldest waiting first attempt,
+ * and only when there is none to the oldest waiting retry. Priority is strict: under sustained overload
+ * retries wait until their caller's deadline passes, which is the point – the capacity goes to requests
+ * whose callers are still there.
+ *
+ * <p>
+ * The deadline is read from {@link DeadlineContext}. An attempt whose deadline has passed – before or
+ * while queueing – is dropped with a {@link DeadlineExceededException} and never runs. Attempts without
+ * a deadline wait until a permit is free. A full queue rejects with a {@link BulkheadFullException}.
+ *
+ * <p>
+ * Metrics, tagged with the scheduler name:
+ * <ul>
+ *     <li>{@code resilience.priority.queue.wait} – time from arrival to permit, per {@code class}</li>
+ *     <li>{@code resilience.priority.dropped} – attempts not run, per {@code class} and
+ *     {@code reason} ({@code deadline} or {@code queue-full})</li>
+ *     <li>{@code resilience.priority.queued} – attempts waiting, per {@code class}</li>
+ *     <li>{@code resilience.priority.in.flight} – permits in use</li>
+ * </ul>
+ */
+public class PriorityScheduler {
+
+    private final String name;
+    private final int permits;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<AttemptClass, ArrayDeque<Waiter>> queues = new EnumMap<>(AttemptClass.class);
+    private int available;
+
+    private final Map<AttemptClass, Timer> queueWait = new EnumMap<>(AttemptClass.class);
+    private final Map<AttemptClass, Counter> expired = new EnumMap<>(AttemptClass.class);
+    private final Map<AttemptClass, Counter> queueFull = new EnumMap<>(AttemptClass.class);
+
+    /**
+     * @param maxQueue maximum number of waiting attempts per class, {@code -1} for unbounded
+     */
+    public PriorityScheduler(String name, int permits, int maxQueue, MeterRegistry meterRegistry) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Priority scheduler '" + name + "' needs at least one permit");
+        }
+        this.name = name;
+        this.permits = permits;
+        this.maxQueue = maxQueue;
+        this.available = permits;
+
+        for (AttemptClass attemptClass : AttemptClass.values()) {
+            queues.put(attemptClass, new ArrayDeque<>());
+            queueWait.put(attemptClass, Timer.builder("resilience.priority.queue.wait")
+                    .description("Time an attempt waited for a permit")
+                    .tag("name", name)
+                    .tag("class", attemptClass.tag())
+                    .register(meterRegistry));
+            expired.put(attemptClass, meterRegistry.counter("resilience.priority.dropped",
+                    "name", name, "class", attemptClass.tag(), "reason", "deadline"));
+            queueFull.put(attemptClass, meterRegistry.counter("resilience.priority.dropped",
+                    "name", name, "class", attemptClass.tag(), "reason", "queue-full"));
+            Gauge.builder("resilience.priority.queued", this, scheduler -> scheduler.queued(attemptClass))
+                    .tag("name", name)
+                    .tag("class", attemptClass.tag())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("resilience.priority.in.flight", this, PriorityScheduler::inFlight)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the task once a permit is granted to its class.
+     *
+     * @throws DeadlineExceededException if the caller's deadline passed before a permit was granted
+     * @throws BulkheadFullException     if the class's queue is full
+     */
+    public <T> T call(AttemptClass attemptClass, Callable<T> task) throws Exception {
+        acquire(attemptClass);
+        try {
+            return task.call();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Waits for a permit, to be given back with {@link #release()}.
+     */
+    public void acquire(AttemptClass attemptClass) throws InterruptedException {
+        Deadline deadline = DeadlineContext.current();
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (deadline != null && deadline.isExpired()) {
+                throw drop(attemptClass);
+            }
+            if (available > 0 && !hasWaitersAhead(attemptClass)) {
+                available--;
+            } else {
+                await(attemptClass, deadline);
+            }
+        } finally {
+            lock.unlock();
+        }
+        queueWait.get(attemptClass).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            grantOrFree();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(name, permits, permits - available,
+                    queues.get(AttemptClass.FIRST_ATTEMPT).size(), queues.get(AttemptClass.RETRY).size(),
+                    (long) (expired.get(AttemptClass.FIRST_ATTEMPT).count() + queueFull.get(AttemptClass.FIRST_ATTEMPT).count()),
+                    (long) (expired.get(AttemptClass.RETRY).count() + queueFull.get(AttemptClass.RETRY).count()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void await(AttemptClass attemptClass, Deadline deadline) throws InterruptedException {
+        ArrayDeque<Waiter> queue = queues.get(attemptClass);
+        if (maxQueue >= 0 && queue.size() >= maxQueue) {
+            queueFull.get(attemptClass).increment();
+            throw new BulkheadFullException(name, "queue of " + attemptClass.tag() + " attempts is full (" + maxQueue + ")");
+        }
+        Waiter waiter = new Waiter(lock.newCondition());
+        queue.addLast(waiter);
+        try {
+            while (!waiter.granted) {
+                if (deadline == null) {
+                    waiter.condition.await();
+                    continue;
+                }
+                long remaining = deadline.remainingNanos();
+                if (remaining <= 0) {
+                    queue.remove(waiter);
+                    throw drop(attemptClass);
+                }
+                waiter.condition.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            if (waiter.granted) {
+                grantOrFree(); // granted while being interrupted: pass the permit on
+            } else {
+                queue.remove(waiter);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hands a permit to the next waiter by priority, or returns it to the pool.
+     */
+    private void grantOrFree() {
+        for (AttemptClass attemptClass : AttemptClass.values()) {
+            Waiter next = queues.get(attemptClass).pollFirst();
+            if (next != null) {
+                next.granted = true;
+                next.condition.signal();
+                return;
+            }
+        }
+        available++;
+    }
+
+    /**
+     * Whether an attempt of the same or a higher priority is already waiting, so a newcomer must not barge in.
+     */
+    private boolean hasWaitersAhead(AttemptClass attemptClass) {
+        for (AttemptClass ahead : AttemptClass.values()) {
+            if (!queues.get(ahead).isEmpty()) {
+                return true;
+            }
+            if (ahead == attemptClass) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private DeadlineExceededException drop(AttemptClass attemptClass) {
+        expired.get(attemptClass).increment();
+        return new DeadlineExceededException("'" + name + "' " + attemptClass.tag() + " dropped: the caller's deadline has passed");
+    }
+
+    private int queued(AttemptClass attemptClass) {
+        lock.lock();
+        try {
+            return queues.get(attemptClass).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int inFlight() {
+        lock.lock();
+        try {
+            return permits - available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Condition condition;
+        private boolean granted;
+
+        Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * @param inFlight       permits in use
+     * @param queuedFirst    first attempts waiting for a permit
+     * @param queuedRetries  retries waiting for a permit
+     * @param droppedFirst   first attempts not run (deadline passed or queue full)
+     * @param droppedRetries retries not run (deadline passed or queue full)
+     */
+    public record Snapshot(String name, int permits, int inFlight, int queuedFirst, int queuedRetries,
+                           long droppedFirst, long droppedRetries) {
+    }
+}
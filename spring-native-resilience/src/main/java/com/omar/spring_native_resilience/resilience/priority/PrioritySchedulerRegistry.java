@@ -0,0 +1,41 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📒 Holds the priority schedulers by name.
+ *
+ * <p>
+ * Shared by {@code @PrioritizeFirstAttempts} and by code scheduling its attempts itself, such as a
+ * {@code RetryTemplate} callback. Each scheduler publishes its own {@code resilience.priority.*} metrics.
+ */
+@Component
+public class PrioritySchedulerRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PriorityScheduler> schedulers = new ConcurrentHashMap<>();
+
+    public PrioritySchedulerRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the scheduler with the given name, creating it with these settings on first use.
+     */
+    public PriorityScheduler scheduler(String name, int permits, int maxQueue) {
+        return schedulers.computeIfAbsent(name, n -> new PriorityScheduler(n, permits, maxQueue, meterRegistry));
+    }
+
+    public List<PriorityScheduler.Snapshot> snapshots() {
+        return schedulers.values().stream()
+                .map(PriorityScheduler::snapshot)
+                .sorted(Comparator.comparing(PriorityScheduler.Snapshot::name))
+                .toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import com.omar.spring_native_resilience.resilience.annotation.PrioritizeFirstAttempts;
+import com.omar.spring_native_resilience.resilience.support.ResilienceAnnotations;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🥇 Method interceptor applying {@link PrioritizeFirstAttempts} semantics to each attempt.
+ */
+public class PrioritySchedulingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<PrioritySchedulerRegistry> registryProvider;
+    private final Map<Method, PriorityScheduler> schedulers = new ConcurrentHashMap<>();
+
+    public PrioritySchedulingInterceptor(ObjectProvider<PrioritySchedulerRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        PriorityScheduler scheduler = schedulers.computeIfAbsent(invocation.getMethod(), method -> {
+            PrioritizeFirstAttempts config = ResilienceAnnotations.find(invocation, PrioritizeFirstAttempts.class);
+            if (config == null) {
+                throw new IllegalStateException("No @PrioritizeFirstAttempts found for " + method);
+            }
+            return registryProvider.getObject().scheduler(config.name(), config.permits(), config.maxQueue());
+        });
+
+        try {
+            scheduler.acquire(RetryAttempts.next());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Thread was interrupted while waiting for access to '" + scheduler.getName() + "'", e);
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            scheduler.release();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+/**
+ * 🔢 Counts the attempts of the call running on the current thread.
+ *
+ * <p>
+ * {@code @Retryable} runs every attempt on the calling thread, through the advice placed inside it.
+ * {@link AttemptTrackingInterceptor} opens a counter around the whole call, and the per-attempt
+ * {@link PrioritySchedulingInterceptor} takes the next number from it to tell a first attempt from a retry.
+ * The deadline retry predicate reads it to know which backoff the next retry gets.
+ */
+public final class RetryAttempts {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    private RetryAttempts() {
+    }
+
+    /**
+     * Starts a fresh attempt counter for a new call.
+     *
+     * @return the enclosing call's counter, to be passed to {@link #restore(int[])} when the call ends
+     */
+    static int[] open() {
+        int[] previous = CURRENT.get();
+        CURRENT.set(new int[1]);
+        return previous;
+    }
+
+    static void restore(int[] previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Attempts the current call has made so far, {@code 0} when no call is being tracked.
+     */
+    public static int count() {
+        int[] attempts = CURRENT.get();
+        return (attempts != null ? attempts[0] : 0);
+    }
+
+    /**
+     * Counts one more attempt of the current call.
+     *
+     * @return its class; {@link AttemptClass#FIRST_ATTEMPT} when no call is being tracked
+     */
+    public static AttemptClass next() {
+        int[] attempts = CURRENT.get();
+        if (attempts == null) {
+            return AttemptClass.FIRST_ATTEMPT;
+        }
+        return AttemptClass.of(++attempts[0]);
+    }
+}
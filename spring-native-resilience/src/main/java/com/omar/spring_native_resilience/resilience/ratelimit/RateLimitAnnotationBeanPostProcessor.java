@@ -0,0 +1,20 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import com.omar.spring_native_resilience.resilience.annotation.RateLimit;
+import com.omar.spring_native_resilience.resilience.support.AnnotationAdvisingBeanPostProcessor;
+
+/**
+ * 🔧 Applies {@link RateLimitInterceptor} to beans using {@link RateLimit}.
+ *
+ * <p>
+ * Registered after existing advisors, so the rate limit sits inside {@code @Retryable} and every
+ * attempt takes a token. Declared after the circuit breaker post-processor, so calls rejected by an
+ * open circuit do not spend tokens.
+ */
+public class RateLimitAnnotationBeanPostProcessor extends AnnotationAdvisingBeanPostProcessor {
+
+    public RateLimitAnnotationBeanPostProcessor() {
+        super(RateLimit.class, false,
+                beanFactory -> new RateLimitInterceptor(beanFactory.getBeanProvider(RateLimiterRegistry.class)));
+    }
+}
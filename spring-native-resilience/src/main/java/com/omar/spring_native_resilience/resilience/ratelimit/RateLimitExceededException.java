@@ -0,0 +1,31 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 🪣 Thrown when a call finds no token in its rate limiter's bucket.
+ *
+ * <p>
+ * Like {@code CallNotPermittedException}, not a domain exception: {@code @Retryable(includes = ...)}
+ * does not retry it. Carries the time until the next token so controllers can send a
+ * {@code Retry-After} hint.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String rateLimiterName;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String rateLimiterName, Duration retryAfter) {
+        super("Rate limit '" + rateLimiterName + "' exceeded - next permit in " + retryAfter.toMillis() + "ms");
+        this.rateLimiterName = rateLimiterName;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getRateLimiterName() {
+        return rateLimiterName;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,115 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import com.omar.spring_native_resilience.resilience.annotation.RateLimit;
+import com.omar.spring_native_resilience.resilience.annotation.RateLimit.Mode;
+import com.omar.spring_native_resilience.resilience.support.ResilienceAnnotations;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🪣 Method interceptor applying {@link RateLimit} semantics.
+ */
+public class RateLimitInterceptor implements MethodInterceptor, AutoCloseable {
+
+    private static final Object SINGLE_BUCKET = RateLimitInterceptor.class;
+
+    private final ObjectProvider<RateLimiterRegistry> registryProvider;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(ObjectProvider<RateLimiterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Binding binding = bindings.computeIfAbsent(method, m -> bind(invocation));
+        RateLimiterRegistry registry = registryProvider.getObject();
+        String name = binding.rateLimiter().getName();
+        TokenBucket bucket = binding.rateLimiter().bucket(binding.key(invocation, parameterNameDiscoverer));
+
+        long waitNanos = (binding.mode() == Mode.FAIL_FAST ? bucket.reserve(0) : bucket.reserve(binding.maxWaitNanos()));
+        if (waitNanos < 0) {
+            registry.recordCall(name, "rejected", 0);
+            RateLimitExceededException rejection =
+                    new RateLimitExceededException(name, Duration.ofNanos(bucket.nanosUntilAvailable()));
+            if (binding.mode() == Mode.NON_BLOCKING) {
+                return CompletableFuture.failedFuture(rejection);
+            }
+            throw rejection;
+        }
+        registry.recordCall(name, (waitNanos == 0 ? "permitted" : "delayed"), waitNanos);
+
+        if (waitNanos == 0) {
+            return invocation.proceed();
+        }
+        if (binding.mode() == Mode.NON_BLOCKING) {
+            Executor whenDue = CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, virtualThreads);
+            return CompletableFuture.supplyAsync(() -> proceedAsync(invocation), whenDue)
+                    .thenCompose(future -> future);
+        }
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+        return invocation.proceed();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void close() {
+        virtualThreads.shutdownNow();
+    }
+
+    private static CompletableFuture<Object> proceedAsync(MethodInvocation invocation) {
+        try {
+            return (CompletableFuture<Object>) invocation.proceed();
+        } catch (Throwable ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+    private Binding bind(MethodInvocation invocation) {
+        RateLimit config = ResilienceAnnotations.find(invocation, RateLimit.class);
+        if (config == null) {
+            throw new IllegalStateException("No @RateLimit found for " + invocation.getMethod());
+        }
+        if (config.mode() == Mode.NON_BLOCKING
+                && !CompletableFuture.class.isAssignableFrom(invocation.getMethod().getReturnType())) {
+            throw new IllegalStateException("@RateLimit(mode = NON_BLOCKING) requires a CompletableFuture return type: "
+                    + invocation.getMethod());
+        }
+        Expression key = (config.key().isEmpty() ? null : parser.parseExpression(config.key()));
+        long maxWaitNanos = (config.maxWait() < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(config.maxWait()));
+        return new Binding(registryProvider.getObject().rateLimiter(config), key, config.mode(), maxWaitNanos);
+    }
+
+    private record Binding(RateLimiter rateLimiter, Expression key, Mode mode, long maxWaitNanos) {
+
+        Object key(MethodInvocation invocation, ParameterNameDiscoverer parameterNameDiscoverer) {
+            if (key == null) {
+                return SINGLE_BUCKET;
+            }
+            Object value = key.getValue(new MethodBasedEvaluationContext(
+                    invocation.getThis(), invocation.getMethod(), invocation.getArguments(), parameterNameDiscoverer));
+            return (value != null ? value : SINGLE_BUCKET);
+        }
+    }
+}
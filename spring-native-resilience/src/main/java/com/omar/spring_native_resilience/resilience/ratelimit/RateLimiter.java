@@ -0,0 +1,51 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 🪣 Named rate limiter holding one {@link TokenBucket} per key.
+ *
+ * <p>
+ * Buckets are created on first use. Once more than {@value #SWEEP_THRESHOLD} keys exist,
+ * full buckets are swept away: a full bucket behaves exactly like a new one, so evicting it
+ * only frees memory. (A caller racing with the sweep may take its token from a bucket that was
+ * just evicted; the next caller for that key starts from a full bucket, which at worst grants
+ * one extra token.)
+ */
+public class RateLimiter {
+
+    static final int SWEEP_THRESHOLD = 10_000;
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(String name, double permitsPerSecond, int burst, LongSupplier clock) {
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.clock = clock;
+    }
+
+    public TokenBucket bucket(Object key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= SWEEP_THRESHOLD) {
+            buckets.values().removeIf(TokenBucket::isIdle);
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst, clock));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int keyCount() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import com.omar.spring_native_resilience.resilience.annotation.RateLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📒 Holds the rate limiters by name and publishes their metrics.
+ *
+ * <p>
+ * Metrics (visible under {@code /actuator/metrics}):
+ * <ul>
+ *     <li>{@code resilience.ratelimiter.calls} – tagged {@code permitted} (token available),
+ *     {@code delayed} (waited for a token) or {@code rejected}</li>
+ *     <li>{@code resilience.ratelimiter.wait} – time spent waiting for tokens</li>
+ *     <li>{@code resilience.ratelimiter.keys} – buckets currently held</li>
+ * </ul>
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    public RateLimiterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the rate limiter for the annotation's name, creating it from the annotation on first use.
+     */
+    public RateLimiter rateLimiter(RateLimit config) {
+        return rateLimiters.computeIfAbsent(config.name(), name -> {
+            int burst = (config.burst() > 0 ? config.burst() : (int) Math.max(1, Math.ceil(config.permitsPerSecond())));
+            RateLimiter rateLimiter = new RateLimiter(name, config.permitsPerSecond(), burst, System::nanoTime);
+            Gauge.builder("resilience.ratelimiter.keys", rateLimiter, RateLimiter::keyCount)
+                    .tag("name", name)
+                    .register(meterRegistry);
+            return rateLimiter;
+        });
+    }
+
+    void recordCall(String name, String outcome, long waitNanos) {
+        meterRegistry.counter("resilience.ratelimiter.calls", "name", name, "outcome", outcome).increment();
+        if (waitNanos > 0) {
+            Timer.builder("resilience.ratelimiter.wait")
+                    .tag("name", name)
+                    .register(meterRegistry)
+                    .record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
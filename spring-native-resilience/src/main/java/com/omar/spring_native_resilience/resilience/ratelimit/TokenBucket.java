@@ -0,0 +1,76 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 🪣 Lock-free token bucket.
+ *
+ * <p>
+ * Implemented as a GCRA (generic cell rate algorithm), which behaves exactly like a token bucket
+ * but needs a single number of state: the <i>theoretical arrival time</i> of the next token.
+ * Taking a token moves it forward by one emission interval; a call may proceed once it is
+ * no further than {@code burst} intervals ahead of now. The state lives in one {@link AtomicLong}
+ * updated with compare-and-set, so concurrent callers never block each other.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings: " + permitsPerSecond + "/s, burst " + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = burst * intervalNanos;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes a token if one is available right now.
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Reserves the next token.
+     *
+     * @param maxWaitNanos longest acceptable wait, or a negative value for no limit
+     * @return nanoseconds to wait before the token may be used, or {@code -1} if that would exceed
+     *         {@code maxWaitNanos} (in which case nothing was reserved)
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = clock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = Math.max(0, next - now - burstNanos);
+            if (maxWaitNanos >= 0 && wait > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Time until a token becomes available, {@code 0} if one is available now.
+     */
+    public long nanosUntilAvailable() {
+        long now = clock.getAsLong();
+        return Math.max(0, Math.max(theoreticalArrival.get(), now) + intervalNanos - now - burstNanos);
+    }
+
+    /**
+     * Whether the bucket is full, i.e. forgetting it would not change any future decision.
+     */
+    public boolean isIdle() {
+        return theoreticalArrival.get() <= clock.getAsLong();
+    }
+}
@@ -0,0 +1,153 @@
+package com.omar.spring_native_resilience.resilience.shedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🌊 Admits requests of one endpoint group up to an in-flight limit, and sheds the excess early.
+ *
+ * <p>
+ * Requests beyond {@code maxInFlight} wait for a slot, for a time chosen the CoDel way (Controlled Delay):
+ * <ul>
+ *     <li>📏 Every request's <b>queue time</b> (arrival → slot) is recorded, and at the end of each
+ *     {@code interval} the <i>minimum</i> over that interval is compared with {@code target}</li>
+ *     <li>✅ <b>Normal</b> – the queue drained at least once (minimum ≤ target): a burst is absorbed,
+ *     requests wait up to {@code interval}</li>
+ *     <li>🔥 <b>Overloaded</b> – even the luckiest request waited longer than target, so the queue is
+ *     standing: requests only wait up to {@code target}, and the rest are shed at once</li>
+ * </ul>
+ * The minimum, unlike an average, ignores short bursts and only reacts to a queue that never empties –
+ * the signature of requests piling up in retries and concurrency queues behind a degraded partner.
+ *
+ * <p>
+ * Recent latency is tracked as an exponentially weighted average of admitted requests and becomes the
+ * {@code Retry-After} of shed ones: roughly when a slot can be expected to free up.
+ *
+ * <p>
+ * Metrics, tagged with the group: {@code resilience.loadshedding.requests{outcome=admitted|shed}},
+ * {@code resilience.loadshedding.queue.wait}, {@code resilience.loadshedding.in.flight},
+ * {@code resilience.loadshedding.queued}, {@code resilience.loadshedding.overloaded} (0 or 1) and
+ * {@code resilience.loadshedding.latency} (the average, in milliseconds).
+ */
+public class LoadShedder {
+
+    /**
+     * Weight of the latest request in the latency average.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final String group;
+    private final int maxInFlight;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final Semaphore slots;
+
+    private final Object codelLock = new Object();
+    private long intervalStart = System.nanoTime();
+    private long minQueueNanos = Long.MAX_VALUE;
+    private volatile boolean overloaded;
+
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    private final Counter admitted;
+    private final Counter shed;
+    private final Timer queueWait;
+
+    public LoadShedder(String group, int maxInFlight, Duration target, Duration interval, MeterRegistry meterRegistry) {
+        if (maxInFlight < 1 || target.isNegative() || interval.compareTo(target) < 0) {
+            throw new IllegalArgumentException("Invalid load shedding settings for '" + group + "'");
+        }
+        this.group = group;
+        this.maxInFlight = maxInFlight;
+        this.targetNanos = target.toNanos();
+        this.intervalNanos = interval.toNanos();
+        this.slots = new Semaphore(maxInFlight, true);
+
+        this.admitted = meterRegistry.counter("resilience.loadshedding.requests", "group", group, "outcome", "admitted");
+        this.shed = meterRegistry.counter("resilience.loadshedding.requests", "group", group, "outcome", "shed");
+        this.queueWait = Timer.builder("resilience.loadshedding.queue.wait")
+                .description("Time a request waited for an in-flight slot, shed requests included")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("resilience.loadshedding.in.flight", this, LoadShedder::inFlight)
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("resilience.loadshedding.queued", slots, Semaphore::getQueueLength)
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("resilience.loadshedding.overloaded", this, shedder -> shedder.isOverloaded() ? 1 : 0)
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("resilience.loadshedding.latency", this, shedder -> shedder.latencyNanos.get() / 1e6)
+                .tag("group", group)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for an in-flight slot as long as the current state allows.
+     *
+     * @return {@code true} if admitted, the slot then being given back with {@link #release(long)};
+     * {@code false} if the request must be shed
+     */
+    public boolean tryAdmit() throws InterruptedException {
+        long arrival = System.nanoTime();
+        // A timed acquire, even of zero, respects the semaphore's fairness: no barging past queued requests
+        boolean acquired = slots.tryAcquire(0, TimeUnit.NANOSECONDS)
+                || slots.tryAcquire(overloaded ? targetNanos : intervalNanos, TimeUnit.NANOSECONDS);
+        long now = System.nanoTime();
+        recordQueueTime(now - arrival, now);
+        (acquired ? admitted : shed).increment();
+        return acquired;
+    }
+
+    /**
+     * Gives the slot back.
+     *
+     * @param elapsedNanos time the request spent being processed, for the latency average
+     */
+    public void release(long elapsedNanos) {
+        slots.release();
+        latencyNanos.updateAndGet(average -> (average == 0
+                ? elapsedNanos
+                : (long) (average + LATENCY_WEIGHT * (elapsedNanos - average))));
+    }
+
+    /**
+     * When a shed client should come back: the recent average latency, at least one second.
+     */
+    public Duration retryAfter() {
+        return Duration.ofSeconds(Math.max(1, (long) Math.ceil(latencyNanos.get() / 1e9)));
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    private int inFlight() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    private void recordQueueTime(long queueNanos, long now) {
+        queueWait.record(queueNanos, TimeUnit.NANOSECONDS);
+        synchronized (codelLock) {
+            minQueueNanos = Math.min(minQueueNanos, queueNanos);
+            if (now - intervalStart >= intervalNanos) {
+                overloaded = minQueueNanos > targetNanos;
+                minQueueNanos = Long.MAX_VALUE;
+                intervalStart = now;
+            }
+        }
+    }
+}
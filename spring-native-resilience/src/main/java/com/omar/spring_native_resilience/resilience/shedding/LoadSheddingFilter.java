@@ -0,0 +1,161 @@
+package com.omar.spring_native_resilience.resilience.shedding;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🌊 Sheds excess load at the servlet level, before it reaches retries and concurrency queues.
+ *
+ * <p>
+ * Each configured path prefix ({@code quickbites.load-shedding.paths}) is an endpoint group with its own
+ * {@link LoadShedder}. A request the shedder does not admit is answered right away with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} based on the group's recent latency – a cheap
+ * rejection instead of a slow failure that holds a thread, a permit and the client's patience.
+ *
+ * <p>
+ * Runs first in the filter chain, so shed requests cost almost nothing. Async requests keep their slot
+ * until the async processing completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private final boolean enabled;
+    private final Map<String, LoadShedder> shedders = new LinkedHashMap<>();
+
+    public LoadSheddingFilter(MeterRegistry meterRegistry,
+                              @Value("${quickbites.load-shedding.enabled:true}") boolean enabled,
+                              @Value("${quickbites.load-shedding.paths:/api/restaurants/,/api/drivers/}") List<String> paths,
+                              @Value("${quickbites.load-shedding.max-in-flight:64}") int maxInFlight,
+                              @Value("${quickbites.load-shedding.target:PT0.005S}") Duration target,
+                              @Value("${quickbites.load-shedding.interval:PT0.1S}") Duration interval) {
+        this.enabled = enabled;
+        for (String path : paths) {
+            shedders.put(path, new LoadShedder(path, maxInFlight, target, interval, meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || shedderFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LoadShedder shedder = shedderFor(request);
+        boolean admitted;
+        try {
+            admitted = shedder.tryAdmit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            shed(shedder, request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(shedder, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                shedder.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private LoadShedder shedderFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, LoadShedder> entry : shedders.entrySet()) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static void shed(LoadShedder shedder, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("🌊 Shedding {} {} ({})", request.getMethod(), request.getRequestURI(),
+                (shedder.isOverloaded() ? "overloaded" : "queue timeout"));
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(shedder.retryAfter().toSeconds()));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write("""
+                {"type":"about:blank","title":"%s","status":%d,"detail":"Load shed: too many requests in flight for %s","instance":"%s"}"""
+                .formatted(status.getReasonPhrase(), status.value(), shedder.getGroup(), request.getRequestURI()));
+    }
+
+    /**
+     * Gives the slot of an async request back once, whichever way the request ends.
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final LoadShedder shedder;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(LoadShedder shedder, long start) {
+            this.shedder = shedder;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Still the same request: keep the slot
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                shedder.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
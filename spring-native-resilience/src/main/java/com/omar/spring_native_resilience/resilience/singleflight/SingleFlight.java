@@ -0,0 +1,145 @@
+package com.omar.spring_native_resilience.resilience.singleflight;
+
+import com.omar.spring_native_resilience.resilience.deadline.Deadline;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineContext;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 🛬 Coalesces concurrent calls for the same key into a single execution.
+ *
+ * <p>
+ * The first caller for a key starts the loader; every caller arriving while it is in flight
+ * waits for that same execution and receives its result — or its exception.
+ * Once the execution completes, the key is released and the next call starts a fresh one.
+ *
+ * <p>
+ * The loader runs on the given executor, detached from whichever caller started it, with its
+ * own deadline of {@code loadTimeout} in {@link DeadlineContext}. A caller that is interrupted or
+ * whose deadline passes only stops <i>waiting</i> – with a {@link CancellationException} or a
+ * {@link DeadlineExceededException} – while the load carries on for everyone else. Likewise, the
+ * retries of a shared load are bounded by its own deadline, not by the first caller's.
+ *
+ * <p>
+ * Inspired by Go's {@code singleflight} package. No results are cached here: this only
+ * collapses <i>simultaneous</i> work.
+ *
+ * @param <K> key type, e.g. a restaurant id
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Executor executor;
+    private final Duration loadTimeout;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param executor    runs the loads, e.g. a virtual-thread-per-task executor
+     * @param loadTimeout deadline of each load, independent of the callers' deadlines
+     */
+    public SingleFlight(Executor executor, Duration loadTimeout) {
+        this.executor = executor;
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * Starts the loader for the key, or joins an execution already in flight for it, and waits
+     * for the result until the caller's own deadline (if any) passes.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            executor.execute(() -> load(key, flight, loader));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        return await(flight);
+    }
+
+    /**
+     * Detaches the execution in flight for the key, if any: callers already waiting still get its
+     * result, later callers start a fresh one.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Number of executions that actually ran a loader.
+     */
+    public long executionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Number of callers that joined an execution started by someone else.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void load(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        V value;
+        try {
+            value = DeadlineContext.callWith(Deadline.after(loadTimeout), loader::get);
+        } catch (Throwable t) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(t);
+            return;
+        }
+        // Release the key first: a caller arriving after completion starts a fresh load, never joins this one
+        inFlight.remove(key, flight);
+        flight.complete(value);
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        Deadline deadline = DeadlineContext.current();
+        try {
+            if (deadline == null) {
+                return flight.get();
+            }
+            return flight.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Deadline passed while waiting for in-flight call");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for in-flight call");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
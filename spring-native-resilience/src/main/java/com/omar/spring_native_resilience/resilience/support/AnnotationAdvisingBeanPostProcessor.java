@@ -0,0 +1,66 @@
+package com.omar.spring_native_resilience.resilience.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.lang.annotation.Annotation;
+import java.util.function.Function;
+
+/**
+ * 🧩 Base post-processor for the QuickBites resilience annotations.
+ *
+ * <p>
+ * Mirrors how Spring Framework 7 wires {@code @Retryable} and {@code @ConcurrencyLimit}
+ * behind {@code @EnableResilientMethods}: any bean whose class or methods carry the
+ * given annotation is proxied, and the interceptor created by the factory function
+ * handles the annotated calls.
+ *
+ * <p>
+ * Subclasses decide where their advice sits relative to Spring's own resilience advice:
+ * <ul>
+ *     <li>{@code beforeExistingAdvisors = false} → innermost, runs once <i>per retry attempt</i></li>
+ *     <li>{@code beforeExistingAdvisors = true} → outermost, runs once <i>per call</i></li>
+ * </ul>
+ *
+ * <p>
+ * An interceptor holding resources (e.g. an executor) implements {@link AutoCloseable} and is closed
+ * together with its post-processor when the context shuts down.
+ */
+public abstract class AnnotationAdvisingBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor
+        implements DisposableBean {
+
+    private final Class<? extends Annotation> annotationType;
+    private final Function<BeanFactory, MethodInterceptor> interceptorFactory;
+
+    protected AnnotationAdvisingBeanPostProcessor(Class<? extends Annotation> annotationType,
+                                                  boolean beforeExistingAdvisors,
+                                                  Function<BeanFactory, MethodInterceptor> interceptorFactory) {
+        this.annotationType = annotationType;
+        this.interceptorFactory = interceptorFactory;
+        setBeforeExistingAdvisors(beforeExistingAdvisors);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        super.setBeanFactory(beanFactory);
+
+        Pointcut classPointcut = new AnnotationMatchingPointcut(annotationType, true);
+        Pointcut methodPointcut = new AnnotationMatchingPointcut(null, annotationType, true);
+        this.advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(classPointcut).union(methodPointcut),
+                interceptorFactory.apply(beanFactory));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.advisor != null && this.advisor.getAdvice() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
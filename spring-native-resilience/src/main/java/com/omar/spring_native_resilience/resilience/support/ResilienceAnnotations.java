@@ -0,0 +1,32 @@
+package com.omar.spring_native_resilience.resilience.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * 🔎 Annotation lookup shared by the resilience interceptors.
+ *
+ * <p>
+ * Resolves the annotation on the most specific target method first and falls back
+ * to the target class, matching the class-or-method semantics of {@code @Retryable}.
+ */
+public final class ResilienceAnnotations {
+
+    private ResilienceAnnotations() {
+    }
+
+    public static <A extends Annotation> A find(MethodInvocation invocation, Class<A> annotationType) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = (target != null
+                ? AopUtils.getTargetClass(target)
+                : invocation.getMethod().getDeclaringClass());
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+
+        A annotation = AnnotatedElementUtils.findMergedAnnotation(method, annotationType);
+        return (annotation != null ? annotation : AnnotatedElementUtils.findMergedAnnotation(targetClass, annotationType));
+    }
+}
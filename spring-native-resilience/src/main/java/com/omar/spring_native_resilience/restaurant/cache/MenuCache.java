@@ -0,0 +1,282 @@
+package com.omar.spring_native_resilience.restaurant.cache;
+
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.loader.CatalogChangedEvent;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantService;
+import com.omar.spring_native_resilience.resilience.hedging.HedgedExecutor;
+import com.omar.spring_native_resilience.resilience.singleflight.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🗂️ Per-restaurant menu cache in front of {@link RestaurantService#getMenuFromPartner}.
+ *
+ * <p>
+ * Menus change rarely, while every partner call costs 200ms plus possible retries.
+ * The cache answers from memory and only talks to the partner when needed:
+ * <ul>
+ *     <li>🟢 <b>Fresh</b> (age &lt; TTL) → served directly</li>
+ *     <li>🟡 <b>Stale</b> (TTL ≤ age &lt; TTL + max-stale) → served directly, refreshed in the background</li>
+ *     <li>🔴 <b>Miss / too old</b> → loaded synchronously; if the partner fails, any old entry is served instead</li>
+ * </ul>
+ *
+ * <p>
+ * Size is bounded with an access-ordered LRU, so the least recently viewed restaurants are evicted first.
+ * Concurrent loads of the same restaurant are coalesced through a {@link SingleFlight}: during a lunch
+ * rush, one partner call (with its retries) serves every user opening that restaurant at the same time.
+ * That call runs detached from the requests waiting for it, within its own {@code load-timeout}: a request
+ * that gives up (its own deadline, or an interrupt) never fails the load for the others.
+ * That call can optionally be hedged through a {@link HedgedExecutor} to cut tail latency.
+ * Partner calls still go through the proxied {@link RestaurantService}, so retries and the circuit
+ * breaker keep applying to cache loads.
+ *
+ * <p>
+ * Every invalidation bumps the restaurant's generation. A load that started before it does not store
+ * its (now outdated) menu, and requests arriving afterwards start a fresh load instead of joining it.
+ */
+@Component
+public class MenuCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuCache.class);
+
+    private final RestaurantService restaurantService;
+    private final HedgedExecutor partnerMenuHedging;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+    // Bumped by every invalidation; guarded by the lock like the entries
+    private final Map<String, Long> generations = new HashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SingleFlight<String, List<MenuItem>> partnerFetches;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter staleServedOnError;
+    private final Counter evictions;
+    private final MeterRegistry meterRegistry;
+
+    public MenuCache(RestaurantService restaurantService,
+                     HedgedExecutor partnerMenuHedging,
+                     MeterRegistry meterRegistry,
+                     @Value("${quickbites.menu-cache.ttl:PT1M}") Duration ttl,
+                     @Value("${quickbites.menu-cache.max-stale:PT30M}") Duration maxStale,
+                     @Value("${quickbites.menu-cache.maximum-size:10000}") int maximumSize,
+                     @Value("${quickbites.menu-cache.load-timeout:PT10S}") Duration loadTimeout) {
+        this.restaurantService = restaurantService;
+        this.partnerMenuHedging = partnerMenuHedging;
+        this.meterRegistry = meterRegistry;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.partnerFetches = new SingleFlight<>(loadExecutor, loadTimeout);
+
+        this.hits = meterRegistry.counter("menu.cache.requests", "result", "hit");
+        this.staleHits = meterRegistry.counter("menu.cache.requests", "result", "stale");
+        this.misses = meterRegistry.counter("menu.cache.requests", "result", "miss");
+        this.staleServedOnError = meterRegistry.counter("menu.cache.stale.served.on.error");
+        this.evictions = meterRegistry.counter("menu.cache.evictions");
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > maximumSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+
+        Gauge.builder("menu.cache.size", this, MenuCache::size).register(meterRegistry);
+        FunctionCounter.builder("menu.fetch.coalesced", partnerFetches, SingleFlight::coalescedCount)
+                .description("Menu requests that joined a partner fetch already in flight")
+                .register(meterRegistry);
+        FunctionCounter.builder("menu.fetch.executions", partnerFetches, SingleFlight::executionCount)
+                .description("Partner fetches actually executed")
+                .register(meterRegistry);
+        Gauge.builder("menu.fetch.in.flight", partnerFetches, SingleFlight::inFlightCount)
+                .register(meterRegistry);
+        Gauge.builder("menu.cache.hit.ratio", this, MenuCache::hitRatio)
+                .description("Share of requests answered from the cache (fresh or stale)")
+                .register(meterRegistry);
+
+        log.info("🗂️  Menu cache enabled (ttl={}, maxStale={}, maximumSize={})", ttl, maxStale, maximumSize);
+    }
+
+    /**
+     * Returns the menu for the given restaurant, from cache whenever possible.
+     *
+     * @param restaurantId the partner restaurant identifier
+     * @return list of available menu items
+     */
+    public List<MenuItem> getMenu(String restaurantId) {
+        Entry entry = lookup(restaurantId);
+
+        if (entry != null) {
+            long age = System.nanoTime() - entry.loadedAtNanos();
+            if (age < ttlNanos) {
+                hits.increment();
+                return entry.menu();
+            }
+            if (age < ttlNanos + maxStaleNanos) {
+                staleHits.increment();
+                refreshInBackground(restaurantId);
+                return entry.menu();
+            }
+        }
+
+        misses.increment();
+        try {
+            return load(restaurantId, "sync");
+        } catch (RuntimeException e) {
+            if (entry == null) {
+                throw e;
+            }
+            staleServedOnError.increment();
+            log.warn("🟡 Partner failed for {} - serving stale menu: {}", restaurantId, e.getMessage());
+            return entry.menu();
+        }
+    }
+
+    /**
+     * Drops the cached menu of a restaurant, forcing the next request to reload it.
+     * A load already in flight is neither stored nor joined by later requests.
+     */
+    public void invalidate(String restaurantId) {
+        lock.lock();
+        try {
+            entries.remove(restaurantId);
+            generations.merge(restaurantId, 1L, Long::sum);
+            partnerFetches.forget(restaurantId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached menus of restaurants changed by a catalogue reload or availability update.
+     */
+    @EventListener
+    void onCatalogChanged(CatalogChangedEvent event) {
+        event.affectedRestaurantIds().forEach(this::invalidate);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    private void refreshInBackground(String restaurantId) {
+        if (!refreshing.add(restaurantId)) {
+            return; // a refresh for this restaurant is already running
+        }
+        loadExecutor.execute(() -> {
+            try {
+                load(restaurantId, "background");
+            } catch (RuntimeException e) {
+                log.warn("🔄 Background menu refresh failed for {} - keeping stale entry: {}",
+                        restaurantId, e.getMessage());
+            } finally {
+                refreshing.remove(restaurantId);
+            }
+        });
+    }
+
+    private List<MenuItem> load(String restaurantId, String mode) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            List<MenuItem> menu = partnerFetches.execute(restaurantId, () -> {
+                long generation = generation(restaurantId);
+                List<MenuItem> fetched = partnerMenuHedging.execute(
+                        () -> restaurantService.getMenuFromPartner(restaurantId));
+                store(restaurantId, generation, new Entry(fetched, System.nanoTime()));
+                return fetched;
+            });
+            outcome = "success";
+            return menu;
+        } finally {
+            Timer.builder("menu.cache.load")
+                    .description("Latency of partner loads triggered by the menu cache")
+                    .tag("mode", mode)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private Entry lookup(String restaurantId) {
+        lock.lock();
+        try {
+            return entries.get(restaurantId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long generation(String restaurantId) {
+        lock.lock();
+        try {
+            return generations.getOrDefault(restaurantId, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a loaded menu, unless the restaurant was invalidated since the load started.
+     */
+    private void store(String restaurantId, long loadGeneration, Entry entry) {
+        lock.lock();
+        try {
+            if (generations.getOrDefault(restaurantId, 0L) != loadGeneration) {
+                log.debug("🗂️  Discarding menu of {} loaded before an invalidation", restaurantId);
+                return;
+            }
+            entries.put(restaurantId, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + staleHits.count();
+        double total = served + misses.count();
+        return (total == 0 ? 0 : served / total);
+    }
+
+    private record Entry(List<MenuItem> menu, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.omar.spring_native_resilience.restaurant.controller;
+
+import com.omar.spring_native_resilience.restaurant.loader.DataLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 📚 REST controller for catalogue maintenance.
+ *
+ * <p>
+ * Lets operators reload restaurant and menu data without restarting the application.
+ * Reloads are incremental and published atomically by the {@link DataLoader}.
+ */
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogController.class);
+    private final DataLoader dataLoader;
+
+    public CatalogController(DataLoader dataLoader) {
+        this.dataLoader = dataLoader;
+    }
+
+    /**
+     * Re-reads the catalogue files and applies only the changed restaurants and menu items.
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<DataLoader.ReloadReport> reload() {
+        log.info("🔄 API request: Reload catalogue");
+        return ResponseEntity.ok(dataLoader.reload());
+    }
+
+    /**
+     * Size of the current catalogue and statistics of the last load.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        DataLoader.LoadStats lastLoad = dataLoader.getLastLoad();
+        return ResponseEntity.ok(Map.of(
+                "restaurants", dataLoader.getRestaurants().size(),
+                "menuItems", dataLoader.getMenuItems().size(),
+                "lastLoadRecords", lastLoad.records(),
+                "lastLoadDurationMs", lastLoad.duration().toMillis(),
+                "lastLoadRecordsPerSecond", Math.round(lastLoad.recordsPerSecond()),
+                "lastLoadPeakHeapBytes", lastLoad.peakHeapBytes()
+        ));
+    }
+}
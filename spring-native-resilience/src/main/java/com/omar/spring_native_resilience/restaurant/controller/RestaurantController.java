@@ -1,16 +1,29 @@
 package com.omar.spring_native_resilience.restaurant.controller;
 
 import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.restaurant.cache.MenuCache;
+import com.omar.spring_native_resilience.restaurant.domain.MenuFetchResult;
 import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.domain.PriceBand;
 import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+import com.omar.spring_native_resilience.restaurant.domain.RestaurantSearchPage;
+import com.omar.spring_native_resilience.restaurant.exception.RestaurantApiException;
+import com.omar.spring_native_resilience.restaurant.loader.DataLoader;
+import com.omar.spring_native_resilience.restaurant.search.RestaurantSearchService;
+import com.omar.spring_native_resilience.restaurant.service.BulkMenuService;
+import com.omar.spring_native_resilience.restaurant.service.NotificationBatcher;
 import com.omar.spring_native_resilience.restaurant.service.RestaurantNotificationService;
 import com.omar.spring_native_resilience.restaurant.service.RestaurantService;
+import com.omar.spring_native_resilience.resilience.annotation.Timeout;
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
@@ -19,6 +32,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -29,10 +44,13 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * Provides endpoints to:
  * <ul>
- *     <li>List all restaurants</li>
- *     <li>Fetch restaurant menus (with retryable resilient calls)</li>
- *     <li>Simulate lunch rush to demonstrate concurrency limits (@ConcurrencyLimit)</li>
+ *     <li>List all restaurants, or search them by cuisine, rating and name prefix with cursor paging</li>
+ *     <li>Fetch restaurant menus (cached, with retryable resilient calls behind the cache)</li>
+ *     <li>Fetch many menus at once with a per-request deadline and partial results</li>
+ *     <li>Browse a menu by category / price band and toggle item availability</li>
+ *     <li>Simulate lunch rush to demonstrate concurrency limits (@AdaptiveConcurrencyLimit)</li>
  *     <li>Support virtual thread simulations (Java 21+)</li>
+ *     <li>Simulate a lunch rush with notifications batched per restaurant</li>
  * </ul>
  */
 @RestController
@@ -40,12 +58,34 @@ import java.util.concurrent.TimeUnit;
 public class RestaurantController {
 
     private static final Logger log = LoggerFactory.getLogger(RestaurantController.class);
+    private static final int MAX_BULK_RESTAURANTS = 50;
+    private static final long DEFAULT_BULK_DEADLINE_MS = 2_000;
+    private static final long MAX_BULK_DEADLINE_MS = 10_000;
+    private static final int MAX_BATCHED_RUSH_ORDERS = 1_000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final RestaurantService restaurantService;
     private final RestaurantNotificationService restaurantNotificationService;
-
-    public RestaurantController(RestaurantService restaurantService, RestaurantNotificationService restaurantNotificationService) {
+    private final MenuCache menuCache;
+    private final BulkMenuService bulkMenuService;
+    private final DataLoader dataLoader;
+    private final NotificationBatcher notificationBatcher;
+    private final RestaurantSearchService restaurantSearchService;
+
+    public RestaurantController(RestaurantService restaurantService,
+                                RestaurantNotificationService restaurantNotificationService,
+                                MenuCache menuCache,
+                                BulkMenuService bulkMenuService,
+                                DataLoader dataLoader,
+                                NotificationBatcher notificationBatcher,
+                                RestaurantSearchService restaurantSearchService) {
         this.restaurantService = restaurantService;
         this.restaurantNotificationService = restaurantNotificationService;
+        this.menuCache = menuCache;
+        this.bulkMenuService = bulkMenuService;
+        this.dataLoader = dataLoader;
+        this.notificationBatcher = notificationBatcher;
+        this.restaurantSearchService = restaurantSearchService;
     }
 
     @GetMapping("/")
@@ -53,16 +93,45 @@ public class RestaurantController {
         return restaurantService.findAll();
     }
 
+    /**
+     * Searches restaurants by cuisine, minimum rating and name prefix, best rated first.
+     * Every filter is optional; answered from in-memory indexes, one page at a time.
+     *
+     * @param cursor {@code nextCursor} of the previous page; absent for the first page
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchRestaurants(@RequestParam(required = false) String cuisine,
+                                               @RequestParam(required = false) Double minRating,
+                                               @RequestParam(required = false) String name,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        try {
+            RestaurantSearchPage page = restaurantSearchService.search(
+                    cuisine, minRating, name, cursor, Math.clamp(limit, 1, MAX_SEARCH_PAGE_SIZE));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Invalid cursor",
+                    "message", "Pass back the nextCursor of the previous page unchanged"
+            ));
+        }
+    }
+
     /**
      * Get the menu for a specific restaurant.
-     * Uses {@link RestaurantService#getMenuFromPartner} which may retry automatically on failure.
+     * Served by {@link MenuCache}; cache loads use {@link RestaurantService#getMenuFromPartner},
+     * which may retry automatically on failure.
+     * While the partner circuit is open or its rate limit is reached, the call is rejected immediately
+     * with a {@code Retry-After} hint by {@code ResilienceExceptionHandler}.
+     * The request is capped at 5 seconds, retries included (HTTP 504 beyond that).
      */
     @GetMapping("/{restaurantId}/menu")
+    @Timeout(5_000)
     public ResponseEntity<Map<String, Object>> getRestaurantMenu(@PathVariable String restaurantId) {
         log.info("🍽️  API request: Get menu for restaurant {}", restaurantId);
 
         try {
-            List<MenuItem> menu = restaurantService.getMenuFromPartner(restaurantId);
+            List<MenuItem> menu = menuCache.getMenu(restaurantId);
 
             return ResponseEntity.ok(Map.of(
                     "restaurantId", restaurantId,
@@ -71,7 +140,7 @@ public class RestaurantController {
                     "message", "Menu fetched successfully (possibly after retries)"
             ));
 
-        } catch (Exception e) {
+        } catch (RestaurantApiException e) {
             log.error("❌ Failed to fetch menu after all retries: {}", e.getMessage());
             return ResponseEntity.status(503).body(Map.of(
                     "error", "Service temporarily unavailable",
@@ -81,15 +150,79 @@ public class RestaurantController {
         }
     }
 
+    /**
+     * Browse the available menu of a restaurant by category and/or price band.
+     * Served from the precomputed local menu index - no partner call involved.
+     */
+    @GetMapping("/{restaurantId}/menu/browse")
+    public ResponseEntity<List<MenuItem>> browseMenu(@PathVariable String restaurantId,
+                                                     @RequestParam(required = false) String category,
+                                                     @RequestParam(required = false) PriceBand priceBand) {
+        List<MenuItem> items = restaurantService.browseMenu(restaurantId, category, priceBand);
+        return (items != null ? ResponseEntity.ok(items) : ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Mark a menu item as available / unavailable (e.g. sold out).
+     * Only the owning restaurant's menu index is rebuilt, and its cached menu is dropped
+     * (via the {@code CatalogChangedEvent} published by the {@link DataLoader}).
+     */
+    @PutMapping("/menu-items/{itemId}/availability")
+    public ResponseEntity<MenuItem> updateAvailability(@PathVariable String itemId,
+                                                       @RequestParam boolean available) {
+        MenuItem updated = dataLoader.updateAvailability(itemId, available);
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("🔁 Menu item {} availability set to {}", itemId, available);
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * Get the menus of many restaurants in one call (e.g. the mobile home screen).
+     *
+     * <p>
+     * Menus are fetched concurrently on virtual threads. Whatever is not ready when the
+     * deadline expires is reported as {@code TIMED_OUT} (the fetch itself is left to finish, as
+     * other requests may share it); the response always contains one entry per restaurant.
+     *
+     * @param ids        restaurant IDs (at most {@value #MAX_BULK_RESTAURANTS})
+     * @param deadlineMs time budget for the whole request (default 2s, capped at 10s)
+     */
+    @GetMapping("/menus")
+    public ResponseEntity<Map<String, Object>> getRestaurantMenus(@RequestParam List<String> ids,
+                                                                  @RequestParam(required = false) Long deadlineMs) {
+        if (ids.isEmpty() || ids.size() > MAX_BULK_RESTAURANTS) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Invalid restaurant list",
+                    "message", "Between 1 and " + MAX_BULK_RESTAURANTS + " restaurant IDs are supported"
+            ));
+        }
+        long budgetMs = Math.clamp(deadlineMs != null ? deadlineMs : DEFAULT_BULK_DEADLINE_MS, 1, MAX_BULK_DEADLINE_MS);
+        log.info("📦 API request: Get menus for {} restaurants (deadline {}ms)", ids.size(), budgetMs);
+
+        long start = System.nanoTime();
+        List<MenuFetchResult> results = bulkMenuService.fetchMenus(ids, Duration.ofMillis(budgetMs));
+        long succeeded = results.stream().filter(r -> r.status() == MenuFetchResult.Status.OK).count();
+
+        return ResponseEntity.ok(Map.of(
+                "results", results,
+                "requested", results.size(),
+                "succeeded", succeeded,
+                "failed", results.size() - succeeded,
+                "durationMs", Duration.ofNanos(System.nanoTime() - start).toMillis()
+        ));
+    }
+
     @GetMapping("/lunch-rush")
     public ResponseEntity<Map<String, Object>> lunchRush() {
         log.info("🍔 LUNCH RUSH STARTED - Simulating 10 concurrent order notifications");
-        log.info("⚠️  Concurrency Limit: 3 (only 3 notifications can process simultaneously)");
+        log.info("⚠️  Concurrency Limit: adaptive, starting at 3 (see /api/resilience/concurrency-limits)");
 
         LocalDateTime startTime = LocalDateTime.now();
 
         // Create 10 orders to simulate lunch rush
-        List<Order> orders = createSampleOrders("lunch-%04d", 10);
+        List<Order> orders = createSampleOrders("lunch-%04d", 10, 1);
 
 
         // Use fixed thread pool with 10 threads to submit all orders concurrently
@@ -110,29 +243,30 @@ public class RestaurantController {
         long durationSeconds = Duration.between(startTime, endTime).toSeconds();
 
         log.info("\uD83C\uDF89 LUNCH RUSH COMPLETED - All 10 notifications processed in {} seconds", durationSeconds);
-        log.info("📊 Expected time: ~6-8 seconds (10 orders / 3 concurrent * 2s each)");
+        log.info("📊 Expected time: ~10 seconds (10 orders for one restaurant / 2 per restaurant * 2s each)");
 
         return ResponseEntity.ok(Map.of(
             "message", "Lunch rush simulation completed",
             "totalOrders", 10,
-            "concurrencyLimit", 3,
+            "initialConcurrencyLimit", 3,
             "durationSeconds", durationSeconds,
-            "expectedDuration", "6-8 seconds",
+            "expectedDuration", "~10 seconds",
             "threadPoolType", "Fixed thread pool (10 threads)",
-            "explanation", "With @ConcurrencyLimit(3), only 3 notifications process simultaneously. " +
-                          "The remaining 7 orders queue and wait for permits to become available."
+            "explanation", "With @AdaptiveConcurrencyLimit, the limit starts at 3 and grows while notifications stay fast. " +
+                          "All orders go to one restaurant, so @KeyedConcurrencyLimit caps them at 2 at a time. " +
+                          "Orders above the current limit queue and wait for permits to become available."
         ));
     }
 
     @GetMapping("/lunch-rush-virtual")
     public ResponseEntity<Map<String, Object>> lunchRushVirtual() {
         log.info("🍔 LUNCH RUSH STARTED (Virtual Threads) - Simulating 10 concurrent order notifications");
-        log.info("⚠️  Concurrency Limit: 3 (only 3 notifications can process simultaneously)");
+        log.info("⚠️  Concurrency Limit: adaptive, starting at 3 (see /api/resilience/concurrency-limits)");
 
         LocalDateTime startTime = LocalDateTime.now();
 
         // Create 10 orders to simulate lunch rush
-        List<Order> orders = createSampleOrders("lunch-%04d", 10);
+        List<Order> orders = createSampleOrders("lunch-%04d", 10, 1);
 
         // Use virtual threads (Java 21+) - lightweight, created on-demand
         ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
@@ -150,38 +284,74 @@ public class RestaurantController {
         long durationSeconds = Duration.between(startTime, endTime).toSeconds();
 
         log.info("🎉 LUNCH RUSH COMPLETED (Virtual Threads) - All 10 notifications processed in {} seconds", durationSeconds);
-        log.info("📊 Expected time: ~6-8 seconds (10 orders / 3 concurrent * 2s each)");
+        log.info("📊 Expected time: ~10 seconds (10 orders for one restaurant / 2 per restaurant * 2s each)");
 
         return ResponseEntity.ok(Map.of(
             "message", "Lunch rush simulation completed (Virtual Threads)",
             "totalOrders", 10,
-            "concurrencyLimit", 3,
+            "initialConcurrencyLimit", 3,
             "durationSeconds", durationSeconds,
-            "expectedDuration", "6-8 seconds",
+            "expectedDuration", "~10 seconds",
             "threadPoolType", "Virtual threads (Java 21+)",
-            "explanation", "With @ConcurrencyLimit(3), only 3 notifications process simultaneously. " +
-                          "Virtual threads are lightweight and created on-demand, but the concurrency limit still applies. " +
+            "explanation", "With @AdaptiveConcurrencyLimit, the limit starts at 3 and grows while notifications stay fast. " +
+                          "All orders go to one restaurant, so @KeyedConcurrencyLimit caps them at 2 at a time. " +
+                          "Virtual threads are lightweight and created on-demand, but the concurrency limits still apply. " +
                           "Check logs to see VirtualThread names vs platform thread pool names."
         ));
     }
 
+    @GetMapping("/lunch-rush-batched")
+    public ResponseEntity<Map<String, Object>> lunchRushBatched(@RequestParam(defaultValue = "30") int orders) {
+        int count = Math.clamp(orders, 1, MAX_BATCHED_RUSH_ORDERS);
+        log.info("🍔 LUNCH RUSH STARTED (Batched) - {} orders, notifications coalesced per restaurant", count);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> deliveries = createSampleOrders("batched-%04d", count, 3).stream()
+                .map(notificationBatcher::submit)
+                .toList();
+
+        long failed = 0;
+        for (CompletableFuture<Void> delivery : deliveries) {
+            try {
+                delivery.join();
+            } catch (CompletionException e) {
+                failed++;
+            }
+        }
+        long durationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        log.info("🎉 LUNCH RUSH COMPLETED (Batched) - {} orders notified in {}ms", count, durationMs);
+
+        return ResponseEntity.ok(Map.of(
+            "message", "Lunch rush simulation completed (Batched)",
+            "totalOrders", count,
+            "failedOrders", failed,
+            "durationMs", durationMs,
+            "explanation", "Orders are buffered per restaurant for a short window and sent as one notification, " +
+                          "so 3 restaurants need ~3 webhook calls instead of one per order. " +
+                          "See notifications.batch.size and notifications.delivery in /actuator/metrics."
+        ));
+    }
+
     /* ----------------- Helper Methods ----------------- */
 
     /**
      * Creates a list of sample orders for testing or simulation purposes.
      * Each order is pre-populated with customer, restaurant, items, payment, and status.
+     * Orders are assigned round-robin to restaurant-001, restaurant-002, and so on.
      *
-     * @param idFormat The string format for generating order IDs (e.g., "lunch-%04d")
-     * @param count    The number of orders to create
+     * @param idFormat    The string format for generating order IDs (e.g., "lunch-%04d")
+     * @param count       The number of orders to create
+     * @param restaurants The number of restaurants the orders are spread over
      * @return A list of sample {@link Order} objects
      */
-    private List<Order> createSampleOrders(String idFormat, int count) {
+    private List<Order> createSampleOrders(String idFormat, int count, int restaurants) {
         List<Order> orders = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
             orders.add(new Order(
                     String.format(idFormat, i),
                     "customer-" + i,
-                    "restaurant-001",
+                    String.format("restaurant-%03d", (i - 1) % restaurants + 1),
                     List.of("burger", "fries", "drink"),
                     new BigDecimal("15.99"),
                     "payment-" + i,
@@ -201,6 +371,8 @@ public class RestaurantController {
     private void safeNotify(Order order) {
         try {
             restaurantNotificationService.notifyRestaurant(order);
+        } catch (BulkheadFullException e) {
+            log.warn("🚫 Notification for order {} shed by the bulkhead: {}", order.id(), e.getMessage());
         } catch (Exception e) {
             log.error("❌ Error notifying restaurant for order {}: {}", order.id(), e.getMessage());
         }
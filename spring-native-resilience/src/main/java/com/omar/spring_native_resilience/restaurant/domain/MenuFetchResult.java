@@ -0,0 +1,39 @@
+package com.omar.spring_native_resilience.restaurant.domain;
+
+import java.util.List;
+
+/**
+ * 📋 MenuFetchResult
+ * <p>
+ * Outcome of fetching one restaurant's menu as part of a bulk request.
+ * A bulk response always contains one result per requested restaurant,
+ * so clients can render what succeeded and skip what did not.
+ * </p>
+ *
+ * @param restaurantId Identifier of the requested restaurant
+ * @param status       Per-restaurant outcome
+ * @param menuItems    Available menu items (empty unless {@link Status#OK})
+ * @param error        Short failure reason ({@code null} when {@link Status#OK})
+ */
+public record MenuFetchResult(
+        String restaurantId,
+        Status status,
+        List<MenuItem> menuItems,
+        String error
+) {
+
+    public static MenuFetchResult ok(String restaurantId, List<MenuItem> menuItems) {
+        return new MenuFetchResult(restaurantId, Status.OK, menuItems, null);
+    }
+
+    public static MenuFetchResult failed(String restaurantId, Status status, String error) {
+        return new MenuFetchResult(restaurantId, status, List.of(), error);
+    }
+
+    /**
+     * Per-restaurant outcome of a bulk menu fetch.
+     */
+    public enum Status {
+        OK, FAILED, CIRCUIT_OPEN, TIMED_OUT
+    }
+}
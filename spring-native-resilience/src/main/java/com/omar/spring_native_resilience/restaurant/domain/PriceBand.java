@@ -0,0 +1,32 @@
+package com.omar.spring_native_resilience.restaurant.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * 💲 PriceBand
+ * <p>
+ * Coarse price classification of menu items, used to browse a menu
+ * without scanning and comparing every price.
+ * </p>
+ */
+public enum PriceBand {
+
+    /** Below 10.00 */
+    BUDGET,
+
+    /** From 10.00 up to (but excluding) 20.00 */
+    STANDARD,
+
+    /** 20.00 and above */
+    PREMIUM;
+
+    private static final BigDecimal STANDARD_FROM = new BigDecimal("10.00");
+    private static final BigDecimal PREMIUM_FROM = new BigDecimal("20.00");
+
+    public static PriceBand of(BigDecimal price) {
+        if (price.compareTo(STANDARD_FROM) < 0) {
+            return BUDGET;
+        }
+        return (price.compareTo(PREMIUM_FROM) < 0 ? STANDARD : PREMIUM);
+    }
+}
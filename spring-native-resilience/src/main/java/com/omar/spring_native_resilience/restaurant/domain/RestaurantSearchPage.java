@@ -0,0 +1,14 @@
+package com.omar.spring_native_resilience.restaurant.domain;
+
+import java.util.List;
+
+/**
+ * 🔎 One page of restaurant search results, best rated first.
+ *
+ * @param restaurants Restaurants of this page
+ * @param nextCursor  Opaque cursor to pass back for the next page, or {@code null} on the last page
+ */
+public record RestaurantSearchPage(
+        List<Restaurant> restaurants,
+        String nextCursor
+) {}
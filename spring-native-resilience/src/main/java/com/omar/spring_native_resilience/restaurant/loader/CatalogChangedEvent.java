@@ -0,0 +1,15 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import java.util.Set;
+
+/**
+ * 📣 Published by {@link DataLoader} after a new catalogue state became visible.
+ *
+ * <p>
+ * Lets derived state (e.g. the menu cache) drop exactly the restaurants whose
+ * menu changed, instead of flushing everything.
+ *
+ * @param affectedRestaurantIds restaurants whose data or menu items changed
+ */
+public record CatalogChangedEvent(Set<String> affectedRestaurantIds) {
+}
@@ -0,0 +1,45 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 🔍 Key-level difference between the current and a freshly loaded catalogue map.
+ *
+ * @param added   keys only present in the new data
+ * @param updated keys present in both with a different value
+ * @param removed keys only present in the current data
+ */
+record CatalogDiff(Set<String> added, Set<String> updated, Set<String> removed) {
+
+    static <V> CatalogDiff between(Map<String, V> current, Map<String, V> loaded) {
+        Set<String> added = new HashSet<>();
+        Set<String> updated = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+
+        loaded.forEach((id, value) -> {
+            V existing = current.get(id);
+            if (existing == null) {
+                added.add(id);
+            } else if (!Objects.equals(existing, value)) {
+                updated.add(id);
+            }
+        });
+        for (String id : current.keySet()) {
+            if (!loaded.containsKey(id)) {
+                removed.add(id);
+            }
+        }
+        return new CatalogDiff(added, updated, removed);
+    }
+
+    boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    int size() {
+        return added.size() + updated.size() + removed.size();
+    }
+}
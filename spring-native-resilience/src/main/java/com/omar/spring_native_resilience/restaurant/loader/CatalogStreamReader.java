@@ -0,0 +1,56 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import org.springframework.core.io.Resource;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * 🌊 Streams the records of a JSON array file one at a time.
+ *
+ * <p>
+ * Walks the file with Jackson 3's token-level {@link JsonParser} and binds one array element
+ * at a time, handing each record to the consumer as soon as it is read. Peak memory is one
+ * record plus the parser buffer, instead of an intermediate {@code List} of the whole file.
+ *
+ * <p>
+ * Elements are bound with a reader that has {@code FAIL_ON_TRAILING_TOKENS} disabled: Jackson 3
+ * enables it by default, and the rest of the array would otherwise count as trailing tokens.
+ */
+class CatalogStreamReader {
+
+    private final JsonMapper jsonMapper;
+
+    CatalogStreamReader(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Reads every element of the top-level JSON array in the resource.
+     *
+     * @return the number of records read
+     */
+    <T> long stream(Resource resource, Class<T> type, Consumer<T> consumer) throws IOException {
+        ObjectReader reader = jsonMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        long count = 0;
+        try (InputStream in = resource.getInputStream();
+             JsonParser parser = jsonMapper.createParser(in)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array in " + resource.getDescription());
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(reader.readValue(parser));
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 👀 Polls the catalogue files and triggers {@link DataLoader#reload()} when they change.
+ *
+ * <p>
+ * Disabled unless {@code quickbites.data.watch-interval} is set to a positive duration.
+ * Change detection compares the last-modified time of every matching shard, so adding,
+ * removing or editing a shard file is picked up. Polling works for classpath directories
+ * and {@code file:} locations alike, where a native file-system watch would not.
+ */
+@Component
+public class CatalogWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogWatcher.class);
+
+    private final DataLoader dataLoader;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+    private Map<String, Long> lastSeen = Map.of();
+
+    public CatalogWatcher(DataLoader dataLoader,
+                          @Value("${quickbites.data.watch-interval:PT0S}") Duration interval) {
+        this.dataLoader = dataLoader;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        lastSeen = fingerprint();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("catalog-watcher")
+                .daemon(true)
+                .factory());
+        scheduler.scheduleWithFixedDelay(this::checkForChanges,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("👀 Watching catalogue files every {}", interval);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void checkForChanges() {
+        try {
+            Map<String, Long> current = fingerprint();
+            if (!current.equals(lastSeen)) {
+                log.info("🔄 Catalogue files changed - reloading");
+                dataLoader.reload();
+                lastSeen = current;
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the current snapshot and try again on the next tick
+            log.error("❌ Catalogue reload failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Long> fingerprint() {
+        Map<String, Long> fingerprint = new HashMap<>();
+        try {
+            for (Resource resource : dataLoader.catalogueResources()) {
+                fingerprint.put(resource.getDescription(), resource.lastModified());
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not inspect catalogue files: {}", e.getMessage());
+        }
+        return fingerprint;
+    }
+}
@@ -2,76 +2,432 @@ package com.omar.spring_native_resilience.restaurant.loader;
 
 import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
 import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
 import tools.jackson.core.JacksonException;
-import tools.jackson.core.type.TypeReference;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class DataLoader implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
-    private final JsonMapper jsonMapper;
+    private final CatalogStreamReader streamReader;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
-    private final Map<String, Restaurant> restaurants = new ConcurrentHashMap<>();
-    private final Map<String, MenuItem> menuItems = new ConcurrentHashMap<>();
+    // Each location may match several shard files (e.g. menu-items-001.json, menu-items-002.json)
+    private final String restaurantsLocation;
+    private final String menuItemsLocation;
+    private final boolean parallel;
 
-    public DataLoader(JsonMapper jsonMapper) {
-        this.jsonMapper = jsonMapper;
+    // The whole catalogue is swapped with a single volatile write - readers never see a half-applied reload
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.empty();
+    // Serializes reloads and availability updates, so neither can overwrite the other
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile LoadStats lastLoad = LoadStats.NONE;
+    private volatile int lastChangedEntries;
+
+    public DataLoader(JsonMapper jsonMapper,
+                      MeterRegistry meterRegistry,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${quickbites.data.restaurants:classpath*:data/restaurants*.json}") String restaurantsLocation,
+                      @Value("${quickbites.data.menu-items:classpath*:data/menu-items*.json}") String menuItemsLocation,
+                      @Value("${quickbites.data.parallel:true}") boolean parallel) {
+        this.streamReader = new CatalogStreamReader(jsonMapper);
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.restaurantsLocation = restaurantsLocation;
+        this.menuItemsLocation = menuItemsLocation;
+        this.parallel = parallel;
+
+        Gauge.builder("catalog.load.records", this, d -> d.lastLoad.records())
+                .description("Records read by the last catalogue load")
+                .register(meterRegistry);
+        Gauge.builder("catalog.load.duration", this, d -> d.lastLoad.duration().toMillis())
+                .description("Duration of the last catalogue load in milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("catalog.load.throughput", this, d -> d.lastLoad.recordsPerSecond())
+                .description("Records per second of the last catalogue load")
+                .register(meterRegistry);
+        Gauge.builder("catalog.load.peak.heap", this, d -> d.lastLoad.peakHeapBytes())
+                .description("Peak heap usage in bytes observed during the last catalogue load")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.reload.changed.entries", this, d -> d.lastChangedEntries)
+                .description("Restaurants and menu items changed by the last reload")
+                .register(meterRegistry);
     }
 
     @Override
     public void run(String... args) throws Exception {
         log.info("🚀 Loading Restaurant Data from JSON files...");
-        loadData();
+        reload();
         log.info("✅ Data loading completed successfully");
     }
 
-    private void loadData() {
+    /**
+     * Re-reads the catalogue files and applies only what changed.
+     *
+     * <p>
+     * The new data is streamed into fresh maps and diffed against the current snapshot; those
+     * maps become the next snapshot as they are. Unchanged restaurants keep their existing menu
+     * index; only added/updated/removed restaurants, and restaurants owning changed menu items,
+     * are re-indexed. The result is published in one volatile write, so readers either see the
+     * previous catalogue or the new one - never a mix.
+     *
+     * <p>
+     * The initial startup load is simply a reload against an empty catalogue.
+     *
+     * @return what the reload changed
+     */
+    public ReloadReport reload() {
+        writeLock.lock();
         try {
-            // Load restaurants using Jackson 3's JsonMapper
-            var restaurantsResource = new ClassPathResource("data/restaurants.json");
-            List<Restaurant> restaurantList = jsonMapper.readValue(restaurantsResource.getInputStream(), new TypeReference<>() {});
-            restaurantList.forEach(r -> restaurants.put(r.id(), r));
-            log.info("  → Loaded {} restaurants", restaurants.size());
-
-            // Load menu items using Jackson 3's JsonMapper
-            ClassPathResource menuItemsResource = new ClassPathResource("data/menu-items.json");
-            List<MenuItem> menuItemList = jsonMapper.readValue(menuItemsResource.getInputStream(), new TypeReference<>() {});
-            menuItemList.forEach(m -> menuItems.put(m.id(), m));
-            log.info("  → Loaded {} menu items", menuItems.size());
+            Timer.Sample sample = Timer.start(meterRegistry);
+            resetHeapPeaks();
+            long start = System.nanoTime();
+
+            Map<String, Restaurant> loadedRestaurants = new ConcurrentHashMap<>();
+            Map<String, MenuItem> loadedMenuItems = new ConcurrentHashMap<>();
+            long records = readCatalogue(loadedRestaurants, loadedMenuItems);
+
+            CatalogSnapshot current = snapshot;
+            CatalogDiff restaurantDiff = CatalogDiff.between(current.restaurants(), loadedRestaurants);
+            CatalogDiff menuItemDiff = CatalogDiff.between(current.menuItems(), loadedMenuItems);
+            Set<String> affected = affectedRestaurants(current, loadedMenuItems, restaurantDiff, menuItemDiff);
+
+            if (!restaurantDiff.isEmpty() || !menuItemDiff.isEmpty()) {
+                snapshot = current.apply(loadedRestaurants, restaurantDiff, loadedMenuItems, menuItemDiff, affected);
+            }
+
+            lastLoad = new LoadStats(records, Duration.ofNanos(System.nanoTime() - start), peakHeapUsed());
+            lastChangedEntries = restaurantDiff.size() + menuItemDiff.size();
+            sample.stop(meterRegistry.timer("catalog.reload"));
+            recordChanges("restaurant", restaurantDiff);
+            recordChanges("menu-item", menuItemDiff);
+
+            ReloadReport report = new ReloadReport(
+                    restaurantDiff.added().size(), restaurantDiff.updated().size(), restaurantDiff.removed().size(),
+                    menuItemDiff.added().size(), menuItemDiff.updated().size(), menuItemDiff.removed().size(),
+                    affected.size(), lastLoad.duration().toMillis());
+
+            log.info("  → Catalogue now has {} restaurants and {} menu items",
+                    snapshot.restaurants().size(), snapshot.menuItems().size());
+            log.info("  → Read {} records in {}ms ({} records/s, peak heap {} MB), {} restaurants re-indexed",
+                    lastLoad.records(), lastLoad.duration().toMillis(), Math.round(lastLoad.recordsPerSecond()),
+                    lastLoad.peakHeapBytes() / (1024 * 1024), affected.size());
+
+            if (!affected.isEmpty()) {
+                eventPublisher.publishEvent(new CatalogChangedEvent(Set.copyOf(affected)));
+            }
+            return report;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Streams every restaurant and menu item shard straight into the given maps.
+     *
+     * <p>
+     * Records are inserted as they are parsed, so the full file is never held as a {@code List}.
+     * With {@code quickbites.data.parallel=true}, each shard file is parsed on its own core.
+     */
+    private long readCatalogue(Map<String, Restaurant> restaurants, Map<String, MenuItem> menuItems) {
+        LongAdder records = new LongAdder();
+        try {
+            List<ShardTask> tasks = new ArrayList<>();
+            for (Resource shard : resourceResolver.getResources(restaurantsLocation)) {
+                tasks.add(new ShardTask(shard, () -> records.add(
+                        streamReader.stream(shard, Restaurant.class, r -> restaurants.put(r.id(), r)))));
+            }
+            for (Resource shard : resourceResolver.getResources(menuItemsLocation)) {
+                tasks.add(new ShardTask(shard, () -> records.add(
+                        streamReader.stream(shard, MenuItem.class, m -> menuItems.put(m.id(), m)))));
+            }
+            runShards(tasks);
 
         } catch (JacksonException e) {
             log.error("Failed to load data from JSON files", e);
             throw e;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
+        }
+        return records.sum();
+    }
+
+    /**
+     * All shard files currently matching the restaurant and menu item locations.
+     */
+    List<Resource> catalogueResources() throws IOException {
+        List<Resource> resources = new ArrayList<>();
+        Collections.addAll(resources, resourceResolver.getResources(restaurantsLocation));
+        Collections.addAll(resources, resourceResolver.getResources(menuItemsLocation));
+        return resources;
+    }
+
+    private static Set<String> affectedRestaurants(CatalogSnapshot current, Map<String, MenuItem> loadedMenuItems,
+                                                   CatalogDiff restaurantDiff, CatalogDiff menuItemDiff) {
+        Set<String> affected = new HashSet<>();
+        affected.addAll(restaurantDiff.added());
+        affected.addAll(restaurantDiff.updated());
+        affected.addAll(restaurantDiff.removed());
+        for (String itemId : menuItemDiff.added()) {
+            affected.add(loadedMenuItems.get(itemId).restaurantId());
+        }
+        for (String itemId : menuItemDiff.updated()) {
+            affected.add(loadedMenuItems.get(itemId).restaurantId());
+            affected.add(current.menuItems().get(itemId).restaurantId());
+        }
+        for (String itemId : menuItemDiff.removed()) {
+            affected.add(current.menuItems().get(itemId).restaurantId());
+        }
+        affected.remove(null);
+        return affected;
+    }
+
+    private void recordChanges(String type, CatalogDiff diff) {
+        meterRegistry.counter("catalog.reload.changes", "type", type, "change", "added").increment(diff.added().size());
+        meterRegistry.counter("catalog.reload.changes", "type", type, "change", "updated").increment(diff.updated().size());
+        meterRegistry.counter("catalog.reload.changes", "type", type, "change", "removed").increment(diff.removed().size());
+    }
+
+    private void runShards(List<ShardTask> tasks) throws IOException {
+        if (!parallel || tasks.size() < 2) {
+            for (ShardTask task : tasks) {
+                task.run();
+            }
+            return;
+        }
+
+        int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>(tasks.size());
+            for (ShardTask task : tasks) {
+                futures.add(executor.submit(() -> {
+                    task.run();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading catalogue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JacksonException jacksonException) {
+                throw jacksonException;
+            }
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("Failed to load catalogue shard", e.getCause());
+        }
+    }
+
+    private static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapUsed() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
         }
+        return peak;
     }
 
     // helper methods for outside classes to access data
     public Map<String, Restaurant> getRestaurants() {
-        return restaurants;
+        return Collections.unmodifiableMap(snapshot.restaurants());
     }
 
     public Map<String, MenuItem> getMenuItems() {
-        return menuItems;
+        return Collections.unmodifiableMap(snapshot.menuItems());
     }
 
     public Restaurant getRestaurant(String id) {
-        return restaurants.get(id);
+        return snapshot.restaurants().get(id);
     }
 
     public MenuItem getMenuItem(String id) {
-        return menuItems.get(id);
+        return snapshot.menuItems().get(id);
+    }
+
+    /**
+     * Returns the precomputed available menu of a restaurant, or {@code null} if the restaurant is unknown.
+     */
+    public RestaurantMenuIndex getMenuIndex(String restaurantId) {
+        return snapshot.menuIndex().get(restaurantId);
+    }
+
+    /**
+     * Changes the availability of a menu item and rebuilds only its restaurant's index entry.
+     *
+     * <p>
+     * The item and the index entry are published together as a new snapshot, so readers never
+     * see the new item next to the old index. Updates are serialized with reloads so none of
+     * them is lost.
+     *
+     * @return the updated item, or {@code null} if the item does not exist
+     */
+    public MenuItem updateAvailability(String itemId, boolean available) {
+        writeLock.lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            MenuItem item = current.menuItems().get(itemId);
+            if (item == null) {
+                return null;
+            }
+            MenuItem updated = new MenuItem(item.id(), item.restaurantId(), item.name(), item.description(),
+                    item.price(), item.category(), available);
+            snapshot = current.withMenuItem(updated);
+            eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(updated.restaurantId())));
+            return updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Statistics of the last catalogue load.
+     */
+    public LoadStats getLastLoad() {
+        return lastLoad;
+    }
+
+    public record LoadStats(long records, Duration duration, long peakHeapBytes) {
+
+        static final LoadStats NONE = new LoadStats(0, Duration.ZERO, 0);
+
+        public double recordsPerSecond() {
+            long nanos = duration.toNanos();
+            return (nanos == 0 ? 0 : records * 1_000_000_000.0 / nanos);
+        }
+    }
+
+    /**
+     * Outcome of a catalogue reload.
+     */
+    public record ReloadReport(int restaurantsAdded, int restaurantsUpdated, int restaurantsRemoved,
+                               int menuItemsAdded, int menuItemsUpdated, int menuItemsRemoved,
+                               int restaurantsReindexed, long durationMs) {
+    }
+
+    /**
+     * One consistent catalogue state. Published maps are never mutated: reloads and availability
+     * updates build the next snapshot and swap it in whole.
+     */
+    private record CatalogSnapshot(Map<String, Restaurant> restaurants,
+                                   Map<String, MenuItem> menuItems,
+                                   Map<String, RestaurantMenuIndex> menuIndex) {
+
+        static CatalogSnapshot empty() {
+            return new CatalogSnapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        /**
+         * Builds the next snapshot around the freshly loaded maps, which already hold the complete
+         * new catalogue - only the menu index is carried over. On the initial load every restaurant
+         * is indexed; afterwards unchanged restaurants keep their existing (immutable) index objects.
+         */
+        CatalogSnapshot apply(Map<String, Restaurant> loadedRestaurants, CatalogDiff restaurantDiff,
+                              Map<String, MenuItem> loadedMenuItems, CatalogDiff menuItemDiff,
+                              Set<String> affectedRestaurants) {
+            if (restaurants.isEmpty() && menuItems.isEmpty()) {
+                Map<String, RestaurantMenuIndex> nextMenuIndex = new ConcurrentHashMap<>();
+                loadedRestaurants.forEach((id, restaurant) ->
+                        nextMenuIndex.put(id, RestaurantMenuIndex.of(restaurant, loadedMenuItems::get)));
+                return new CatalogSnapshot(loadedRestaurants, loadedMenuItems, nextMenuIndex);
+            }
+
+            // Kept indexes reference the current instances - swap them back in for the equal reloaded copies
+            keepUnchanged(loadedRestaurants, restaurants, restaurantDiff);
+            keepUnchanged(loadedMenuItems, menuItems, menuItemDiff);
+
+            Map<String, RestaurantMenuIndex> nextMenuIndex = new ConcurrentHashMap<>(menuIndex);
+            for (String restaurantId : affectedRestaurants) {
+                Restaurant restaurant = loadedRestaurants.get(restaurantId);
+                if (restaurant == null) {
+                    nextMenuIndex.remove(restaurantId);
+                } else {
+                    nextMenuIndex.put(restaurantId, RestaurantMenuIndex.of(restaurant, loadedMenuItems::get));
+                }
+            }
+            return new CatalogSnapshot(loadedRestaurants, loadedMenuItems, nextMenuIndex);
+        }
+
+        private static <V> void keepUnchanged(Map<String, V> loaded, Map<String, V> current, CatalogDiff diff) {
+            loaded.replaceAll((id, value) ->
+                    (diff.added().contains(id) || diff.updated().contains(id) ? value : current.get(id)));
+        }
+
+        /**
+         * Replaces one menu item and re-indexes its restaurant. The map copies are shallow, and
+         * availability changes are rare operator actions, so their cost stays well below a reload.
+         */
+        CatalogSnapshot withMenuItem(MenuItem item) {
+            Map<String, MenuItem> nextMenuItems = new ConcurrentHashMap<>(menuItems);
+            nextMenuItems.put(item.id(), item);
+
+            Map<String, RestaurantMenuIndex> nextMenuIndex = new ConcurrentHashMap<>(menuIndex);
+            Restaurant restaurant = restaurants.get(item.restaurantId());
+            if (restaurant != null) {
+                nextMenuIndex.put(restaurant.id(), RestaurantMenuIndex.of(restaurant, nextMenuItems::get));
+            }
+            return new CatalogSnapshot(restaurants, nextMenuItems, nextMenuIndex);
+        }
+    }
+
+    private record ShardTask(Resource shard, ShardLoader loader) {
+
+        void run() throws IOException {
+            log.debug("  → Streaming {}", shard.getFilename());
+            loader.load();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardLoader {
+        void load() throws IOException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.domain.PriceBand;
+import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 📇 Immutable, precomputed view of one restaurant's <b>available</b> menu.
+ *
+ * <p>
+ * Built once per restaurant so menu reads are a single map lookup instead of a
+ * per-request stream over item IDs. Secondary indexes by category and
+ * {@link PriceBand} are built in the same pass.
+ *
+ * @param availableItems available items, in the restaurant's menu order
+ * @param byCategory     available items grouped by category
+ * @param byPriceBand    available items grouped by price band
+ */
+public record RestaurantMenuIndex(
+        List<MenuItem> availableItems,
+        Map<String, List<MenuItem>> byCategory,
+        Map<PriceBand, List<MenuItem>> byPriceBand
+) {
+
+    /**
+     * Builds the index for a restaurant by resolving its menu item IDs.
+     */
+    public static RestaurantMenuIndex of(Restaurant restaurant, Function<String, MenuItem> itemLookup) {
+        List<MenuItem> available = new ArrayList<>(restaurant.menuItemIds().size());
+        Map<String, List<MenuItem>> byCategory = new HashMap<>();
+        Map<PriceBand, List<MenuItem>> byPriceBand = new EnumMap<>(PriceBand.class);
+
+        for (String itemId : restaurant.menuItemIds()) {
+            MenuItem item = itemLookup.apply(itemId);
+            if (item == null || !item.available()) {
+                continue;
+            }
+            available.add(item);
+            if (item.category() != null) {
+                byCategory.computeIfAbsent(item.category(), c -> new ArrayList<>()).add(item);
+            }
+            byPriceBand.computeIfAbsent(PriceBand.of(item.price()), b -> new ArrayList<>()).add(item);
+        }
+
+        byCategory.replaceAll((category, items) -> List.copyOf(items));
+        byPriceBand.replaceAll((band, items) -> List.copyOf(items));
+        return new RestaurantMenuIndex(
+                List.copyOf(available),
+                Map.copyOf(byCategory),
+                Collections.unmodifiableMap(byPriceBand));
+    }
+
+    public List<MenuItem> inCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<MenuItem> inPriceBand(PriceBand priceBand) {
+        return byPriceBand.getOrDefault(priceBand, List.of());
+    }
+}
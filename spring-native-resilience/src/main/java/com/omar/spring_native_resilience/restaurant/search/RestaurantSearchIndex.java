@@ -0,0 +1,242 @@
+package com.omar.spring_native_resilience.restaurant.search;
+
+import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 📇 Immutable search indexes over the restaurant catalogue.
+ *
+ * <p>
+ * Every index keeps restaurants in the same <b>ranking</b> order - rating descending, then id - so any of
+ * them can drive a query and stop early:
+ * <ul>
+ *     <li>⭐ <b>Rating</b> - a {@link NavigableMap} over the whole catalogue</li>
+ *     <li>🍝 <b>Cuisine</b> - an inverted index, cuisine → ranked restaurants</li>
+ *     <li>🔤 <b>Name prefix</b> - a trie whose nodes hold the ranked restaurants below them</li>
+ * </ul>
+ * A query walks the smallest index matching one of its filters, seeks past the cursor with a binary search,
+ * checks the other filters on each candidate and stops as soon as the page is full or ratings drop below
+ * {@code minRating}. "Italian, rating ≥ 4.5, name starts with 'Pi'" therefore only touches Italian
+ * restaurants rated 4.5 or more, never the whole catalogue.
+ *
+ * <p>
+ * Built once per catalogue change and never mutated, so searches need no locking.
+ */
+public final class RestaurantSearchIndex {
+
+    /**
+     * Nodes deeper than this are not created: longer prefixes use the deepest node and are checked per candidate.
+     */
+    private static final int MAX_TRIE_DEPTH = 16;
+    private static final Restaurant[] NONE = new Restaurant[0];
+    private static final Comparator<Restaurant> RANKING = Comparator
+            .comparingDouble(Restaurant::rating).reversed()
+            .thenComparing(Restaurant::id);
+
+    private final Map<String, Restaurant> byId;
+    private final NavigableMap<Cursor, Restaurant> byRating;
+    private final Map<String, Restaurant[]> byCuisine;
+    private final TrieNode byName;
+
+    private RestaurantSearchIndex(Map<String, Restaurant> byId, NavigableMap<Cursor, Restaurant> byRating,
+                                  Map<String, Restaurant[]> byCuisine, TrieNode byName) {
+        this.byId = byId;
+        this.byRating = byRating;
+        this.byCuisine = byCuisine;
+        this.byName = byName;
+    }
+
+    public static RestaurantSearchIndex of(Collection<Restaurant> restaurants) {
+        List<Restaurant> ranked = new ArrayList<>(restaurants);
+        ranked.sort(RANKING);
+
+        Map<String, Restaurant> byId = new HashMap<>();
+        NavigableMap<Cursor, Restaurant> byRating = new TreeMap<>();
+        Map<String, List<Restaurant>> byCuisine = new HashMap<>();
+        TrieNode byName = new TrieNode();
+
+        // Inserting in ranking order keeps every posting list sorted without a sort per list
+        for (Restaurant restaurant : ranked) {
+            byId.put(restaurant.id(), restaurant);
+            byRating.put(Cursor.of(restaurant), restaurant);
+            if (restaurant.cuisine() != null) {
+                byCuisine.computeIfAbsent(normalize(restaurant.cuisine()), c -> new ArrayList<>()).add(restaurant);
+            }
+            if (restaurant.name() != null) {
+                byName.insert(normalize(restaurant.name()), restaurant);
+            }
+        }
+
+        Map<String, Restaurant[]> cuisineIndex = new HashMap<>();
+        byCuisine.forEach((cuisine, list) -> cuisineIndex.put(cuisine, list.toArray(NONE)));
+        byName.freeze();
+        return new RestaurantSearchIndex(byId, byRating, cuisineIndex, byName);
+    }
+
+    /**
+     * Returns up to {@code limit} restaurants matching every given filter, best rated first.
+     *
+     * @param cuisine    exact cuisine, case-insensitive, or {@code null}
+     * @param minRating  lowest rating included, or {@code null}
+     * @param namePrefix start of the name, case-insensitive, or {@code null}
+     * @param after      cursor of the last restaurant of the previous page, or {@code null} for the first page
+     */
+    public Result search(String cuisine, Double minRating, String namePrefix, Cursor after, int limit) {
+        String normalizedCuisine = (cuisine == null || cuisine.isBlank() ? null : normalize(cuisine));
+        String normalizedPrefix = (namePrefix == null || namePrefix.isBlank() ? null : normalize(namePrefix));
+        double lowestRating = (minRating == null ? Double.NEGATIVE_INFINITY : minRating);
+
+        // 🧭 Drive the query with the smallest candidate list
+        Restaurant[] candidates = null;
+        if (normalizedCuisine != null) {
+            candidates = byCuisine.getOrDefault(normalizedCuisine, NONE);
+        }
+        if (normalizedPrefix != null) {
+            Restaurant[] named = byName.find(normalizedPrefix);
+            candidates = (candidates == null || named.length < candidates.length ? named : candidates);
+        }
+        Iterable<Restaurant> source = (candidates != null
+                ? Arrays.asList(candidates).subList(firstAfter(candidates, after), candidates.length)
+                : (after == null ? byRating : byRating.tailMap(after, false)).values());
+
+        List<Restaurant> page = new ArrayList<>(Math.min(limit, 64));
+        int scanned = 0;
+        for (Restaurant restaurant : source) {
+            if (restaurant.rating() < lowestRating) {
+                break; // ranked by rating: nothing further can match
+            }
+            scanned++;
+            if (matches(restaurant, normalizedCuisine, normalizedPrefix)) {
+                page.add(restaurant);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        Cursor next = (page.size() == limit ? Cursor.of(page.getLast()) : null);
+        return new Result(page, next, scanned);
+    }
+
+    public Restaurant get(String restaurantId) {
+        return byId.get(restaurantId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private static boolean matches(Restaurant restaurant, String cuisine, String namePrefix) {
+        return (cuisine == null || (restaurant.cuisine() != null && restaurant.cuisine().strip().equalsIgnoreCase(cuisine)))
+                && (namePrefix == null || (restaurant.name() != null
+                && restaurant.name().regionMatches(true, 0, namePrefix, 0, namePrefix.length())));
+    }
+
+    /**
+     * Index of the first restaurant ranked after {@code cursor}.
+     */
+    private static int firstAfter(Restaurant[] ranked, Cursor cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = ranked.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Cursor.of(ranked[mid]).compareTo(cursor) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String value) {
+        return (value == null ? null : value.strip().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Position of a restaurant in the ranking, also used as the paging cursor.
+     */
+    public record Cursor(double rating, String id) implements Comparable<Cursor> {
+
+        static Cursor of(Restaurant restaurant) {
+            return new Cursor(restaurant.rating(), restaurant.id());
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byRating = Double.compare(other.rating, rating);
+            return (byRating != 0 ? byRating : id.compareTo(other.id));
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((rating + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the value was not produced by {@link #encode()}
+         */
+        public static Cursor decode(String value) {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + value);
+            }
+            return new Cursor(Double.parseDouble(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        }
+    }
+
+    /**
+     * @param restaurants matching restaurants of the page
+     * @param next        cursor for the next page, {@code null} when this page is not full
+     * @param scanned     candidates examined to build the page
+     */
+    public record Result(List<Restaurant> restaurants, Cursor next, int scanned) {
+    }
+
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private List<Restaurant> collecting = new ArrayList<>();
+        private Restaurant[] ranked = NONE;
+
+        void insert(String name, Restaurant restaurant) {
+            TrieNode node = this;
+            for (int i = 0; i < Math.min(name.length(), MAX_TRIE_DEPTH); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new TrieNode());
+                node.collecting.add(restaurant);
+            }
+        }
+
+        Restaurant[] find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < Math.min(prefix.length(), MAX_TRIE_DEPTH); i++) {
+                node = node.children.get(prefix.charAt(i));
+                if (node == null) {
+                    return NONE;
+                }
+            }
+            return node.ranked;
+        }
+
+        void freeze() {
+            ranked = collecting.toArray(NONE);
+            collecting = null;
+            children.values().forEach(TrieNode::freeze);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.omar.spring_native_resilience.restaurant.search;
+
+import com.omar.spring_native_resilience.restaurant.domain.RestaurantSearchPage;
+import com.omar.spring_native_resilience.restaurant.loader.CatalogChangedEvent;
+import com.omar.spring_native_resilience.restaurant.loader.DataLoader;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔎 Restaurant search by cuisine, minimum rating and name prefix, with cursor paging.
+ *
+ * <p>
+ * Queries run against a {@link RestaurantSearchIndex} instead of the catalogue map. The index is rebuilt
+ * when a {@link CatalogChangedEvent} touches restaurant data, and published with a single volatile write;
+ * changes that only affect menu items (e.g. availability updates) leave it untouched.
+ */
+@Service
+public class RestaurantSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantSearchService.class);
+
+    private final DataLoader dataLoader;
+    private final Timer searchLatency;
+    private final DistributionSummary scanned;
+    private final Timer rebuildLatency;
+
+    private volatile RestaurantSearchIndex index;
+
+    public RestaurantSearchService(DataLoader dataLoader, MeterRegistry meterRegistry) {
+        this.dataLoader = dataLoader;
+        this.searchLatency = Timer.builder("restaurant.search")
+                .description("Latency of indexed restaurant searches")
+                .register(meterRegistry);
+        this.scanned = DistributionSummary.builder("restaurant.search.scanned")
+                .description("Candidates examined per search page")
+                .register(meterRegistry);
+        this.rebuildLatency = Timer.builder("restaurant.search.index.rebuild").register(meterRegistry);
+        this.index = RestaurantSearchIndex.of(dataLoader.getRestaurants().values());
+    }
+
+    /**
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public RestaurantSearchPage search(String cuisine, Double minRating, String namePrefix, String cursor, int limit) {
+        long start = System.nanoTime();
+        RestaurantSearchIndex.Cursor after = (cursor == null || cursor.isBlank() ? null : RestaurantSearchIndex.Cursor.decode(cursor));
+        RestaurantSearchIndex.Result result = index.search(cuisine, minRating, namePrefix, after, limit);
+        searchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        scanned.record(result.scanned());
+        return new RestaurantSearchPage(result.restaurants(), (result.next() == null ? null : result.next().encode()));
+    }
+
+    /**
+     * Rebuilds the index if the change touched restaurants themselves, not only their menus.
+     * Published by the loader under its write lock, so rebuilds never run concurrently.
+     */
+    @EventListener
+    void onCatalogChanged(CatalogChangedEvent event) {
+        RestaurantSearchIndex current = index;
+        boolean restaurantsChanged = event.affectedRestaurantIds().stream()
+                .anyMatch(id -> !Objects.equals(current.get(id), dataLoader.getRestaurant(id)));
+        if (!restaurantsChanged) {
+            return;
+        }
+        long start = System.nanoTime();
+        index = RestaurantSearchIndex.of(dataLoader.getRestaurants().values());
+        long nanos = System.nanoTime() - start;
+        rebuildLatency.record(nanos, TimeUnit.NANOSECONDS);
+        log.info("🔎 Restaurant search index rebuilt: {} restaurants in {}ms", index.size(), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+}
@@ -0,0 +1,128 @@
+package com.omar.spring_native_resilience.restaurant.service;
+
+import com.omar.spring_native_resilience.restaurant.cache.MenuCache;
+import com.omar.spring_native_resilience.restaurant.domain.MenuFetchResult;
+import com.omar.spring_native_resilience.restaurant.domain.MenuFetchResult.Status;
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.resilience.circuitbreaker.CallNotPermittedException;
+import com.omar.spring_native_resilience.resilience.deadline.Deadline;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineContext;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 📦 Fetches menus for many restaurants at once.
+ *
+ * <p>
+ * Each restaurant is fetched on its own virtual thread, all bound to the lifetime of the request:
+ * <ul>
+ *     <li>⏱️ One deadline for the whole request – whatever is not done by then is reported as timed out</li>
+ *     <li>🚦 A shared semaphore bounds concurrent fetches toward the partner across all bulk requests</li>
+ *     <li>🧩 Partial results – every restaurant gets its own {@link Status}</li>
+ * </ul>
+ *
+ * <p>
+ * Fetches go through {@link MenuCache}, so cached menus return immediately and concurrent
+ * requests for the same restaurant are coalesced. A partner load may therefore be shared with
+ * other requests: at the deadline the bulk request only stops waiting for it and never interrupts
+ * it. Each fetch carries the deadline, so its thread and permit are freed on time regardless.
+ */
+@Service
+public class BulkMenuService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkMenuService.class);
+
+    private final MenuCache menuCache;
+    private final Semaphore partnerPermits;
+
+    public BulkMenuService(MenuCache menuCache,
+                           @Value("${quickbites.bulk-menu.max-concurrency:16}") int maxConcurrency) {
+        this.menuCache = menuCache;
+        this.partnerPermits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Fetches the menus of the given restaurants concurrently.
+     *
+     * @param restaurantIds restaurants to fetch (duplicates are fetched once)
+     * @param deadline      time budget for the whole request
+     * @return one result per distinct restaurant, in request order
+     */
+    public List<MenuFetchResult> fetchMenus(List<String> restaurantIds, Duration deadline) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Map<String, Future<List<MenuItem>>> fetches = new LinkedHashMap<>();
+
+        ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            // Each fetch carries the request deadline, so partner retries stop scheduling past it
+            Deadline requestDeadline = new Deadline(deadlineNanos).earlierOf(DeadlineContext.current());
+            for (String restaurantId : new LinkedHashSet<>(restaurantIds)) {
+                fetches.put(restaurantId, scope.submit(() -> DeadlineContext.callWith(
+                        requestDeadline, () -> fetchWithPermit(restaurantId, deadlineNanos))));
+            }
+
+            List<MenuFetchResult> results = new ArrayList<>(fetches.size());
+            for (Map.Entry<String, Future<List<MenuItem>>> fetch : fetches.entrySet()) {
+                results.add(await(fetch.getKey(), fetch.getValue(), deadlineNanos));
+            }
+            return results;
+        } finally {
+            // Anything still running is past the deadline and returns on its own: don't wait for it,
+            // and don't interrupt it either - it may be waiting on a load shared with other requests
+            scope.shutdown();
+        }
+    }
+
+    private List<MenuItem> fetchWithPermit(String restaurantId, long deadlineNanos) throws Exception {
+        if (!partnerPermits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("No partner permit before deadline");
+        }
+        try {
+            return menuCache.getMenu(restaurantId);
+        } finally {
+            partnerPermits.release();
+        }
+    }
+
+    private MenuFetchResult await(String restaurantId, Future<List<MenuItem>> fetch, long deadlineNanos) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            return MenuFetchResult.ok(restaurantId, fetch.get(remaining, TimeUnit.NANOSECONDS));
+
+        } catch (TimeoutException e) {
+            return MenuFetchResult.failed(restaurantId, Status.TIMED_OUT, "Deadline exceeded");
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CallNotPermittedException) {
+                return MenuFetchResult.failed(restaurantId, Status.CIRCUIT_OPEN, cause.getMessage());
+            }
+            if (cause instanceof TimeoutException || cause instanceof DeadlineExceededException) {
+                return MenuFetchResult.failed(restaurantId, Status.TIMED_OUT, cause.getMessage());
+            }
+            log.warn("⚠️ Bulk menu fetch failed for {}: {}", restaurantId, cause.getMessage());
+            return MenuFetchResult.failed(restaurantId, Status.FAILED, cause.getMessage());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return MenuFetchResult.failed(restaurantId, Status.TIMED_OUT, "Interrupted");
+        }
+    }
+}
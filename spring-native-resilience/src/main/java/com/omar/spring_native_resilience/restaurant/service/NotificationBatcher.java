@@ -0,0 +1,190 @@
+package com.omar.spring_native_resilience.restaurant.service;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📦 Coalesces order notifications per restaurant into batched webhook calls.
+ *
+ * <p>
+ * During a lunch rush the same restaurant receives many orders a minute, and every single
+ * notification costs a 2-second webhook call. Orders submitted here are buffered per
+ * {@code restaurantId} and sent with one {@link RestaurantNotificationService#notifyRestaurantBatch} call:
+ * <ul>
+ *     <li>⏱️ <b>Time flush</b> – a batch is sent at the latest {@code window} after its first order</li>
+ *     <li>📏 <b>Size flush</b> – a batch reaching {@code max-batch-size} is sent immediately</li>
+ *     <li>🧱 <b>Bounded memory</b> – at most {@code max-pending} orders are buffered or in delivery;
+ *     further submissions fail fast with a {@link BulkheadFullException}</li>
+ * </ul>
+ *
+ * <p>
+ * Each submission returns a future completed when its batch was delivered (or failed).
+ *
+ * <p>
+ * Metrics: {@code notifications.batch.size}, {@code notifications.batches{outcome}},
+ * {@code notifications.delivery} (submission → delivery latency), {@code notifications.pending}
+ * and {@code notifications.rejected}.
+ */
+@Component
+public class NotificationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBatcher.class);
+
+    private final RestaurantNotificationService notificationService;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final int maxPending;
+
+    private final ConcurrentHashMap<String, Batch> batches = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("notification-flush").daemon().factory());
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final DistributionSummary batchSize;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer deliveryLatency;
+
+    public NotificationBatcher(RestaurantNotificationService notificationService,
+                               MeterRegistry meterRegistry,
+                               @Value("${quickbites.notification-batching.window:PT0.5S}") Duration window,
+                               @Value("${quickbites.notification-batching.max-batch-size:20}") int maxBatchSize,
+                               @Value("${quickbites.notification-batching.max-pending:10000}") int maxPending) {
+        this.notificationService = notificationService;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+
+        this.batchSize = DistributionSummary.builder("notifications.batch.size")
+                .description("Orders per delivered notification")
+                .register(meterRegistry);
+        this.delivered = meterRegistry.counter("notifications.batches", "outcome", "delivered");
+        this.failed = meterRegistry.counter("notifications.batches", "outcome", "failed");
+        this.rejected = meterRegistry.counter("notifications.rejected");
+        this.deliveryLatency = Timer.builder("notifications.delivery")
+                .description("Time from submission to delivered notification")
+                .register(meterRegistry);
+        Gauge.builder("notifications.pending", pending, AtomicInteger::get)
+                .description("Orders buffered or being delivered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the order for the next notification of its restaurant.
+     *
+     * @return a future completed once the batch holding this order has been delivered
+     */
+    public CompletableFuture<Void> submit(Order order) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new BulkheadFullException(
+                    "notificationBatcher", "more than " + maxPending + " orders pending"));
+        }
+
+        Pending entry = new Pending(order, System.nanoTime(), new CompletableFuture<>());
+        Batch[] full = new Batch[1];
+        batches.compute(order.restaurantId(), (restaurantId, batch) -> {
+            if (batch == null) {
+                batch = new Batch(restaurantId);
+                Batch scheduled = batch;
+                batch.flushTimer = flushScheduler.schedule(
+                        () -> flushIfCurrent(scheduled), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.entries.add(entry);
+            if (batch.entries.size() >= maxBatchSize) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (full[0] != null) {
+            full[0].flushTimer.cancel(false);
+            deliver(full[0]);
+        }
+        return entry.delivery();
+    }
+
+    /**
+     * Sends whatever is still buffered before shutting down.
+     */
+    @PreDestroy
+    void shutdown() {
+        flushScheduler.shutdownNow();
+        batches.values().forEach(this::flushIfCurrent);
+        deliveryExecutor.close();
+    }
+
+    private void flushIfCurrent(Batch batch) {
+        if (batches.remove(batch.restaurantId, batch)) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(Batch batch) {
+        deliveryExecutor.execute(() -> {
+            List<Order> orders = batch.entries.stream().map(Pending::order).toList();
+            try {
+                notificationService.notifyRestaurantBatch(batch.restaurantId, orders);
+                delivered.increment();
+                batchSize.record(orders.size());
+                long now = System.nanoTime();
+                for (Pending entry : batch.entries) {
+                    deliveryLatency.record(now - entry.submittedAtNanos(), TimeUnit.NANOSECONDS);
+                    entry.delivery().complete(null);
+                }
+            } catch (Throwable e) {
+                // Errors included, or the callers would wait on their futures forever
+                failed.increment();
+                log.warn("❌ Batched notification of {} orders to {} failed: {}",
+                        orders.size(), batch.restaurantId, e.getMessage());
+                batch.entries.forEach(entry -> entry.delivery().completeExceptionally(e));
+            } finally {
+                pending.addAndGet(-orders.size());
+            }
+        });
+    }
+
+    private record Pending(Order order, long submittedAtNanos, CompletableFuture<Void> delivery) {
+    }
+
+    /**
+     * Orders waiting for one restaurant. Only mutated inside {@code compute}; once removed
+     * from the map it is handed to a single delivery task.
+     */
+    private static final class Batch {
+
+        final String restaurantId;
+        final List<Pending> entries = new ArrayList<>();
+        ScheduledFuture<?> flushTimer;
+
+        Batch(String restaurantId) {
+            this.restaurantId = restaurantId;
+        }
+    }
+}
@@ -2,42 +2,69 @@ package com.omar.spring_native_resilience.restaurant.service;
 
 
 import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.annotation.AdaptiveConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.annotation.KeyedConcurrencyLimit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.resilience.annotation.ConcurrencyLimit;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalTime;
+import java.util.List;
 
 /**
  * 📢 Service for sending notifications to restaurants about new orders.
  *
  * <p>
- * Demonstrates Spring Boot 4's built-in concurrency control using {@link ConcurrencyLimit}.
  * Limits the number of concurrent notifications to prevent overwhelming external systems.
+ * A static limit such as {@code @ConcurrencyLimit(3)} is a guess, though: too low when the webhook
+ * is fast, too high when it degrades. This service therefore uses {@link AdaptiveConcurrencyLimit},
+ * which starts at 3 and moves the limit between 2 and 20 based on observed latency and errors.
+ * It is declared once on the class, so single and batched notifications share one limit.
  *
  * <p>
- * Example: If @ConcurrencyLimit(3) is applied, only 3 notifications run concurrently.
- * Others are queued automatically. No manual semaphore management required.
+ * A shared limit alone still lets one slow restaurant webhook take every permit. Notifications are
+ * therefore also partitioned per restaurant with {@link KeyedConcurrencyLimit}: at most 2 in flight
+ * per restaurant, so the others keep being served. Each method declares how to find its restaurant;
+ * the limiter settings must match, which the limiter registry enforces.
  */
 @Service
+@AdaptiveConcurrencyLimit(
+        name = "restaurantNotifications",
+        initialLimit = 3,
+        minLimit = 2,
+        maxLimit = 20,
+        latencyThreshold = 3_000,
+        maxQueue = 50,
+        maxWait = 10_000
+)
 public class RestaurantNotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(RestaurantNotificationService.class);
 
     /**
-     * Notify restaurant of new order - limited to 3 concurrent notifications.
+     * Notify restaurant of new order - adaptively limited, starting at 3 concurrent notifications.
      *
      * Without concurrency limit: During rush hour, 50 concurrent calls could overwhelm
      * the restaurant's notification system, causing crashes or dropped notifications.
      *
-     * With @ConcurrencyLimit: Only 3 notifications sent at a time, others queued.
+     * With @AdaptiveConcurrencyLimit: notifications completing within 3 seconds raise the limit
+     * (up to 20), failures or slower ones lower it (down to 2). Others are queued, but at most 50,
+     * and for at most 10 seconds - beyond that they are rejected with a BulkheadFullException.
      *
-     * Note: No try-catch-finally needed! Spring handles permit management automatically,
+     * With @KeyedConcurrencyLimit: at most 2 notifications per restaurant at a time, taken before
+     * the adaptive permit, so a slow restaurant only ever holds 2 of the shared permits.
+     *
+     * Note: No try-catch-finally needed! Permit management is handled by the proxy,
      * even if exceptions occur during method execution.
      */
-    @ConcurrencyLimit(3)
+    @KeyedConcurrencyLimit(
+            name = "restaurantNotificationsPerRestaurant",
+            key = "#order.restaurantId()",
+            perKey = 2,
+            global = 50,
+            maxWait = 10_000
+    )
     public void notifyRestaurant(Order order) {
         LocalTime start = LocalTime.now();
         log.info("📢 [CONCURRENT] Sending notification to restaurant for order {} (Thread: {})",
@@ -51,6 +78,31 @@ public class RestaurantNotificationService {
                 order.id(), Duration.between(start, end).toMillis());
     }
 
+    /**
+     * Notify a restaurant of several new orders in a single call.
+     *
+     * One webhook call costs the same 2 seconds whether it carries one order or twenty,
+     * so {@link NotificationBatcher} groups orders per restaurant and sends them through here.
+     * Batches are subject to the same per-restaurant and adaptive limits as single notifications.
+     */
+    @KeyedConcurrencyLimit(
+            name = "restaurantNotificationsPerRestaurant",
+            key = "#restaurantId",
+            perKey = 2,
+            global = 50,
+            maxWait = 10_000
+    )
+    public void notifyRestaurantBatch(String restaurantId, List<Order> orders) {
+        LocalTime start = LocalTime.now();
+        log.info("📦 [BATCH] Sending {} orders to restaurant {} in one notification (Thread: {})",
+                orders.size(), restaurantId, Thread.currentThread().getName());
+
+        simulateDelay(Duration.ofSeconds(2));
+
+        log.info("✅ [BATCH] Notification sent to restaurant {} for {} orders (took {}ms)",
+                restaurantId, orders.size(), Duration.between(start, LocalTime.now()).toMillis());
+    }
+
     /**
      * Helper method to simulate delay (network latency, processing time).
      *
@@ -1,9 +1,15 @@
 package com.omar.spring_native_resilience.restaurant.service;
 
 import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.domain.PriceBand;
 import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
 import com.omar.spring_native_resilience.restaurant.exception.RestaurantApiException;
 import com.omar.spring_native_resilience.restaurant.loader.DataLoader;
+import com.omar.spring_native_resilience.restaurant.loader.RestaurantMenuIndex;
+import com.omar.spring_native_resilience.resilience.annotation.CircuitBreaker;
+import com.omar.spring_native_resilience.resilience.annotation.PrioritizeFirstAttempts;
+import com.omar.spring_native_resilience.resilience.annotation.RateLimit;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineRetryPredicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.resilience.annotation.Retryable;
@@ -22,6 +28,9 @@ import java.util.Random;
  *   <li>🔁 Automatic retries using {@link Retryable}</li>
  *   <li>⏳ Exponential backoff strategy</li>
  *   <li>🎯 Domain-specific retry conditions</li>
+ *   <li>⚡ Circuit breaking using {@link CircuitBreaker}</li>
+ *   <li>🪣 Rate limiting using {@link RateLimit}</li>
+ *   <li>🥇 First attempts ahead of retries using {@link PrioritizeFirstAttempts}</li>
  * </ul>
  *
  * <p>
@@ -59,9 +68,25 @@ public class RestaurantService {
      *   <li>Max attempts: 4 (1 initial + 3 retries)</li>
      *   <li>Retry condition: {@link RestaurantApiException}</li>
      *   <li>Backoff: starts at 1s, doubles on each retry</li>
+     *   <li>Deadline: no retry once the request deadline leaves less than the backoff</li>
      * </ul>
      *
      * <p>
+     * ⚡ <b>Circuit breaker</b>: every attempt is recorded in a 20-call sliding window.
+     * Once half of them fail, the circuit opens for 10 seconds and calls are rejected
+     * immediately with a non-retryable {@code CallNotPermittedException}, instead of
+     * burning the full backoff chain against a partner that is hard down.
+     *
+     * <p>
+     * 🪣 <b>Rate limit</b>: the partner allows 20 calls per second. Every attempt, retries included,
+     * takes a token; a caller waits up to 2 seconds for one, then gets a {@code RateLimitExceededException}.
+     *
+     * <p>
+     * 🥇 <b>Priority</b>: at most 10 attempts run at once, and a free slot goes to a first attempt before
+     * any waiting retry, so under overload the partner's capacity serves new requests rather than retries
+     * of requests whose clients are gone. A retry still queued when its request deadline passes is dropped.
+     *
+     * <p>
      * This demonstrates how Spring Boot 4 provides resilience
      * <b>without external retry libraries</b>.
      *
@@ -71,9 +96,29 @@ public class RestaurantService {
     @Retryable(
             maxRetries = 4,
             includes = RestaurantApiException.class,
+            predicate = DeadlineRetryPredicate.class,
             delay = 1000, // 1-second delay
             multiplier = 2 // double the delay for each retry attempt
     )
+    @CircuitBreaker(
+            name = "restaurantPartner",
+            slidingWindowSize = 20,
+            minimumNumberOfCalls = 10,
+            failureRateThreshold = 50,
+            waitDurationInOpenState = 10_000,
+            includes = RestaurantApiException.class
+    )
+    @PrioritizeFirstAttempts(
+            name = "restaurantPartner",
+            permits = 10,
+            maxQueue = 200
+    )
+    @RateLimit(
+            name = "restaurantPartner",
+            permitsPerSecond = 20,
+            burst = 20,
+            maxWait = 2_000
+    )
     public List<MenuItem> getMenuFromPartner(String restaurantId) {
         log.info("🍽️  Fetching menu from restaurant partner API for: {}", restaurantId);
 
@@ -86,21 +131,41 @@ public class RestaurantService {
         // 🌐 Simulate network latency
         simulateDelay(Duration.ofMillis(200));
 
-        Restaurant restaurant = dataLoader.getRestaurant(restaurantId);
-        if (restaurant == null) {
+        RestaurantMenuIndex menuIndex = dataLoader.getMenuIndex(restaurantId);
+        if (menuIndex == null) {
             throw new RestaurantApiException("Restaurant not found: " + restaurantId);
         }
 
-        // ✅ Resolve menu items and filter only available ones
-        List<MenuItem> menu = restaurant.menuItemIds().stream()
-                .map(dataLoader::getMenuItem)
-                .filter(item -> item != null && item.available())
-                .toList();
+        // ✅ Available items are precomputed by the DataLoader - no per-call filtering
+        List<MenuItem> menu = menuIndex.availableItems();
 
-        log.info("✅ Successfully fetched {} menu items from {}", menu.size(), restaurant.name());
+        log.info("✅ Successfully fetched {} menu items from {}", menu.size(), restaurantId);
         return menu;
     }
 
+    /**
+     * Returns the available items of a restaurant's menu filtered by category and/or price band,
+     * served from the local precomputed index (no partner call).
+     *
+     * @return matching items, or {@code null} if the restaurant is unknown
+     */
+    public List<MenuItem> browseMenu(String restaurantId, String category, PriceBand priceBand) {
+        RestaurantMenuIndex menuIndex = dataLoader.getMenuIndex(restaurantId);
+        if (menuIndex == null) {
+            return null;
+        }
+        if (category == null && priceBand == null) {
+            return menuIndex.availableItems();
+        }
+        if (category == null) {
+            return menuIndex.inPriceBand(priceBand);
+        }
+        List<MenuItem> inCategory = menuIndex.inCategory(category);
+        return (priceBand == null ? inCategory : inCategory.stream()
+                .filter(item -> PriceBand.of(item.price()) == priceBand)
+                .toList());
+    }
+
     /**
      * Returns all registered restaurants.
      * Used by APIs that do not require resilience or retries.
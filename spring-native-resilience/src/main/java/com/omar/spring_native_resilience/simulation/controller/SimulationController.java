@@ -0,0 +1,64 @@
+package com.omar.spring_native_resilience.simulation.controller;
+
+import com.omar.spring_native_resilience.simulation.domain.SimulationReport;
+import com.omar.spring_native_resilience.simulation.domain.SimulationRequest;
+import com.omar.spring_native_resilience.simulation.service.LoadSimulationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * 🧪 REST controller for asynchronous lunch-rush load simulations.
+ *
+ * <p>
+ * Provides endpoints to:
+ * <ul>
+ *     <li>Start a simulation and get its job id right away ({@code 202 Accepted})</li>
+ *     <li>Poll a job for progress and, once completed, throughput and latency percentiles</li>
+ *     <li>List recent jobs and cancel a running one</li>
+ * </ul>
+ * Starting more simulations than {@code quickbites.simulation.max-running-jobs} answers {@code 429}.
+ */
+@RestController
+@RequestMapping("/api/simulations")
+public class SimulationController {
+
+    private final LoadSimulationService simulationService;
+
+    public SimulationController(LoadSimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping("/lunch-rush")
+    public ResponseEntity<SimulationReport> startLunchRush(@RequestBody SimulationRequest request) {
+        SimulationReport report = simulationService.start(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/simulations/" + report.jobId()))
+                .body(report);
+    }
+
+    @GetMapping
+    public List<SimulationReport> listSimulations() {
+        return simulationService.reports();
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<SimulationReport> getSimulation(@PathVariable String jobId) {
+        SimulationReport report = simulationService.report(jobId);
+        return (report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<SimulationReport> cancelSimulation(@PathVariable String jobId) {
+        SimulationReport report = simulationService.cancel(jobId);
+        return (report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,52 @@
+package com.omar.spring_native_resilience.simulation.domain;
+
+import java.time.Instant;
+
+/**
+ * 📊 SimulationReport
+ * <p>
+ * Progress and, once finished, results of a load simulation job.
+ * Latency figures cover successful notifications only and are {@code null} while the job is running.
+ * </p>
+ *
+ * @param jobId               Identifier returned when the job was started
+ * @param status              Job lifecycle state
+ * @param request             Parameters the job was started with
+ * @param startedAt           When the job started
+ * @param completed           Notifications that succeeded so far
+ * @param failed              Notifications that failed so far (including bulkhead rejections)
+ * @param rejected            Notifications rejected by a bulkhead so far
+ * @param durationMs          Elapsed time, up to completion
+ * @param throughputPerSecond Completed notifications per second
+ * @param latencyP50Ms        Median notification latency
+ * @param latencyP95Ms        95th percentile notification latency
+ * @param latencyP99Ms        99th percentile notification latency
+ * @param latencyMaxMs        Slowest notification
+ * @param peakInFlight        Highest number of notifications running at the same time
+ * @param peakPlatformThreads Highest number of live platform threads observed during the job
+ */
+public record SimulationReport(
+        String jobId,
+        Status status,
+        SimulationRequest request,
+        Instant startedAt,
+        long completed,
+        long failed,
+        long rejected,
+        long durationMs,
+        double throughputPerSecond,
+        Long latencyP50Ms,
+        Long latencyP95Ms,
+        Long latencyP99Ms,
+        Long latencyMaxMs,
+        int peakInFlight,
+        int peakPlatformThreads
+) {
+
+    /**
+     * Lifecycle of a simulation job.
+     */
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED
+    }
+}
@@ -0,0 +1,31 @@
+package com.omar.spring_native_resilience.simulation.domain;
+
+/**
+ * 🎛️ SimulationRequest
+ * <p>
+ * Parameters of a lunch-rush load simulation. The concurrency limits on the notification
+ * service are the system under test; this request controls the load offered to them.
+ * </p>
+ *
+ * @param orders      Number of orders to notify
+ * @param concurrency Maximum number of notifications the simulation keeps in flight (offered concurrency)
+ * @param executor    Kind of threads running the notifications
+ * @param restaurants Number of distinct restaurants the orders are spread over
+ */
+public record SimulationRequest(
+        int orders,
+        int concurrency,
+        ExecutorType executor,
+        int restaurants
+) {
+
+    /**
+     * Threads running the simulated notifications.
+     */
+    public enum ExecutorType {
+        /** Shared fixed pool of platform threads. */
+        PLATFORM,
+        /** One virtual thread per notification. */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,207 @@
+package com.omar.spring_native_resilience.simulation.service;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantNotificationService;
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import com.omar.spring_native_resilience.simulation.domain.SimulationReport;
+import com.omar.spring_native_resilience.simulation.domain.SimulationRequest;
+import com.omar.spring_native_resilience.simulation.domain.SimulationRequest.ExecutorType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 🧪 Runs lunch-rush load simulations as background jobs.
+ *
+ * <p>
+ * Unlike the demo endpoints, a simulation does not block the HTTP thread and does not create
+ * executors per request:
+ * <ul>
+ *     <li>🧵 Notifications run on two shared executors owned by this service – a fixed pool of
+ *     platform threads and a virtual-thread executor – shut down with the application context</li>
+ *     <li>🎛️ Order count, offered concurrency, executor type and restaurant spread are per job</li>
+ *     <li>🆔 Starting a job returns its id immediately; progress and results are polled by id</li>
+ * </ul>
+ *
+ * <p>
+ * Notifications go through the proxied {@link RestaurantNotificationService}, so the report
+ * measures the real capacity of its concurrency limits: throughput, latency percentiles,
+ * peak in-flight notifications and peak platform threads.
+ */
+@Service
+public class LoadSimulationService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSimulationService.class);
+
+    static final int MAX_ORDERS = 100_000;
+    static final int MAX_CONCURRENCY = 10_000;
+    private static final int RETAINED_JOBS = 50;
+
+    private final RestaurantNotificationService notificationService;
+    private final int maxRunningJobs;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final ExecutorService platformExecutor;
+    private final ExecutorService virtualExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("simulation-vt-", 0).factory());
+    private final ExecutorService coordinator = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, SimulationJob> jobs = new LinkedHashMap<>();
+
+    public LoadSimulationService(RestaurantNotificationService notificationService,
+                                 @Value("${quickbites.simulation.platform-pool-size:50}") int platformPoolSize,
+                                 @Value("${quickbites.simulation.max-running-jobs:2}") int maxRunningJobs) {
+        this.notificationService = notificationService;
+        this.maxRunningJobs = maxRunningJobs;
+        this.platformExecutor = Executors.newFixedThreadPool(
+                platformPoolSize, Thread.ofPlatform().name("simulation-", 0).factory());
+    }
+
+    /**
+     * Starts a simulation in the background.
+     *
+     * @return the initial report, holding the job id
+     * @throws BulkheadFullException if {@code max-running-jobs} simulations are already running
+     */
+    public SimulationReport start(SimulationRequest request) {
+        SimulationRequest effective = new SimulationRequest(
+                Math.clamp(request.orders(), 1, MAX_ORDERS),
+                Math.clamp(request.concurrency(), 1, MAX_CONCURRENCY),
+                (request.executor() != null ? request.executor() : ExecutorType.VIRTUAL),
+                Math.max(1, request.restaurants()));
+
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), effective);
+        synchronized (jobs) {
+            long running = jobs.values().stream().filter(SimulationJob::isRunning).count();
+            if (running >= maxRunningJobs) {
+                throw new BulkheadFullException("simulations", running + " simulations already running");
+            }
+            jobs.put(job.id(), job);
+            if (jobs.size() > RETAINED_JOBS) {
+                jobs.values().stream()
+                        .filter(candidate -> !candidate.isRunning())
+                        .findFirst()
+                        .ifPresent(oldest -> jobs.remove(oldest.id()));
+            }
+        }
+
+        log.info("🧪 Simulation {} started: {} orders, concurrency {}, {} threads, {} restaurants",
+                job.id(), effective.orders(), effective.concurrency(), effective.executor(), effective.restaurants());
+        job.runner(coordinator.submit(() -> run(job)));
+        return job.report();
+    }
+
+    public SimulationReport report(String jobId) {
+        SimulationJob job = find(jobId);
+        return (job != null ? job.report() : null);
+    }
+
+    public List<SimulationReport> reports() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(SimulationJob::report).toList();
+        }
+    }
+
+    /**
+     * Stops submitting new notifications for the job; notifications already running complete.
+     *
+     * @return the report, or {@code null} for an unknown job
+     */
+    public SimulationReport cancel(String jobId) {
+        SimulationJob job = find(jobId);
+        if (job == null) {
+            return null;
+        }
+        job.cancel();
+        return job.report();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+        platformExecutor.shutdownNow();
+        virtualExecutor.shutdownNow();
+    }
+
+    private SimulationJob find(String jobId) {
+        synchronized (jobs) {
+            return jobs.get(jobId);
+        }
+    }
+
+    private void run(SimulationJob job) {
+        SimulationRequest request = job.request();
+        ExecutorService executor = (request.executor() == ExecutorType.PLATFORM ? platformExecutor : virtualExecutor);
+        Semaphore slots = new Semaphore(request.concurrency());
+        try {
+            for (int i = 1; i <= request.orders(); i++) {
+                Order order = sampleOrder(job, i);
+                slots.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            notifyAndRecord(job, order);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    throw e;
+                }
+            }
+            // Every slot back means every submitted notification has finished
+            slots.acquire(request.concurrency());
+            job.finish(SimulationReport.Status.COMPLETED);
+            log.info("🏁 Simulation {} completed: {}", job.id(), job.report());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(SimulationReport.Status.CANCELLED);
+        } catch (RejectedExecutionException e) {
+            job.finish(SimulationReport.Status.CANCELLED);
+        }
+    }
+
+    private void notifyAndRecord(SimulationJob job, Order order) {
+        job.taskStarted(threads.getThreadCount());
+        long start = System.nanoTime();
+        try {
+            notificationService.notifyRestaurant(order);
+            job.recordSuccess(System.nanoTime() - start);
+        } catch (BulkheadFullException e) {
+            job.recordRejection();
+        } catch (RuntimeException e) {
+            job.recordFailure();
+        } finally {
+            job.taskFinished();
+        }
+    }
+
+    private static Order sampleOrder(SimulationJob job, int i) {
+        String restaurantId = String.format("restaurant-%03d", (i - 1) % job.request().restaurants() + 1);
+        return new Order(
+                "sim-" + job.id().substring(0, 8) + "-" + i,
+                "customer-" + i,
+                restaurantId,
+                List.of("burger", "fries", "drink"),
+                new BigDecimal("15.99"),
+                "payment-" + i,
+                "confirmed-" + i,
+                Order.OrderStatus.CONFIRMED);
+    }
+}
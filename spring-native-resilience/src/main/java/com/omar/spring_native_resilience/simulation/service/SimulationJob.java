@@ -0,0 +1,137 @@
+package com.omar.spring_native_resilience.simulation.service;
+
+import com.omar.spring_native_resilience.simulation.domain.SimulationReport;
+import com.omar.spring_native_resilience.simulation.domain.SimulationReport.Status;
+import com.omar.spring_native_resilience.simulation.domain.SimulationRequest;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State of one running or finished simulation. Counters are updated concurrently by the
+ * notification tasks; percentiles are computed once, when the job finishes.
+ */
+final class SimulationJob {
+
+    private final String id;
+    private final SimulationRequest request;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+
+    private final long[] latencies;
+    private final AtomicInteger latencyCount = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger peakPlatformThreads = new AtomicInteger();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile long endNanos;
+    private volatile Future<?> runner;
+    private volatile SimulationReport finalReport;
+
+    SimulationJob(String id, SimulationRequest request) {
+        this.id = id;
+        this.request = request;
+        this.latencies = new long[request.orders()];
+    }
+
+    String id() {
+        return id;
+    }
+
+    SimulationRequest request() {
+        return request;
+    }
+
+    boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    void runner(Future<?> runner) {
+        this.runner = runner;
+    }
+
+    void cancel() {
+        Future<?> current = runner;
+        if (current != null) {
+            current.cancel(true);
+        }
+    }
+
+    void taskStarted(int platformThreads) {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        peakPlatformThreads.accumulateAndGet(platformThreads, Math::max);
+    }
+
+    void taskFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latencies[latencyCount.getAndIncrement()] = latencyNanos;
+        completed.increment();
+    }
+
+    void recordFailure() {
+        failed.increment();
+    }
+
+    void recordRejection() {
+        rejected.increment();
+        failed.increment();
+    }
+
+    synchronized void finish(Status finalStatus) {
+        if (status != Status.RUNNING) {
+            return;
+        }
+        endNanos = System.nanoTime();
+        status = finalStatus;
+        // Notifications still running after a cancellation keep updating the counters,
+        // so only a completed job gets frozen.
+        if (finalStatus == Status.COMPLETED) {
+            finalReport = buildReport();
+        }
+    }
+
+    SimulationReport report() {
+        SimulationReport frozen = finalReport;
+        return (frozen != null ? frozen : buildReport());
+    }
+
+    private SimulationReport buildReport() {
+        Status current = status;
+        long elapsedNanos = (current == Status.RUNNING ? System.nanoTime() : endNanos) - startNanos;
+        long durationMs = elapsedNanos / 1_000_000;
+        long succeeded = completed.sum();
+        double throughput = (elapsedNanos == 0 ? 0 : succeeded * 1_000_000_000.0 / elapsedNanos);
+
+        Long p50 = null;
+        Long p95 = null;
+        Long p99 = null;
+        Long max = null;
+        if (current != Status.RUNNING && latencyCount.get() > 0) {
+            long[] sorted = Arrays.copyOf(latencies, Math.min(latencyCount.get(), latencies.length));
+            Arrays.sort(sorted);
+            p50 = percentileMs(sorted, 50);
+            p95 = percentileMs(sorted, 95);
+            p99 = percentileMs(sorted, 99);
+            max = sorted[sorted.length - 1] / 1_000_000;
+        }
+
+        return new SimulationReport(id, current, request, startedAt, succeeded, failed.sum(), rejected.sum(),
+                durationMs, Math.round(throughput * 100) / 100.0, p50, p95, p99, max,
+                peakInFlight.get(), peakPlatformThreads.get());
+    }
+
+    private static long percentileMs(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, rank)] / 1_000_000;
+    }
+}
@@ -0,0 +1,248 @@
+package com.omar.spring_native_resilience.benchmark;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 🚀 Measures the packaged application, as a JVM jar and as a GraalVM native executable.
+ *
+ * <p>
+ * For each variant that has been built, the benchmark starts the real process and measures:
+ * <ul>
+ *     <li>⏱️ <b>Time to first request</b> - process start until {@code /api/restaurants/} answers 200</li>
+ *     <li>💾 <b>RSS at idle</b> - resident memory two seconds after the first request</li>
+ *     <li>🍔 <b>RSS under the lunch rush</b> - peak resident memory while the concurrency-limited
+ *     and batched lunch-rush endpoints run together</li>
+ *     <li>🔁 <b>Retry-path latency</b> - partner menu calls with the cache disabled, so every call goes
+ *     through the {@code @Retryable}, circuit breaker and rate limiter proxies</li>
+ * </ul>
+ * Each figure is checked against {@code startup-benchmark.properties}; the test fails listing every
+ * threshold exceeded. A low retry success ratio is reported too: it means the proxies are missing,
+ * typically from a native image lacking hints.
+ *
+ * <p>
+ * Opt-in, as it needs the artifacts and takes about a minute per variant:
+ * <pre>
+ * ./mvnw -DskipTests package                  # target/spring-native-resilience-0.0.1-SNAPSHOT.jar
+ * ./mvnw -Pnative -DskipTests native:compile  # target/spring-native-resilience (GraalVM required)
+ * ./mvnw test -Dtest=StartupFootprintBenchmark -Dbenchmarks=true
+ * </pre>
+ * Variants that have not been built are skipped. Application output goes to
+ * {@code target/startup-benchmark/<variant>.log}. RSS is read from {@code /proc}, or {@code ps} on macOS.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class StartupFootprintBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final int RETRY_PATH_CALLS = 30;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @TempDir
+    Path dataDirectory;
+
+    @ParameterizedTest
+    @EnumSource(Variant.class)
+    void startupAndFootprint(Variant variant) throws Exception {
+        Path artifact = variant.artifact();
+        assumeTrue(Files.isRegularFile(artifact), () -> variant.key + " variant not built: " + artifact + " is missing");
+
+        int port = freePort();
+        Path logFile = Files.createDirectories(TARGET.resolve("startup-benchmark")).resolve(variant.key + ".log");
+        List<String> command = new ArrayList<>(variant.command(artifact));
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--quickbites.menu-cache.ttl=0s",       // every menu request goes to the partner...
+                "--quickbites.menu-cache.max-stale=0s", // ...through the retry proxies
+                "--quickbites.order-events.directory=" + dataDirectory,
+                "--logging.level.com.omar=WARN"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            Result result = measure(variant, process, "http://localhost:" + port, start);
+            System.out.println(result);
+            result.assertWithin(thresholds());
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private Result measure(Variant variant, Process process, String baseUrl, long startNanos) throws Exception {
+        awaitFirstResponse(process, baseUrl + "/api/restaurants/");
+        long ttfrMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        Thread.sleep(2_000);
+        long idleRss = rssMegabytes(process.pid());
+
+        // 🍔 Lunch rush: concurrency-limited and batched notifications at the same time
+        long rushStart = System.nanoTime();
+        CompletableFuture<?> rush = CompletableFuture.allOf(
+                get(baseUrl + "/api/restaurants/lunch-rush-virtual"),
+                get(baseUrl + "/api/restaurants/lunch-rush-batched?orders=1000"));
+        long peakRss = idleRss;
+        while (!rush.isDone()) {
+            peakRss = Math.max(peakRss, rssMegabytes(process.pid()));
+            Thread.sleep(50);
+        }
+        rush.join();
+        long rushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - rushStart);
+
+        // 🔁 Retry path: sequential, so the rate limiter never delays a call
+        long[] latencies = new long[RETRY_PATH_CALLS];
+        int succeeded = 0;
+        for (int i = 0; i < RETRY_PATH_CALLS; i++) {
+            long callStart = System.nanoTime();
+            HttpResponse<Void> response = get(baseUrl + "/api/restaurants/rest-00" + (i % 3 + 1) + "/menu").join();
+            latencies[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - callStart);
+            succeeded += (response.statusCode() == 200 ? 1 : 0);
+        }
+        Arrays.sort(latencies);
+
+        return new Result(variant, ttfrMillis, idleRss, peakRss, rushMillis,
+                latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.95)], latencies[latencies.length - 1],
+                succeeded / (double) RETRY_PATH_CALLS);
+    }
+
+    private void awaitFirstResponse(Process process, String url) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(1)).build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + " before serving a request");
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No response from " + url + " within " + STARTUP_TIMEOUT);
+    }
+
+    private CompletableFuture<HttpResponse<Void>> get(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static long rssMegabytes(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            String vmRss = Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .findFirst()
+                    .orElseThrow();
+            return Long.parseLong(vmRss.replaceAll("\\D", "")) / 1024;
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String kilobytes = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return Long.parseLong(kilobytes) / 1024;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Properties thresholds() {
+        Properties thresholds = new Properties();
+        try (InputStream in = StartupFootprintBenchmark.class.getResourceAsStream("/startup-benchmark.properties")) {
+            thresholds.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // -Dnative.ttfr.max-ms=300 etc. win over the file
+        thresholds.stringPropertyNames().forEach(key -> thresholds.setProperty(key, System.getProperty(key, thresholds.getProperty(key))));
+        return thresholds;
+    }
+
+    enum Variant {
+        JVM("jvm"),
+        NATIVE("native");
+
+        private final String key;
+
+        Variant(String key) {
+            this.key = key;
+        }
+
+        Path artifact() {
+            return switch (this) {
+                case JVM -> TARGET.resolve("spring-native-resilience-0.0.1-SNAPSHOT.jar");
+                case NATIVE -> TARGET.resolve("spring-native-resilience");
+            };
+        }
+
+        List<String> command(Path artifact) {
+            return switch (this) {
+                case JVM -> List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-jar", artifact.toString());
+                case NATIVE -> List.of(artifact.toAbsolutePath().toString());
+            };
+        }
+    }
+
+    record Result(Variant variant, long ttfrMillis, long idleRssMb, long peakRssMb, long rushMillis,
+                  long retryP50Millis, long retryP95Millis, long retryMaxMillis, double retrySuccessRatio) {
+
+        void assertWithin(Properties thresholds) {
+            String prefix = variant.key + ".";
+            SoftAssertions softly = new SoftAssertions();
+            softly.assertThat(ttfrMillis).as("time to first request (ms)")
+                    .isLessThanOrEqualTo(Long.parseLong(thresholds.getProperty(prefix + "ttfr.max-ms")));
+            softly.assertThat(idleRssMb).as("idle RSS (MB)")
+                    .isLessThanOrEqualTo(Long.parseLong(thresholds.getProperty(prefix + "rss.idle.max-mb")));
+            softly.assertThat(peakRssMb).as("lunch-rush peak RSS (MB)")
+                    .isLessThanOrEqualTo(Long.parseLong(thresholds.getProperty(prefix + "rss.rush.max-mb")));
+            softly.assertThat(retryP50Millis).as("retry-path p50 (ms)")
+                    .isLessThanOrEqualTo(Long.parseLong(thresholds.getProperty(prefix + "retry.p50.max-ms")));
+            softly.assertThat(retrySuccessRatio).as("retry-path success ratio")
+                    .isGreaterThanOrEqualTo(Double.parseDouble(thresholds.getProperty("retry.success.min-ratio")));
+            softly.assertAll();
+        }
+
+        @Override
+        public String toString() {
+            return "%-6s | first request %,6d ms | RSS idle %,5d MB, rush peak %,5d MB (rush %,d ms) | retry path p50 %,d ms, p95 %,d ms, max %,d ms, %.0f%% ok"
+                    .formatted(variant.key, ttfrMillis, idleRssMb, peakRssMb, rushMillis,
+                            retryP50Millis, retryP95Millis, retryMaxMillis, retrySuccessRatio * 100);
+        }
+    }
+}
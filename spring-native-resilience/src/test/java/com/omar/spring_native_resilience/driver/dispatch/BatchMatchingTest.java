@@ -0,0 +1,94 @@
+package com.omar.spring_native_resilience.driver.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BatchMatchingTest {
+
+    @Test
+    void hungarianBeatsGreedyWhenTheClosestDriverIsContended() {
+        // Both orders are closest to driver 0, but order 1 has no good alternative
+        double[][] cost = {
+                {1, 2},
+                {2, 10}
+        };
+
+        assertThat(BatchDispatcher.greedy(cost)).containsExactly(0, 1);       // total 11
+        assertThat(BatchDispatcher.hungarian(cost)).containsExactly(1, 0);    // total 4
+    }
+
+    @Test
+    void hungarianMatchesBruteForceOnRandomBatches() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 200; round++) {
+            int orders = 1 + random.nextInt(6);
+            int drivers = 1 + random.nextInt(6);
+            double[][] cost = new double[orders][drivers];
+            for (double[] row : cost) {
+                Arrays.setAll(row, j -> random.nextDouble(2, 30));
+            }
+
+            int[] matching = BatchDispatcher.hungarian(cost);
+
+            assertValidMatching(matching, orders, drivers);
+            assertThat(total(cost, matching)).isCloseTo(bruteForce(cost, 0, new boolean[drivers]), within(1e-9));
+        }
+    }
+
+    @Test
+    void greedyLeavesSurplusOrdersUnmatched() {
+        double[][] cost = {
+                {5},
+                {3},
+                {4}
+        };
+
+        assertThat(BatchDispatcher.greedy(cost)).containsExactly(-1, 0, -1);
+        assertThat(BatchDispatcher.hungarian(cost)).containsExactly(-1, 0, -1);
+    }
+
+    private static void assertValidMatching(int[] matching, int orders, int drivers) {
+        assertThat(matching).hasSize(orders);
+        assertThat(Arrays.stream(matching).filter(j -> j >= 0).count()).isEqualTo(Math.min(orders, drivers));
+        assertThat(Arrays.stream(matching).filter(j -> j >= 0).distinct().count()).isEqualTo(Math.min(orders, drivers));
+    }
+
+    private static double total(double[][] cost, int[] matching) {
+        double total = 0;
+        for (int i = 0; i < matching.length; i++) {
+            if (matching[i] >= 0) {
+                total += cost[i][matching[i]];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Cheapest total over every assignment of min(orders, drivers) pairs.
+     */
+    private static double bruteForce(double[][] cost, int order, boolean[] driverTaken) {
+        if (order == cost.length) {
+            return 0;
+        }
+        int freeDrivers = 0;
+        for (boolean taken : driverTaken) {
+            freeDrivers += (taken ? 0 : 1);
+        }
+        int remainingOrders = cost.length - order;
+        // Skipping this order is only allowed while there are fewer drivers than orders left
+        double best = (freeDrivers < remainingOrders ? bruteForce(cost, order + 1, driverTaken) : Double.MAX_VALUE);
+        for (int j = 0; j < driverTaken.length; j++) {
+            if (!driverTaken[j]) {
+                driverTaken[j] = true;
+                best = Math.min(best, cost[order][j] + bruteForce(cost, order + 1, driverTaken));
+                driverTaken[j] = false;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,65 @@
+package com.omar.spring_native_resilience.driver.selection;
+
+import com.omar.spring_native_resilience.driver.domain.Driver;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AliasTableTest {
+
+    @Test
+    void samplesProportionallyToWeight() {
+        List<Driver> drivers = List.of(
+                new Driver("1", "One", 1.0),
+                new Driver("2", "Two", 2.0),
+                new Driver("3", "Three", 3.0),
+                new Driver("4", "Four", 4.0));
+        AliasTable<Driver> table = AliasTable.of(drivers, Driver::rating);
+
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, Integer> counts = new HashMap<>();
+        int samples = 1_000_000;
+        for (int i = 0; i < samples; i++) {
+            counts.merge(table.sample(random).id(), 1, Integer::sum);
+        }
+
+        for (Driver driver : drivers) {
+            double expected = driver.rating() / 10.0;
+            assertThat(counts.get(driver.id()) / (double) samples).isCloseTo(expected, within(0.005));
+        }
+    }
+
+    @Test
+    void zeroWeightItemsAreNeverSampled() {
+        AliasTable<Driver> table = AliasTable.of(List.of(
+                new Driver("1", "Suspended", 0.0),
+                new Driver("2", "Active", 4.5)), Driver::rating);
+
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.sample(random).id()).isEqualTo("2");
+        }
+    }
+
+    @Test
+    void poolNeverReturnsDepartedDrivers() {
+        WeightedDriverPool pool = new WeightedDriverPool();
+        for (int i = 0; i < 100; i++) {
+            pool.join(new Driver(String.valueOf(i), "Driver " + i, 4.0 + (i % 10) / 10.0));
+        }
+        pool.sample();
+        for (int i = 0; i < 90; i++) {
+            pool.leave(String.valueOf(i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(Integer.parseInt(pool.sample().id())).isGreaterThanOrEqualTo(90);
+        }
+    }
+}
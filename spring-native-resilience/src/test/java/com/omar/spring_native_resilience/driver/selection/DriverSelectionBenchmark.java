@@ -0,0 +1,97 @@
+package com.omar.spring_native_resilience.driver.selection;
+
+import com.omar.spring_native_resilience.driver.domain.Driver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * ⏱️ Compares alias-table sampling with a linear weighted scan at 10k and 100k drivers.
+ *
+ * <p>
+ * Opt-in, as timings depend on the machine:
+ * {@code ./mvnw test -Dtest=DriverSelectionBenchmark -Dbenchmarks=true}.
+ * A simple warmed-up loop rather than JMH, so read the numbers as orders of magnitude.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class DriverSelectionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int SAMPLES_PER_ROUND = 200_000;
+
+    @Test
+    void aliasTableVersusLinearScan() {
+        for (int size : new int[]{10_000, 100_000}) {
+            List<Driver> drivers = drivers(size);
+            AliasTable<Driver> table = AliasTable.of(drivers, Driver::rating);
+            double totalWeight = table.totalWeight();
+
+            long buildNanos = time(() -> AliasTable.of(drivers, Driver::rating));
+            double aliasNanos = nanosPerSample(random -> table.sample(random));
+            double linearNanos = nanosPerSample(random -> linearScan(drivers, totalWeight, random));
+
+            System.out.printf("%,7d drivers | alias %8.1f ns/sample | linear %10.1f ns/sample | x%,.0f | table build %,d µs%n",
+                    size, aliasNanos, linearNanos, linearNanos / aliasNanos, buildNanos / 1_000);
+        }
+    }
+
+    private static Driver linearScan(List<Driver> drivers, double totalWeight, SplittableRandom random) {
+        double target = random.nextDouble() * totalWeight;
+        for (Driver driver : drivers) {
+            target -= driver.rating();
+            if (target < 0) {
+                return driver;
+            }
+        }
+        return drivers.getLast();
+    }
+
+    private static double nanosPerSample(Sampler sampler) {
+        SplittableRandom random = new SplittableRandom(1);
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += run(sampler, random);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += run(sampler, random);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println(); // keeps the results alive
+        }
+        return elapsed / (double) (MEASURED_ROUNDS * SAMPLES_PER_ROUND);
+    }
+
+    private static long run(Sampler sampler, SplittableRandom random) {
+        long sink = 0;
+        for (int i = 0; i < SAMPLES_PER_ROUND; i++) {
+            sink += sampler.sample(random).id().length();
+        }
+        return sink;
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static List<Driver> drivers(int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        List<Driver> drivers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            drivers.add(new Driver(String.valueOf(i), "Driver " + i, 3.0 + random.nextDouble() * 2.0));
+        }
+        return drivers;
+    }
+
+    @FunctionalInterface
+    private interface Sampler {
+        Driver sample(SplittableRandom random);
+    }
+}
@@ -0,0 +1,104 @@
+package com.omar.spring_native_resilience.order.event;
+
+import com.omar.spring_native_resilience.order.Order.OrderStatus;
+import com.omar.spring_native_resilience.order.domain.OrderState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryEventAcrossSegmentsAfterReopening() {
+        List<OrderEvent> written = new ArrayList<>();
+        try (OrderEventLog eventLog = OrderEventLog.open(directory, SEGMENT_SIZE, OrderEventLog.Position.START, event -> {})) {
+            for (int i = 1; i <= 500; i++) {
+                OrderEvent event = new OrderEvent(i, "order-" + i, (i % 2 == 0 ? "rest-001" : null),
+                        OrderStatus.values()[i % OrderStatus.values().length], 1_700_000_000_000L + i);
+                eventLog.append(event);
+                written.add(event);
+            }
+            assertThat(eventLog.position().segment()).isGreaterThan(0);
+        }
+
+        List<OrderEvent> replayed = new ArrayList<>();
+        OrderEventLog.open(directory, SEGMENT_SIZE, OrderEventLog.Position.START, replayed::add).close();
+
+        assertThat(replayed).isEqualTo(written);
+    }
+
+    @Test
+    void replayStartsAtTheGivenPosition() {
+        OrderEventLog.Position afterTwo;
+        try (OrderEventLog eventLog = OrderEventLog.open(directory, SEGMENT_SIZE, OrderEventLog.Position.START, event -> {})) {
+            eventLog.append(event(1));
+            afterTwo = eventLog.append(event(2));
+            eventLog.append(event(3));
+        }
+
+        List<OrderEvent> replayed = new ArrayList<>();
+        OrderEventLog.open(directory, SEGMENT_SIZE, afterTwo, replayed::add).close();
+
+        assertThat(replayed).extracting(OrderEvent::sequence).containsExactly(3L);
+    }
+
+    @Test
+    void tornWriteIsDiscardedAndOverwritten() throws IOException {
+        OrderEventLog.Position afterOne;
+        try (OrderEventLog eventLog = OrderEventLog.open(directory, SEGMENT_SIZE, OrderEventLog.Position.START, event -> {})) {
+            afterOne = eventLog.append(event(1));
+            eventLog.append(event(2));
+        }
+        // Corrupt the body of event 2, as if the process died halfway through writing it
+        try (FileChannel channel = FileChannel.open(directory.resolve("order-events-000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42, 42, 42}), afterOne.offset() + OrderEventLog.HEADER_SIZE + 4);
+        }
+
+        List<OrderEvent> replayed = new ArrayList<>();
+        try (OrderEventLog eventLog = OrderEventLog.open(directory, SEGMENT_SIZE, OrderEventLog.Position.START, replayed::add)) {
+            assertThat(replayed).extracting(OrderEvent::sequence).containsExactly(1L);
+            assertThat(eventLog.position()).isEqualTo(afterOne);
+            eventLog.append(event(2));
+        }
+
+        replayed.clear();
+        OrderEventLog.open(directory, SEGMENT_SIZE, OrderEventLog.Position.START, replayed::add).close();
+        assertThat(replayed).extracting(OrderEvent::sequence).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void snapshotRoundTripsAndRejectsCorruption() throws IOException {
+        Path file = directory.resolve("orders.snapshot");
+        OrderSnapshot snapshot = new OrderSnapshot(42, new OrderEventLog.Position(3, 1024), List.of(
+                new OrderState("order-1", "rest-001", OrderStatus.PREPARING, Instant.ofEpochMilli(1_000), 40),
+                new OrderState("order-2", null, OrderStatus.DELIVERED, Instant.ofEpochMilli(2_000), 42)));
+
+        snapshot.writeTo(file);
+        assertThat(OrderSnapshot.readFrom(file)).contains(snapshot);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThat(OrderSnapshot.readFrom(file)).isEmpty();
+    }
+
+    private static OrderEvent event(long sequence) {
+        return new OrderEvent(sequence, "order-" + sequence, "rest-001", OrderStatus.PENDING, sequence);
+    }
+}
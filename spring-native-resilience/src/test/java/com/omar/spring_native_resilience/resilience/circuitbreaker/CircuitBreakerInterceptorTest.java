@@ -0,0 +1,110 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import com.omar.spring_native_resilience.resilience.annotation.CircuitBreaker;
+import com.omar.spring_native_resilience.resilience.circuitbreaker.CircuitBreakerStateMachine.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry registry = new CircuitBreakerRegistry(meterRegistry);
+    private final Partner partner = proxy(new Partner());
+
+    @Test
+    void includedExceptionsAreRecordedAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> partner.call(Partner::down)).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(circuitBreaker("partner").getState()).isEqualTo(State.OPEN);
+        assertThatThrownBy(() -> partner.call(() -> "menu")).isInstanceOf(CallNotPermittedException.class);
+        assertThat(calls("failure")).isEqualTo(4);
+        assertThat(calls("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void otherExceptionsAreIgnored() {
+        partner.call(() -> "menu");
+        assertThatThrownBy(() -> partner.call(Partner::down)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> partner.call(Partner::throttled)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> partner.call(Partner::throttled)).isInstanceOf(IllegalArgumentException.class);
+
+        // Counted as successes, the rejections would have filled the window and hidden the 50% failure rate
+        assertThat(circuitBreaker("partner").failureRate()).isEqualTo(-1f);
+        assertThat(calls("ignored")).isEqualTo(2);
+        assertThat(calls("success")).isEqualTo(1);
+    }
+
+    @Test
+    void ignoredHalfOpenProbeNeitherClosesTheCircuitNorUsesUpThePermit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> partner.probe(Partner::down)).isInstanceOf(IllegalStateException.class);
+        }
+        Thread.sleep(20); // past the 1ms open state
+
+        assertThatThrownBy(() -> partner.probe(Partner::throttled)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(circuitBreaker("probe").getState()).isEqualTo(State.HALF_OPEN);
+
+        assertThat(partner.probe(() -> "menu")).isEqualTo("menu");
+        assertThat(circuitBreaker("probe").getState()).isEqualTo(State.CLOSED);
+    }
+
+    private CircuitBreakerStateMachine circuitBreaker(String name) {
+        return registry.getCircuitBreakers().get(name);
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get("resilience.circuitbreaker.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private Partner proxy(Partner target) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("circuitBreakerRegistry", registry));
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new CircuitBreakerInterceptor(beanFactory.getBeanProvider(CircuitBreakerRegistry.class)));
+        return (Partner) proxyFactory.getProxy();
+    }
+
+    static class Partner {
+
+        @CircuitBreaker(
+                name = "partner",
+                slidingWindowSize = 4,
+                minimumNumberOfCalls = 4,
+                failureRateThreshold = 50,
+                includes = IllegalStateException.class
+        )
+        public String call(Supplier<String> outcome) {
+            return outcome.get();
+        }
+
+        @CircuitBreaker(
+                name = "probe",
+                slidingWindowSize = 4,
+                minimumNumberOfCalls = 4,
+                waitDurationInOpenState = 1,
+                permittedCallsInHalfOpenState = 1,
+                includes = IllegalStateException.class
+        )
+        public String probe(Supplier<String> outcome) {
+            return outcome.get();
+        }
+
+        static String down() {
+            throw new IllegalStateException("Partner down");
+        }
+
+        static String throttled() {
+            throw new IllegalArgumentException("Rate limit exhausted");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.omar.spring_native_resilience.resilience.circuitbreaker;
+
+import com.omar.spring_native_resilience.resilience.circuitbreaker.CircuitBreakerStateMachine.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerStateMachineTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<State> transitions = new ArrayList<>();
+
+    private final CircuitBreakerStateMachine circuitBreaker = new CircuitBreakerStateMachine(
+            "partner", 4, 4, 50, Duration.ofSeconds(10), 2, clock::get,
+            (name, from, to) -> transitions.add(to));
+
+    @Test
+    void staysClosedUntilMinimumNumberOfCallsIsRecorded() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndRejectsCalls() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.remainingOpenDuration()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void slidingWindowForgetsOldestOutcomes() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess(); // evicts the failure
+
+        assertThat(circuitBreaker.failureRate()).isZero();
+    }
+
+    @Test
+    void halfOpenProbesCloseTheCircuitOnSuccess() {
+        tripOpen();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse(); // only 2 probes
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(transitions).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+    }
+
+    @Test
+    void halfOpenProbeFailureReopensTheCircuit() {
+        tripOpen();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+}
@@ -0,0 +1,129 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void fastCallsUsingTheLimitRaiseItByOne() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 3, Duration.ofSeconds(1));
+
+        limiter.release(limiter.acquire(), false);
+        assertThat(limiter.snapshot().limit()).isEqualTo(3);
+
+        limiter.release(limiter.acquire(), false);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+        limiter.release(limiter.acquire(), false);
+        limiter.release(first, false);
+        assertThat(limiter.snapshot().limit()).isEqualTo(3); // capped at maxLimit
+    }
+
+    @Test
+    void callsLeavingTheLimitMostlyUnusedDoNotRaiseIt() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 10, Duration.ofSeconds(1));
+
+        limiter.release(limiter.acquire(), false);
+
+        assertThat(limiter.snapshot().limit()).isEqualTo(4);
+    }
+
+    @Test
+    void failuresMultiplyTheLimitByTheBackoffRatio() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 20, Duration.ofSeconds(1));
+
+        limiter.release(limiter.acquire(), true);
+        assertThat(limiter.snapshot().limit()).isEqualTo(5);
+
+        limiter.release(limiter.acquire(), true);
+        limiter.release(limiter.acquire(), true);
+        assertThat(limiter.snapshot().limit()).isEqualTo(2); // floored at minLimit
+    }
+
+    @Test
+    void slowCallsLowerTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 20, Duration.ofMillis(1));
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        Thread.sleep(10);
+        limiter.release(permit, false);
+
+        assertThat(limiter.snapshot().limit()).isEqualTo(5);
+    }
+
+    @Test
+    void smallLimitsStillDecrease() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                "test", 3, 1, 10, Duration.ofSeconds(1), 0.9, -1, Duration.ofMillis(-1));
+
+        limiter.release(limiter.acquire(), true);
+
+        assertThat(limiter.snapshot().limit()).isEqualTo(2);
+    }
+
+    @Test
+    void callersBeyondTheQueueAreRejected() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                "bulkhead", 1, 1, 1, Duration.ofSeconds(1), 0.5, 1, Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        awaitUntil(() -> limiter.snapshot().queued() == 1);
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("wait queue is full (1)");
+        assertThat(limiter.snapshot().rejected()).isEqualTo(1);
+
+        limiter.release(held, false);
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void callersWaitingLongerThanMaxWaitAreRejected() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                "bulkhead", 1, 1, 1, Duration.ofSeconds(1), 0.5, 10, Duration.ofMillis(50));
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("no permit within 50ms");
+        assertThat(limiter.snapshot().queued()).isZero();
+    }
+
+    @Test
+    void zeroQueueRejectsAsSoonAsTheLimitIsReached() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                "bulkhead", 1, 1, 1, Duration.ofSeconds(1), 0.5, 0, Duration.ofMillis(-1));
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(BulkheadFullException.class);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit,
+                                                      Duration latencyThreshold) {
+        return new AdaptiveConcurrencyLimiter("test", initialLimit, minLimit, maxLimit, latencyThreshold,
+                0.5, -1, Duration.ofMillis(-1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import com.omar.spring_native_resilience.resilience.annotation.AdaptiveConcurrencyLimit;
+import com.omar.spring_native_resilience.resilience.annotation.KeyedConcurrencyLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterRegistryTest {
+
+    private final ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(new SimpleMeterRegistry());
+
+    @Test
+    void annotationsWithTheSameSettingsShareOneLimiter() throws Exception {
+        assertThat(registry.limiter(adaptive("single")))
+                .isSameAs(registry.limiter(adaptive("batch")));
+    }
+
+    @Test
+    void conflictingAdaptiveSettingsAreRejected() throws Exception {
+        registry.limiter(adaptive("single"));
+
+        assertThatThrownBy(() -> registry.limiter(adaptive("conflicting")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("'notifications' is already configured");
+    }
+
+    @Test
+    void keyedLimitersMayUseDifferentKeysButNotDifferentLimits() throws Exception {
+        KeyedConcurrencyLimiter limiter = registry.keyedLimiter(keyed("single"));
+
+        assertThat(registry.keyedLimiter(keyed("batch"))).isSameAs(limiter);
+        assertThatThrownBy(() -> registry.keyedLimiter(keyed("conflicting")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("perKey=2");
+    }
+
+    private static AdaptiveConcurrencyLimit adaptive(String method) throws NoSuchMethodException {
+        return Notifications.class.getDeclaredMethod(method, String.class).getAnnotation(AdaptiveConcurrencyLimit.class);
+    }
+
+    private static KeyedConcurrencyLimit keyed(String method) throws NoSuchMethodException {
+        return Notifications.class.getDeclaredMethod(method, String.class).getAnnotation(KeyedConcurrencyLimit.class);
+    }
+
+    static class Notifications {
+
+        @AdaptiveConcurrencyLimit(name = "notifications", initialLimit = 3, maxLimit = 20)
+        @KeyedConcurrencyLimit(name = "perRestaurant", key = "#restaurantId", perKey = 2)
+        void single(String restaurantId) {
+        }
+
+        @AdaptiveConcurrencyLimit(name = "notifications", initialLimit = 3, maxLimit = 20)
+        @KeyedConcurrencyLimit(name = "perRestaurant", key = "#p0", perKey = 2)
+        void batch(String restaurantId) {
+        }
+
+        @AdaptiveConcurrencyLimit(name = "notifications", initialLimit = 3, maxLimit = 10)
+        @KeyedConcurrencyLimit(name = "perRestaurant", key = "#restaurantId", perKey = 5)
+        void conflicting(String restaurantId) {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.omar.spring_native_resilience.resilience.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedConcurrencyLimiterTest {
+
+    private final KeyedConcurrencyLimiter limiter =
+            new KeyedConcurrencyLimiter("test", 2, 3, Duration.ofMillis(50));
+
+    @Test
+    void saturatedKeyDoesNotBlockOtherKeys() throws Exception {
+        limiter.acquire("slow");
+        limiter.acquire("slow");
+
+        assertThatThrownBy(() -> limiter.acquire("slow"))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("key 'slow'");
+
+        KeyedConcurrencyLimiter.Permit other = limiter.acquire("fast");
+        assertThat(other.key()).isEqualTo("fast");
+        assertThat(limiter.snapshot().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void globalLimitAppliesAcrossKeys() throws Exception {
+        limiter.acquire("a");
+        limiter.acquire("b");
+        limiter.acquire("c");
+
+        assertThatThrownBy(() -> limiter.acquire("d"))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("global limit");
+        assertThat(limiter.snapshot().activePartitions()).isEqualTo(3);
+    }
+
+    @Test
+    void idlePartitionsAreEvicted() throws Exception {
+        for (int i = 0; i < 1_000; i++) {
+            limiter.release(limiter.acquire("restaurant-" + i));
+        }
+
+        KeyedConcurrencyLimiter.Snapshot snapshot = limiter.snapshot();
+        assertThat(snapshot.activePartitions()).isZero();
+        assertThat(snapshot.globalInFlight()).isZero();
+    }
+}
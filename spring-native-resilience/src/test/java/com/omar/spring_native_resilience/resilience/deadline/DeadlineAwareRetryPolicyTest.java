@@ -0,0 +1,57 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.util.backoff.BackOffExecution;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineAwareRetryPolicyTest {
+
+    private final RetryPolicy policy = DeadlineAwareRetryPolicy.of(RetryPolicy.builder()
+            .maxRetries(3)
+            .delay(Duration.ofSeconds(1))
+            .timeout(Duration.ofSeconds(30))
+            .build());
+
+    @Test
+    void keepsTheDelegatesTimeout() {
+        assertThat(policy.getTimeout()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void stopsWhenTheNextRetryWouldStartPastTheDeadline() throws Exception {
+        BackOffExecution withoutDeadline = policy.getBackOff().start();
+        assertThat(withoutDeadline.nextBackOff()).isEqualTo(1_000);
+
+        long delay = DeadlineContext.callWith(Deadline.after(Duration.ofMillis(500)),
+                () -> policy.getBackOff().start().nextBackOff());
+        assertThat(delay).isEqualTo(BackOffExecution.STOP);
+    }
+
+    @Test
+    void everyGrowingBackoffIsCheckedAgainstTheDeadline() throws Exception {
+        RetryPolicy exponential = DeadlineAwareRetryPolicy.of(RetryPolicy.builder()
+                .maxRetries(5)
+                .delay(Duration.ofMillis(100))
+                .multiplier(4)
+                .build());
+
+        long[] delays = DeadlineContext.callWith(Deadline.after(Duration.ofSeconds(1)), () -> {
+            BackOffExecution execution = exponential.getBackOff().start();
+            return new long[] {execution.nextBackOff(), execution.nextBackOff(), execution.nextBackOff()};
+        });
+        assertThat(delays).containsExactly(100, 400, BackOffExecution.STOP);
+    }
+
+    @Test
+    void noRetryOnceTheDeadlineHasPassed() throws Exception {
+        RuntimeException failure = new IllegalStateException("partner down");
+
+        assertThat(policy.shouldRetry(failure)).isTrue();
+        assertThat(DeadlineContext.callWith(new Deadline(System.nanoTime() - 1), () -> policy.shouldRetry(failure)))
+                .isFalse();
+    }
+}
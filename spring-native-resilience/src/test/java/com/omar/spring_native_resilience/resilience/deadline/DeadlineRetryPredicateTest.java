@@ -0,0 +1,93 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import com.omar.spring_native_resilience.resilience.priority.AttemptTrackingInterceptor;
+import com.omar.spring_native_resilience.resilience.priority.RetryAttempts;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.resilience.annotation.Retryable;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineRetryPredicateTest {
+
+    private final DeadlineRetryPredicate predicate = new DeadlineRetryPredicate();
+
+    @Test
+    void backoffGrowsUpToTheMaximumDelay() {
+        DeadlineRetryPredicate.Backoff backoff = new DeadlineRetryPredicate.Backoff(100, 2, 500, 0);
+
+        assertThat(backoff.minimumDelay(1)).isEqualTo(100);
+        assertThat(backoff.minimumDelay(2)).isEqualTo(200);
+        assertThat(backoff.minimumDelay(3)).isEqualTo(400);
+        assertThat(backoff.minimumDelay(4)).isEqualTo(500);
+    }
+
+    @Test
+    void jitterCanShortenTheBackoffButNotBelowTheInitialDelay() {
+        DeadlineRetryPredicate.Backoff backoff = new DeadlineRetryPredicate.Backoff(100, 2, 10_000, 30);
+
+        assertThat(backoff.minimumDelay(1)).isEqualTo(100);
+        assertThat(backoff.minimumDelay(3)).isEqualTo(400 - 30 * 4);
+    }
+
+    @Test
+    void retriesWithoutADeadline() throws Exception {
+        assertThat(predicate.shouldRetry(method(), new IllegalStateException("partner down"))).isTrue();
+    }
+
+    @Test
+    void laterRetriesAreCheckedAgainstTheirGrowingBackoff() throws Exception {
+        Partner partner = tracked(new Partner(predicate));
+        Deadline deadline = Deadline.after(Duration.ofMillis(1_500));
+
+        // 1st retry waits 200ms, 2nd 400ms, 3rd 800ms, 4th 1600ms
+        assertThat(DeadlineContext.callWith(deadline, () -> partner.failedAttempts(1))).isTrue();
+        assertThat(DeadlineContext.callWith(deadline, () -> partner.failedAttempts(3))).isTrue();
+        assertThat(DeadlineContext.callWith(deadline, () -> partner.failedAttempts(4))).isFalse();
+    }
+
+    @Test
+    void untrackedCallsAreCheckedAgainstTheInitialDelay() throws Exception {
+        assertThat(DeadlineContext.callWith(Deadline.after(Duration.ofMillis(150)),
+                () -> predicate.shouldRetry(method(), new IllegalStateException("partner down")))).isFalse();
+        assertThat(DeadlineContext.callWith(Deadline.after(Duration.ofMillis(1_000)),
+                () -> predicate.shouldRetry(method(), new IllegalStateException("partner down")))).isTrue();
+    }
+
+    private static Method method() throws NoSuchMethodException {
+        return Partner.class.getMethod("fetch");
+    }
+
+    private static Partner tracked(Partner target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new AttemptTrackingInterceptor());
+        return (Partner) proxyFactory.getProxy();
+    }
+
+    static class Partner {
+
+        private final DeadlineRetryPredicate predicate;
+
+        Partner(DeadlineRetryPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Retryable(maxRetries = 4, delay = 200, multiplier = 2)
+        public void fetch() {
+        }
+
+        /**
+         * Counts the given number of attempts, as the per-attempt advice would, then asks for another one.
+         */
+        public boolean failedAttempts(int attempts) throws NoSuchMethodException {
+            for (int i = 0; i < attempts; i++) {
+                RetryAttempts.next();
+            }
+            return predicate.shouldRetry(method(), new IllegalStateException("partner down"));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.omar.spring_native_resilience.resilience.deadline;
+
+import com.omar.spring_native_resilience.resilience.annotation.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeoutInterceptorTest {
+
+    private final TimeoutInterceptor interceptor = new TimeoutInterceptor();
+    private final Partner partner = proxy(new Partner());
+
+    @AfterEach
+    void reset() {
+        interceptor.close();
+        RequestContextHolder.resetRequestAttributes();
+        LocaleContextHolder.resetLocaleContext();
+        MDC.clear();
+    }
+
+    @Test
+    void callSeesTheCallersRequestContext() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants/rest-001/menu");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        LocaleContextHolder.setLocale(Locale.FRANCE);
+        MDC.put("traceId", "trace-001");
+
+        CallContext context = partner.context();
+
+        assertThat(context.thread()).isNotSameAs(Thread.currentThread());
+        assertThat(((ServletRequestAttributes) context.requestAttributes()).getRequest()).isSameAs(request);
+        assertThat(context.locale()).isEqualTo(Locale.FRANCE);
+        assertThat(context.traceId()).isEqualTo("trace-001");
+        assertThat(context.hasDeadline()).isTrue();
+    }
+
+    @Test
+    void callWithoutARequestRunsWithoutOne() {
+        CallContext context = partner.context();
+
+        assertThat(context.requestAttributes()).isNull();
+        assertThat(context.traceId()).isNull();
+    }
+
+    @Test
+    void overdueCallsFailWithDeadlineExceeded() {
+        assertThatThrownBy(partner::slow).isInstanceOf(DeadlineExceededException.class);
+    }
+
+    private Partner proxy(Partner target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (Partner) proxyFactory.getProxy();
+    }
+
+    record CallContext(Thread thread, RequestAttributes requestAttributes, Locale locale, String traceId,
+                       boolean hasDeadline) {
+    }
+
+    static class Partner {
+
+        @Timeout(1_000)
+        public CallContext context() {
+            return new CallContext(Thread.currentThread(), RequestContextHolder.getRequestAttributes(),
+                    LocaleContextHolder.getLocale(), MDC.get("traceId"), DeadlineContext.current() != null);
+        }
+
+        @Timeout(20)
+        public void slow() throws InterruptedException {
+            Thread.sleep(1_000);
+        }
+    }
+}
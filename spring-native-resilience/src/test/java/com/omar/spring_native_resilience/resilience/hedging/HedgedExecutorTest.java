@@ -0,0 +1,111 @@
+package com.omar.spring_native_resilience.resilience.hedging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedExecutorTest {
+
+    private static final Duration MIN_DELAY = Duration.ofMillis(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgedExecutor hedging;
+
+    @AfterEach
+    void close() {
+        hedging.close();
+    }
+
+    @Test
+    void noHedgeWhileWarmingUp() {
+        hedging = new HedgedExecutor("test", true, 95, MIN_DELAY, 1.0, meterRegistry);
+
+        assertThat(hedging.hedgeDelayNanos()).isEqualTo(-1);
+        assertThat(hedging.execute(() -> "menu")).isEqualTo("menu");
+        assertThat(count("hedging.hedges.fired")).isZero();
+    }
+
+    @Test
+    void slowPrimaryIsBeatenByTheHedgeAndCancelled() throws Exception {
+        hedging = new HedgedExecutor("test", true, 95, MIN_DELAY, 1.0, meterRegistry);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+        String result = hedging.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(count("hedging.hedges.fired")).isEqualTo(1);
+        assertThat(count("hedging.hedges.won")).isEqualTo(1);
+        assertThat(primaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void exhaustedBudgetThrottlesTheHedge() {
+        hedging = new HedgedExecutor("test", true, 95, MIN_DELAY, 0, meterRegistry);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedging.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(MIN_DELAY.toMillis() * 5);
+            return "primary";
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+        assertThat(count("hedging.hedges.throttled")).isEqualTo(1);
+    }
+
+    @Test
+    void disabledExecutorRunsTheCallOnce() {
+        hedging = new HedgedExecutor("test", false, 95, MIN_DELAY, 1.0, meterRegistry);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        hedging.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(MIN_DELAY.toMillis() * 5);
+            return "primary";
+        });
+
+        assertThat(attempts).hasValue(1);
+        assertThat(count("hedging.hedges.fired")).isZero();
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 50; i++) {
+            hedging.execute(() -> "menu");
+        }
+        assertThat(hedging.hedgeDelayNanos()).isEqualTo(MIN_DELAY.toNanos());
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
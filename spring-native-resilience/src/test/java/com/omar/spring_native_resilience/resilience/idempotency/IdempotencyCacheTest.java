@@ -0,0 +1,84 @@
+package com.omar.spring_native_resilience.resilience.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache<String> cache =
+            new IdempotencyCache<>("test", 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void close() {
+        cache.close();
+    }
+
+    @Test
+    void duplicatesAttachToTheExecutionInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyCache.Execution<String> first = cache.execute("key-1", "order-1", () -> {
+            executions.incrementAndGet();
+            release.await();
+            return "driver-1";
+        });
+        IdempotencyCache.Execution<String> duplicate = cache.execute("key-1", "order-1", () -> {
+            executions.incrementAndGet();
+            return "driver-2";
+        });
+        release.countDown();
+
+        assertThat(first.existing()).isFalse();
+        assertThat(duplicate.existing()).isTrue();
+        assertThat(duplicate.result().get()).isEqualTo("driver-1");
+        assertThat(executions).hasValue(1);
+        assertThat(cache.execute("key-1", "order-1", () -> "driver-3").result().get()).isEqualTo("driver-1");
+    }
+
+    @Test
+    void reusingAKeyForAnotherRequestIsRejected() {
+        cache.execute("key-1", "order-1", () -> "driver-1");
+
+        assertThatThrownBy(() -> cache.execute("key-1", "order-2", () -> "driver-2"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void failuresAreNotRemembered() throws Exception {
+        IdempotencyCache.Execution<String> failed = cache.execute("key-1", "order-1", () -> {
+            throw new IllegalStateException("no drivers");
+        });
+        assertThatThrownBy(() -> failed.result().get()).isInstanceOf(ExecutionException.class);
+
+        IdempotencyCache.Execution<String> retry = cache.execute("key-1", "order-1", () -> "driver-1");
+
+        assertThat(retry.existing()).isFalse();
+        assertThat(retry.result().get()).isEqualTo("driver-1");
+    }
+
+    @Test
+    void errorsCompleteTheExecutionAndAreNotRemembered() throws Exception {
+        IdempotencyCache.Execution<String> failed = cache.execute("key-1", "order-1", () -> {
+            throw new AssertionError("broken invariant");
+        });
+        assertThatThrownBy(() -> failed.result().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+
+        IdempotencyCache.Execution<String> retry = cache.execute("key-1", "order-1", () -> "driver-1");
+
+        assertThat(retry.existing()).isFalse();
+        assertThat(retry.result().get(5, TimeUnit.SECONDS)).isEqualTo("driver-1");
+    }
+}
@@ -0,0 +1,100 @@
+package com.omar.spring_native_resilience.resilience.priority;
+
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import com.omar.spring_native_resilience.resilience.deadline.Deadline;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineContext;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrioritySchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PriorityScheduler scheduler = new PriorityScheduler("test", 1, 2, meterRegistry);
+
+    @Test
+    void freedPermitGoesToAFirstAttemptBeforeAnOlderRetry() throws Exception {
+        List<String> started = new CopyOnWriteArrayList<>();
+        scheduler.acquire(AttemptClass.FIRST_ATTEMPT);
+
+        CompletableFuture<Void> retry = runAsync(AttemptClass.RETRY, "retry", started);
+        awaitUntil(() -> scheduler.snapshot().queuedRetries() == 1);
+        CompletableFuture<Void> first = runAsync(AttemptClass.FIRST_ATTEMPT, "first", started);
+        awaitUntil(() -> scheduler.snapshot().queuedFirst() == 1);
+
+        scheduler.release();
+        CompletableFuture.allOf(retry, first).get(5, TimeUnit.SECONDS);
+
+        assertThat(started).containsExactly("first", "retry");
+        assertThat(meterRegistry.get("resilience.priority.queue.wait").tag("class", "retry").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryWhoseDeadlinePassesWhileQueuedIsDropped() throws Exception {
+        scheduler.acquire(AttemptClass.FIRST_ATTEMPT);
+
+        assertThatThrownBy(() -> DeadlineContext.callWith(Deadline.after(Duration.ofMillis(50)), () -> {
+            scheduler.acquire(AttemptClass.RETRY);
+            return null;
+        })).isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(scheduler.snapshot().queuedRetries()).isZero();
+        assertThat(scheduler.snapshot().droppedRetries()).isEqualTo(1);
+        scheduler.release();
+        assertThat(scheduler.snapshot().inFlight()).isZero();
+    }
+
+    @Test
+    void expiredAttemptNeverRunsEvenWithFreePermits() {
+        assertThatThrownBy(() -> DeadlineContext.callWith(new Deadline(System.nanoTime() - 1), () ->
+                scheduler.call(AttemptClass.RETRY, () -> "should not run")))
+                .isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(meterRegistry.get("resilience.priority.dropped")
+                .tags("class", "retry", "reason", "deadline").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueRejects() throws Exception {
+        scheduler.acquire(AttemptClass.FIRST_ATTEMPT);
+        List<String> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> first = runAsync(AttemptClass.RETRY, "a", started);
+        awaitUntil(() -> scheduler.snapshot().queuedRetries() == 1);
+        CompletableFuture<Void> second = runAsync(AttemptClass.RETRY, "b", started);
+        awaitUntil(() -> scheduler.snapshot().queuedRetries() == 2);
+
+        assertThatThrownBy(() -> scheduler.acquire(AttemptClass.RETRY)).isInstanceOf(BulkheadFullException.class);
+
+        scheduler.release();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(started).containsExactly("a", "b");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private CompletableFuture<Void> runAsync(AttemptClass attemptClass, String label, List<String> started) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                scheduler.call(attemptClass, () -> started.add(label));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.omar.spring_native_resilience.resilience.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+
+    @Test
+    void burstIsAvailableImmediatelyThenRefillsAtRate() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire()).isTrue();
+        }
+        assertThat(bucket.tryAcquire()).isFalse();
+
+        clock.addAndGet(SECOND / 10);
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void reservationsQueueUpOneIntervalApart() {
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire();
+        }
+
+        assertThat(bucket.reserve(-1)).isEqualTo(SECOND / 10);
+        assertThat(bucket.reserve(-1)).isEqualTo(2 * SECOND / 10);
+        assertThat(bucket.reserve(SECOND / 10)).isEqualTo(-1);
+    }
+
+    @Test
+    void bucketBecomesIdleOnceFullAgain() {
+        bucket.tryAcquire();
+        assertThat(bucket.isIdle()).isFalse();
+
+        clock.addAndGet(SECOND / 10);
+        assertThat(bucket.isIdle()).isTrue();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (bucket.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+        assertThat(granted).hasValue(5);
+    }
+}
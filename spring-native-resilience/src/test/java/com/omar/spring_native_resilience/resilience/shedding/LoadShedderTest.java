@@ -0,0 +1,63 @@
+package com.omar.spring_native_resilience.resilience.shedding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadShedderTest {
+
+    private static final Duration TARGET = Duration.ofMillis(5);
+    private static final Duration INTERVAL = Duration.ofMillis(100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoadShedder shedder = new LoadShedder("/api/test/", 1, TARGET, INTERVAL, meterRegistry);
+
+    @Test
+    void shortBurstWaitsForASlotInsteadOfBeingShed() throws Exception {
+        assertThat(shedder.tryAdmit()).isTrue();
+        CompletableFuture.runAsync(() -> {
+            sleep(20);
+            shedder.release(TimeUnit.MILLISECONDS.toNanos(20));
+        });
+
+        assertThat(shedder.tryAdmit()).isTrue();
+        assertThat(shedder.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void standingQueueSwitchesToShortWaitsAndRecoversOnceItDrains() throws Exception {
+        assertThat(shedder.tryAdmit()).isTrue();
+
+        // The first interval saw an immediate admission: the queue still counts as a burst
+        assertThat(shedder.tryAdmit()).isFalse();
+        assertThat(shedder.isOverloaded()).isFalse();
+        // Nobody got a slot for a whole interval: overloaded
+        assertThat(shedder.tryAdmit()).isFalse();
+        assertThat(shedder.isOverloaded()).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(shedder.tryAdmit()).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(INTERVAL);
+        assertThat(meterRegistry.get("resilience.loadshedding.requests").tag("outcome", "shed").counter().count())
+                .isEqualTo(3);
+
+        shedder.release(TimeUnit.SECONDS.toNanos(3));
+        sleep(INTERVAL.toMillis());
+        assertThat(shedder.tryAdmit()).isTrue();
+        assertThat(shedder.isOverloaded()).isFalse();
+        assertThat(shedder.retryAfter()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.omar.spring_native_resilience.resilience.singleflight;
+
+import com.omar.spring_native_resilience.resilience.deadline.Deadline;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineContext;
+import com.omar.spring_native_resilience.resilience.deadline.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(loadExecutor, Duration.ofSeconds(10));
+
+    @AfterEach
+    void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("rest-001", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "menu";
+                })));
+            }
+
+            while (singleFlight.coalescedCount() < 9) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("menu");
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.executionCount()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void failuresArePropagatedAndKeyIsReleased() {
+        assertThatThrownBy(() -> singleFlight.execute("rest-001", () -> {
+            throw new IllegalStateException("partner down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("rest-001", () -> "menu")).isEqualTo("menu");
+        assertThat(singleFlight.executionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void callAfterCompletionStartsAFreshExecution() {
+        for (int i = 0; i < 100; i++) {
+            String menu = "menu-" + i;
+            assertThat(singleFlight.execute("rest-001", () -> menu)).isEqualTo(menu);
+        }
+        assertThat(singleFlight.executionCount()).isEqualTo(100);
+        assertThat(singleFlight.coalescedCount()).isZero();
+    }
+
+    @Test
+    void interruptedLeaderDoesNotFailTheLoadForJoiners() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("rest-001", () -> {
+                await(release);
+                return "menu";
+            }));
+            while (singleFlight.inFlightCount() < 1) {
+                Thread.onSpinWait();
+            }
+            Future<String> joiner = executor.submit(() -> singleFlight.execute("rest-001", () -> "second load"));
+            while (singleFlight.coalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+
+            leader.cancel(true);
+            release.countDown();
+
+            assertThat(joiner.get(5, TimeUnit.SECONDS)).isEqualTo("menu");
+        }
+        assertThat(singleFlight.executionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callerDeadlineOnlyStopsThatCallersWait() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> DeadlineContext.callWith(
+                    Deadline.after(Duration.ofMillis(50)),
+                    () -> singleFlight.execute("rest-001", () -> {
+                        await(release);
+                        // The load runs under its own budget, not the leader's 50ms
+                        return DeadlineContext.current().remaining().toSeconds() > 1 ? "menu" : "leader deadline";
+                    })));
+            while (singleFlight.inFlightCount() < 1) {
+                Thread.onSpinWait();
+            }
+            Future<String> joiner = executor.submit(() -> singleFlight.execute("rest-001", () -> "second load"));
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(DeadlineExceededException.class);
+            release.countDown();
+
+            assertThat(joiner.get(5, TimeUnit.SECONDS)).isEqualTo("menu");
+        }
+    }
+
+    @Test
+    void interruptedLeaderGetsCancellation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> singleFlight.execute("rest-001", () -> {
+                await(release);
+                return "menu";
+            })).isInstanceOf(CancellationException.class);
+        } finally {
+            Thread.interrupted();
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.omar.spring_native_resilience.restaurant.cache;
+
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.exception.RestaurantApiException;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantService;
+import com.omar.spring_native_resilience.resilience.hedging.HedgedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MenuCacheTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+    private static final List<MenuItem> MENU = List.of(item("item-001", "Burger"));
+    private static final List<MenuItem> UPDATED_MENU = List.of(item("item-001", "Cheeseburger"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestaurantService restaurantService = mock(RestaurantService.class);
+    private final HedgedExecutor hedging = new HedgedExecutor("test", false, 95, Duration.ZERO, 0, meterRegistry);
+    private MenuCache menuCache;
+
+    @AfterEach
+    void shutdown() {
+        menuCache.shutdown();
+        hedging.close();
+    }
+
+    @Test
+    void freshEntryIsServedWithoutCallingThePartner() {
+        menuCache = cache(LONG, LONG);
+        when(restaurantService.getMenuFromPartner("rest-001")).thenReturn(MENU);
+
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(MENU);
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(MENU);
+
+        verify(restaurantService, times(1)).getMenuFromPartner("rest-001");
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void staleEntryIsServedAndRefreshedInTheBackground() throws Exception {
+        menuCache = cache(Duration.ZERO, LONG);
+        when(restaurantService.getMenuFromPartner("rest-001")).thenReturn(MENU, UPDATED_MENU);
+        menuCache.getMenu("rest-001");
+
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(MENU);
+
+        awaitUntil(() -> menuCache.getMenu("rest-001").equals(UPDATED_MENU));
+        assertThat(requests("stale")).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void oldEntryIsServedWhenThePartnerFails() {
+        menuCache = cache(Duration.ZERO, Duration.ZERO);
+        when(restaurantService.getMenuFromPartner("rest-001"))
+                .thenReturn(MENU)
+                .thenThrow(new RestaurantApiException("Partner down"));
+        menuCache.getMenu("rest-001");
+
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(MENU);
+        assertThat(meterRegistry.get("menu.cache.stale.served.on.error").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void partnerFailureWithoutAnyEntryIsPropagated() {
+        menuCache = cache(LONG, LONG);
+        when(restaurantService.getMenuFromPartner("rest-001")).thenThrow(new RestaurantApiException("Partner down"));
+
+        assertThatThrownBy(() -> menuCache.getMenu("rest-001")).isInstanceOf(RestaurantApiException.class);
+    }
+
+    @Test
+    void invalidationForcesAReload() {
+        menuCache = cache(LONG, LONG);
+        when(restaurantService.getMenuFromPartner("rest-001")).thenReturn(MENU, UPDATED_MENU);
+        menuCache.getMenu("rest-001");
+
+        menuCache.invalidate("rest-001");
+
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(UPDATED_MENU);
+        verify(restaurantService, times(2)).getMenuFromPartner("rest-001");
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsNotStored() throws Exception {
+        menuCache = cache(LONG, LONG);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restaurantService.getMenuFromPartner("rest-001"))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return MENU;
+                })
+                .thenReturn(UPDATED_MENU);
+
+        CompletableFuture<List<MenuItem>> before = CompletableFuture.supplyAsync(() -> menuCache.getMenu("rest-001"));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        menuCache.invalidate("rest-001");
+        release.countDown();
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo(MENU);
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(UPDATED_MENU);
+        assertThat(menuCache.getMenu("rest-001")).isEqualTo(UPDATED_MENU);
+        verify(restaurantService, times(2)).getMenuFromPartner("rest-001");
+    }
+
+    private MenuCache cache(Duration ttl, Duration maxStale) {
+        return new MenuCache(restaurantService, hedging, meterRegistry, ttl, maxStale, 100, Duration.ofSeconds(10));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("menu.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static MenuItem item(String id, String name) {
+        return new MenuItem(id, "rest-001", name, "House special", new BigDecimal("9.50"), "Burgers", true);
+    }
+}
@@ -0,0 +1,68 @@
+package com.omar.spring_native_resilience.restaurant.controller;
+
+import com.omar.spring_native_resilience.restaurant.cache.MenuCache;
+import com.omar.spring_native_resilience.restaurant.exception.RestaurantApiException;
+import com.omar.spring_native_resilience.restaurant.loader.DataLoader;
+import com.omar.spring_native_resilience.restaurant.search.RestaurantSearchService;
+import com.omar.spring_native_resilience.restaurant.service.BulkMenuService;
+import com.omar.spring_native_resilience.restaurant.service.NotificationBatcher;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantNotificationService;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantService;
+import com.omar.spring_native_resilience.resilience.circuitbreaker.CallNotPermittedException;
+import com.omar.spring_native_resilience.resilience.handler.ResilienceExceptionHandler;
+import com.omar.spring_native_resilience.resilience.ratelimit.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RestaurantControllerTest {
+
+    private final MenuCache menuCache = mock(MenuCache.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new RestaurantController(mock(RestaurantService.class),
+                    mock(RestaurantNotificationService.class), menuCache, mock(BulkMenuService.class),
+                    mock(DataLoader.class), mock(NotificationBatcher.class), mock(RestaurantSearchService.class)))
+            .setControllerAdvice(new ResilienceExceptionHandler())
+            .build();
+
+    @Test
+    void openCircuitIsMappedByTheResilienceHandler() throws Exception {
+        when(menuCache.getMenu("rest-001"))
+                .thenThrow(new CallNotPermittedException("restaurantPartner", Duration.ofSeconds(7)));
+
+        mockMvc.perform(get("/api/restaurants/rest-001/menu"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void exhaustedRateLimitIsMappedByTheResilienceHandler() throws Exception {
+        when(menuCache.getMenu("rest-001"))
+                .thenThrow(new RateLimitExceededException("restaurantPartner", Duration.ofSeconds(2)));
+
+        mockMvc.perform(get("/api/restaurants/rest-001/menu"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void partnerFailureAfterRetriesIsServiceUnavailable() throws Exception {
+        when(menuCache.getMenu("rest-001")).thenThrow(new RestaurantApiException("Partner down"));
+
+        mockMvc.perform(get("/api/restaurants/rest-001/menu"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.restaurantId").value("rest-001"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogStreamReaderTest {
+
+    private final CatalogStreamReader reader = new CatalogStreamReader(JsonMapper.builder().build());
+
+    @Test
+    void streamsEveryElementOfAMultiElementArrayInOrder() throws IOException {
+        ByteArrayResource catalogue = new ByteArrayResource("""
+                [
+                  {"id": "r1", "name": "Pizza Roma", "cuisine": "Italian", "rating": 4.8, "address": "1 Via", "menuItemIds": ["i1"]},
+                  {"id": "r2", "name": "Sushi Go", "cuisine": "Japanese", "rating": 4.5, "address": "2 Dori", "menuItemIds": []},
+                  {"id": "r3", "name": "Taco Loco", "cuisine": "Mexican", "rating": 4.1, "address": "3 Calle", "menuItemIds": ["i2", "i3"]}
+                ]
+                """.getBytes(StandardCharsets.UTF_8));
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        long count = reader.stream(catalogue, Restaurant.class, restaurants::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(restaurants).extracting(Restaurant::id).containsExactly("r1", "r2", "r3");
+        assertThat(restaurants.get(2).menuItemIds()).containsExactly("i2", "i3");
+    }
+
+    @Test
+    void streamsTheBundledCatalogue() throws IOException {
+        List<Restaurant> restaurants = new ArrayList<>();
+        List<MenuItem> menuItems = new ArrayList<>();
+
+        reader.stream(new ClassPathResource("data/restaurants.json"), Restaurant.class, restaurants::add);
+        reader.stream(new ClassPathResource("data/menu-items.json"), MenuItem.class, menuItems::add);
+
+        assertThat(restaurants).hasSizeGreaterThan(1);
+        assertThat(menuItems).hasSizeGreaterThan(1);
+        assertThat(menuItems).allSatisfy(item -> assertThat(item.restaurantId()).isNotNull());
+    }
+
+    @Test
+    void rejectsADocumentThatIsNotAnArray() {
+        ByteArrayResource notAnArray = new ByteArrayResource("{\"id\": \"r1\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> reader.stream(notAnArray, Restaurant.class, restaurant -> { }))
+                .isInstanceOf(IOException.class);
+    }
+}
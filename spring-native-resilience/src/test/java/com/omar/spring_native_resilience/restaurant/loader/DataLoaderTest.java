@@ -0,0 +1,149 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataLoaderTest {
+
+    @TempDir
+    Path catalogue;
+
+    private final List<Object> events = new ArrayList<>();
+    private DataLoader dataLoader;
+
+    @BeforeEach
+    void load() throws IOException {
+        writeRestaurants("""
+                {"id": "r1", "name": "Burger House", "cuisine": "American", "rating": 4.5, "address": "1 Main", "menuItemIds": ["i1", "i2"]},
+                {"id": "r2", "name": "Pasta Place", "cuisine": "Italian", "rating": 4.7, "address": "2 Oak", "menuItemIds": ["i3"]}
+                """);
+        writeMenuItems("""
+                {"id": "i1", "restaurantId": "r1", "name": "Burger", "description": "Beef", "price": 12.99, "category": "Burgers", "available": true},
+                {"id": "i2", "restaurantId": "r1", "name": "Fries", "description": "Crispy", "price": 4.99, "category": "Sides", "available": true},
+                {"id": "i3", "restaurantId": "r2", "name": "Carbonara", "description": "Creamy", "price": 15.99, "category": "Pasta", "available": true}
+                """);
+        dataLoader = new DataLoader(JsonMapper.builder().build(), new SimpleMeterRegistry(), events::add,
+                "file:" + catalogue + "/restaurants*.json", "file:" + catalogue + "/menu-items*.json", false);
+        dataLoader.reload();
+        events.clear();
+    }
+
+    @Test
+    void initialLoadIndexesEveryRestaurant() {
+        assertThat(dataLoader.getRestaurants()).containsOnlyKeys("r1", "r2");
+        assertThat(dataLoader.getMenuItems()).containsOnlyKeys("i1", "i2", "i3");
+        assertThat(dataLoader.getMenuIndex("r1").availableItems()).extracting(MenuItem::id).containsExactly("i1", "i2");
+        assertThat(dataLoader.getMenuIndex("r2").availableItems()).extracting(MenuItem::id).containsExactly("i3");
+    }
+
+    @Test
+    void reloadAppliesAddedUpdatedAndRemovedEntries() throws IOException {
+        RestaurantMenuIndex untouched = dataLoader.getMenuIndex("r2");
+        MenuItem carbonara = dataLoader.getMenuItem("i3");
+        writeRestaurants("""
+                {"id": "r1", "name": "Burger House", "cuisine": "American", "rating": 4.5, "address": "1 Main", "menuItemIds": ["i1", "i4"]},
+                {"id": "r2", "name": "Pasta Place", "cuisine": "Italian", "rating": 4.7, "address": "2 Oak", "menuItemIds": ["i3"]},
+                {"id": "r3", "name": "Sushi Bar", "cuisine": "Japanese", "rating": 4.8, "address": "3 Elm", "menuItemIds": ["i5"]}
+                """);
+        writeMenuItems("""
+                {"id": "i1", "restaurantId": "r1", "name": "Burger", "description": "Beef", "price": 13.49, "category": "Burgers", "available": true},
+                {"id": "i3", "restaurantId": "r2", "name": "Carbonara", "description": "Creamy", "price": 15.99, "category": "Pasta", "available": true},
+                {"id": "i4", "restaurantId": "r1", "name": "Shake", "description": "Vanilla", "price": 5.49, "category": "Drinks", "available": true},
+                {"id": "i5", "restaurantId": "r3", "name": "Maki", "description": "Salmon", "price": 8.99, "category": "Sushi", "available": true}
+                """);
+
+        DataLoader.ReloadReport report = dataLoader.reload();
+
+        assertThat(report.restaurantsAdded()).isEqualTo(1);
+        assertThat(report.restaurantsUpdated()).isEqualTo(1);
+        assertThat(report.restaurantsRemoved()).isZero();
+        assertThat(report.menuItemsAdded()).isEqualTo(2);
+        assertThat(report.menuItemsUpdated()).isEqualTo(1);
+        assertThat(report.menuItemsRemoved()).isEqualTo(1);
+        assertThat(report.restaurantsReindexed()).isEqualTo(2);
+        assertThat(events).containsExactly(new CatalogChangedEvent(Set.of("r1", "r3")));
+
+        assertThat(dataLoader.getMenuItem("i1").price()).isEqualByComparingTo("13.49");
+        assertThat(dataLoader.getMenuItem("i2")).isNull();
+        assertThat(dataLoader.getMenuIndex("r1").availableItems()).extracting(MenuItem::id).containsExactly("i1", "i4");
+        assertThat(dataLoader.getMenuIndex("r3").availableItems()).extracting(MenuItem::id).containsExactly("i5");
+
+        // Unchanged entries keep the instances their kept index already references
+        assertThat(dataLoader.getMenuIndex("r2")).isSameAs(untouched);
+        assertThat(dataLoader.getMenuItem("i3")).isSameAs(carbonara);
+    }
+
+    @Test
+    void reloadDropsRemovedRestaurantsFromTheIndex() throws IOException {
+        writeRestaurants("""
+                {"id": "r1", "name": "Burger House", "cuisine": "American", "rating": 4.5, "address": "1 Main", "menuItemIds": ["i1", "i2"]}
+                """);
+        writeMenuItems("""
+                {"id": "i1", "restaurantId": "r1", "name": "Burger", "description": "Beef", "price": 12.99, "category": "Burgers", "available": true},
+                {"id": "i2", "restaurantId": "r1", "name": "Fries", "description": "Crispy", "price": 4.99, "category": "Sides", "available": true}
+                """);
+
+        DataLoader.ReloadReport report = dataLoader.reload();
+
+        assertThat(report.restaurantsRemoved()).isEqualTo(1);
+        assertThat(report.menuItemsRemoved()).isEqualTo(1);
+        assertThat(dataLoader.getRestaurant("r2")).isNull();
+        assertThat(dataLoader.getMenuIndex("r2")).isNull();
+        assertThat(events).containsExactly(new CatalogChangedEvent(Set.of("r2")));
+    }
+
+    @Test
+    void unchangedReloadKeepsTheCatalogue() {
+        RestaurantMenuIndex index = dataLoader.getMenuIndex("r1");
+
+        DataLoader.ReloadReport report = dataLoader.reload();
+
+        assertThat(report.restaurantsReindexed()).isZero();
+        assertThat(dataLoader.getMenuIndex("r1")).isSameAs(index);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void availabilityChangeIsPublishedTogetherWithItsIndex() {
+        RestaurantMenuIndex before = dataLoader.getMenuIndex("r1");
+        RestaurantMenuIndex untouched = dataLoader.getMenuIndex("r2");
+
+        MenuItem updated = dataLoader.updateAvailability("i2", false);
+
+        assertThat(updated.available()).isFalse();
+        assertThat(dataLoader.getMenuItem("i2").available()).isFalse();
+        assertThat(dataLoader.getMenuIndex("r1").availableItems()).extracting(MenuItem::id).containsExactly("i1");
+        assertThat(events).containsExactly(new CatalogChangedEvent(Set.of("r1")));
+
+        // The previously published index is left as it was, other restaurants keep theirs
+        assertThat(before.availableItems()).extracting(MenuItem::id).containsExactly("i1", "i2");
+        assertThat(dataLoader.getMenuIndex("r2")).isSameAs(untouched);
+    }
+
+    @Test
+    void availabilityOfAnUnknownItemChangesNothing() {
+        assertThat(dataLoader.updateAvailability("missing", false)).isNull();
+        assertThat(events).isEmpty();
+    }
+
+    private void writeRestaurants(String records) throws IOException {
+        Files.writeString(catalogue.resolve("restaurants.json"), "[" + records + "]");
+    }
+
+    private void writeMenuItems(String records) throws IOException {
+        Files.writeString(catalogue.resolve("menu-items.json"), "[" + records + "]");
+    }
+}
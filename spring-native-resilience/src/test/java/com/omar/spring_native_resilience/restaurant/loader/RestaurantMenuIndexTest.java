@@ -0,0 +1,63 @@
+package com.omar.spring_native_resilience.restaurant.loader;
+
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.domain.PriceBand;
+import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RestaurantMenuIndexTest {
+
+    private final Map<String, MenuItem> items = Stream.of(
+                    item("i1", "Burgers", "12.99", true),
+                    item("i2", "Sides", "4.99", true),
+                    item("i3", "Burgers", "24.00", true),
+                    item("i4", "Sides", "3.50", false))
+            .collect(Collectors.toMap(MenuItem::id, Function.identity()));
+
+    @Test
+    void keepsOnlyAvailableItemsInMenuOrder() {
+        RestaurantMenuIndex index = RestaurantMenuIndex.of(restaurant("i3", "i4", "missing", "i1"), items::get);
+
+        assertThat(index.availableItems()).extracting(MenuItem::id).containsExactly("i3", "i1");
+    }
+
+    @Test
+    void groupsAvailableItemsByCategoryAndPriceBand() {
+        RestaurantMenuIndex index = RestaurantMenuIndex.of(restaurant("i1", "i2", "i3", "i4"), items::get);
+
+        assertThat(index.inCategory("Burgers")).extracting(MenuItem::id).containsExactly("i1", "i3");
+        assertThat(index.inCategory("Sides")).extracting(MenuItem::id).containsExactly("i2");
+        assertThat(index.inCategory("Drinks")).isEmpty();
+
+        assertThat(index.inPriceBand(PriceBand.BUDGET)).extracting(MenuItem::id).containsExactly("i2");
+        assertThat(index.inPriceBand(PriceBand.STANDARD)).extracting(MenuItem::id).containsExactly("i1");
+        assertThat(index.inPriceBand(PriceBand.PREMIUM)).extracting(MenuItem::id).containsExactly("i3");
+    }
+
+    @Test
+    void isImmutable() {
+        RestaurantMenuIndex index = RestaurantMenuIndex.of(restaurant("i1", "i2"), items::get);
+
+        assertThatThrownBy(() -> index.availableItems().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> index.inCategory("Burgers").clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> index.byPriceBand().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static Restaurant restaurant(String... menuItemIds) {
+        return new Restaurant("r1", "Burger House", "American", 4.5, "1 Main", List.of(menuItemIds));
+    }
+
+    private static MenuItem item(String id, String category, String price, boolean available) {
+        return new MenuItem(id, "r1", id, "", new BigDecimal(price), category, available);
+    }
+}
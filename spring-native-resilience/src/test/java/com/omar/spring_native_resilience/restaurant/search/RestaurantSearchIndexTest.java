@@ -0,0 +1,88 @@
+package com.omar.spring_native_resilience.restaurant.search;
+
+import com.omar.spring_native_resilience.restaurant.domain.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantSearchIndexTest {
+
+    private static final List<String> CUISINES = List.of("Italian", "Japanese", "Mexican", "American");
+    private static final List<String> NAMES = List.of("Pizza", "Pinocchio", "Pasta", "Sushi", "Sun", "Taco", "Burger");
+
+    @Test
+    void combinedFiltersOnlyReturnMatchingRestaurantsBestRatedFirst() {
+        RestaurantSearchIndex index = RestaurantSearchIndex.of(List.of(
+                restaurant("r1", "Pizza Roma", "Italian", 4.8),
+                restaurant("r2", "Pinocchio", "Italian", 4.5),
+                restaurant("r3", "Pizza Express", "Italian", 4.2),
+                restaurant("r4", "Pita House", "Greek", 4.9),
+                restaurant("r5", "Trattoria", "Italian", 4.9)));
+
+        RestaurantSearchIndex.Result result = index.search("italian", 4.5, "pi", null, 10);
+
+        assertThat(result.restaurants()).extracting(Restaurant::id).containsExactly("r1", "r2");
+        assertThat(result.next()).isNull();
+    }
+
+    @Test
+    void pagingThroughCursorsMatchesAFullScan() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            restaurants.add(restaurant("r" + i,
+                    NAMES.get(random.nextInt(NAMES.size())) + " " + i,
+                    CUISINES.get(random.nextInt(CUISINES.size())),
+                    Math.round(random.nextDouble(1, 5) * 10) / 10.0));
+        }
+        RestaurantSearchIndex index = RestaurantSearchIndex.of(restaurants);
+
+        for (String cuisine : new String[]{null, "Italian"}) {
+            for (String prefix : new String[]{null, "Pi", "Pizza 1"}) {
+                for (Double minRating : new Double[]{null, 4.5}) {
+                    List<Restaurant> expected = restaurants.stream()
+                            .filter(r -> cuisine == null || r.cuisine().equals(cuisine))
+                            .filter(r -> prefix == null || r.name().startsWith(prefix))
+                            .filter(r -> minRating == null || r.rating() >= minRating)
+                            .sorted(Comparator.comparingDouble(Restaurant::rating).reversed().thenComparing(Restaurant::id))
+                            .toList();
+
+                    List<Restaurant> paged = new ArrayList<>();
+                    RestaurantSearchIndex.Cursor cursor = null;
+                    do {
+                        RestaurantSearchIndex.Result page = index.search(cuisine, minRating, prefix, cursor, 37);
+                        paged.addAll(page.restaurants());
+                        cursor = (page.next() == null ? null : RestaurantSearchIndex.Cursor.decode(page.next().encode()));
+                    } while (cursor != null);
+
+                    assertThat(paged).as("cuisine=%s prefix=%s minRating=%s", cuisine, prefix, minRating)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void queryScansOnlyTheSmallestMatchingIndex() {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            restaurants.add(restaurant("r" + i, "Burger " + i, "American", 4.0));
+        }
+        restaurants.add(restaurant("p1", "Pizza Roma", "Italian", 4.7));
+        RestaurantSearchIndex index = RestaurantSearchIndex.of(restaurants);
+
+        RestaurantSearchIndex.Result result = index.search(null, null, "Piz", null, 20);
+
+        assertThat(result.restaurants()).extracting(Restaurant::id).containsExactly("p1");
+        assertThat(result.scanned()).isEqualTo(1);
+    }
+
+    private static Restaurant restaurant(String id, String name, String cuisine, double rating) {
+        return new Restaurant(id, name, cuisine, rating, "1 Main Street", List.of());
+    }
+}
@@ -0,0 +1,70 @@
+package com.omar.spring_native_resilience.restaurant.service;
+
+import com.omar.spring_native_resilience.restaurant.cache.MenuCache;
+import com.omar.spring_native_resilience.restaurant.domain.MenuFetchResult;
+import com.omar.spring_native_resilience.restaurant.domain.MenuFetchResult.Status;
+import com.omar.spring_native_resilience.restaurant.domain.MenuItem;
+import com.omar.spring_native_resilience.restaurant.exception.RestaurantApiException;
+import com.omar.spring_native_resilience.resilience.circuitbreaker.CallNotPermittedException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkMenuServiceTest {
+
+    private static final List<MenuItem> MENU = List.of(
+            new MenuItem("item-001", "rest-001", "Burger", "Classic", new BigDecimal("9.50"), "Burgers", true));
+
+    private final MenuCache menuCache = mock(MenuCache.class);
+    private final BulkMenuService bulkMenuService = new BulkMenuService(menuCache, 16);
+
+    @Test
+    void everyRestaurantGetsItsOwnOutcomeInRequestOrder() {
+        when(menuCache.getMenu("rest-001")).thenReturn(MENU);
+        when(menuCache.getMenu("rest-002")).thenThrow(new CallNotPermittedException("restaurantPartner", Duration.ofSeconds(10)));
+        when(menuCache.getMenu("rest-003")).thenThrow(new RestaurantApiException("Partner down"));
+
+        List<MenuFetchResult> results = bulkMenuService.fetchMenus(
+                List.of("rest-003", "rest-001", "rest-002", "rest-001"), Duration.ofSeconds(5));
+
+        assertThat(results).extracting(MenuFetchResult::restaurantId).containsExactly("rest-003", "rest-001", "rest-002");
+        assertThat(results).extracting(MenuFetchResult::status)
+                .containsExactly(Status.FAILED, Status.OK, Status.CIRCUIT_OPEN);
+        assertThat(results.get(1).menuItems()).isEqualTo(MENU);
+    }
+
+    @Test
+    void slowFetchTimesOutAtTheDeadlineWithoutBeingInterrupted() throws Exception {
+        CountDownLatch slowFetchDone = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(menuCache.getMenu("rest-001")).thenReturn(MENU);
+        when(menuCache.getMenu("rest-002")).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            } finally {
+                slowFetchDone.countDown();
+            }
+            return MENU;
+        });
+
+        long start = System.nanoTime();
+        List<MenuFetchResult> results = bulkMenuService.fetchMenus(List.of("rest-001", "rest-002"), Duration.ofMillis(100));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(400));
+        assertThat(results).extracting(MenuFetchResult::status).containsExactly(Status.OK, Status.TIMED_OUT);
+
+        assertThat(slowFetchDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+}
@@ -0,0 +1,119 @@
+package com.omar.spring_native_resilience.restaurant.service;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class NotificationBatcherTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+
+    private final RestaurantNotificationService notificationService = mock(RestaurantNotificationService.class);
+    private final Map<String, List<List<String>>> sent = new ConcurrentHashMap<>();
+    private NotificationBatcher batcher;
+
+    @AfterEach
+    void shutdown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void fullBatchIsSentRightAway() throws Exception {
+        batcher = batcher(LONG, 3, 100);
+        recordNotifications();
+
+        CompletableFuture.allOf(
+                batcher.submit(order("o1", "rest-001")),
+                batcher.submit(order("o2", "rest-001")),
+                batcher.submit(order("o3", "rest-001"))).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent.get("rest-001")).containsExactly(List.of("o1", "o2", "o3"));
+    }
+
+    @Test
+    void partialBatchesAreSentPerRestaurantOnceTheWindowCloses() throws Exception {
+        batcher = batcher(Duration.ofMillis(50), 100, 100);
+        recordNotifications();
+
+        CompletableFuture.allOf(
+                batcher.submit(order("o1", "rest-001")),
+                batcher.submit(order("o2", "rest-002")),
+                batcher.submit(order("o3", "rest-001"))).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent.get("rest-001")).containsExactly(List.of("o1", "o3"));
+        assertThat(sent.get("rest-002")).containsExactly(List.of("o2"));
+    }
+
+    @Test
+    void submissionsBeyondMaxPendingAreRejected() {
+        batcher = batcher(LONG, 100, 2);
+
+        batcher.submit(order("o1", "rest-001"));
+        batcher.submit(order("o2", "rest-002"));
+
+        assertThat(batcher.submit(order("o3", "rest-001")))
+                .failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BulkheadFullException.class);
+    }
+
+    @Test
+    void failedDeliveryFailsEveryOrderOfTheBatch() {
+        batcher = batcher(LONG, 2, 100);
+        doThrow(new IllegalStateException("webhook down"))
+                .when(notificationService).notifyRestaurantBatch(anyString(), anyList());
+
+        CompletableFuture<Void> first = batcher.submit(order("o1", "rest-001"));
+        CompletableFuture<Void> second = batcher.submit(order("o2", "rest-001"));
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void deliveryErrorsAlsoFailTheOrders() {
+        batcher = batcher(LONG, 1, 100);
+        doThrow(new StackOverflowError("webhook client"))
+                .when(notificationService).notifyRestaurantBatch(anyString(), anyList());
+
+        assertThatThrownBy(() -> batcher.submit(order("o1", "rest-001")).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+    }
+
+    private NotificationBatcher batcher(Duration window, int maxBatchSize, int maxPending) {
+        return new NotificationBatcher(notificationService, new SimpleMeterRegistry(), window, maxBatchSize, maxPending);
+    }
+
+    private void recordNotifications() {
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(1);
+            sent.computeIfAbsent(invocation.getArgument(0), restaurantId -> new CopyOnWriteArrayList<>())
+                    .add(orders.stream().map(Order::id).toList());
+            return null;
+        }).when(notificationService).notifyRestaurantBatch(anyString(), anyList());
+    }
+
+    private static Order order(String id, String restaurantId) {
+        return new Order(id, "customer-001", restaurantId, List.of("item-001"), new BigDecimal("12.00"), "payment-" + id);
+    }
+}
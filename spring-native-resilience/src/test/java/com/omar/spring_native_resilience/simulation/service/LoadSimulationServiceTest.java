@@ -0,0 +1,133 @@
+package com.omar.spring_native_resilience.simulation.service;
+
+import com.omar.spring_native_resilience.order.Order;
+import com.omar.spring_native_resilience.resilience.concurrency.BulkheadFullException;
+import com.omar.spring_native_resilience.restaurant.service.RestaurantNotificationService;
+import com.omar.spring_native_resilience.simulation.domain.SimulationReport;
+import com.omar.spring_native_resilience.simulation.domain.SimulationRequest;
+import com.omar.spring_native_resilience.simulation.domain.SimulationRequest.ExecutorType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class LoadSimulationServiceTest {
+
+    private final RestaurantNotificationService notificationService = mock(RestaurantNotificationService.class);
+    private final LoadSimulationService simulations = new LoadSimulationService(notificationService, 4, 1);
+
+    @AfterEach
+    void shutdown() {
+        simulations.shutdown();
+    }
+
+    @Test
+    void completedSimulationReportsEveryNotification() throws Exception {
+        Set<String> restaurants = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> restaurants.add(invocation.<Order>getArgument(0).restaurantId()))
+                .when(notificationService).notifyRestaurant(any());
+
+        SimulationReport report = awaitFinished(simulations.start(
+                new SimulationRequest(30, 5, ExecutorType.VIRTUAL, 3)));
+
+        assertThat(report.status()).isEqualTo(SimulationReport.Status.COMPLETED);
+        assertThat(report.completed()).isEqualTo(30);
+        assertThat(report.failed()).isZero();
+        assertThat(report.latencyP50Ms()).isNotNull();
+        assertThat(report.latencyMaxMs()).isGreaterThanOrEqualTo(report.latencyP99Ms());
+        assertThat(restaurants).containsExactlyInAnyOrder("restaurant-001", "restaurant-002", "restaurant-003");
+    }
+
+    @Test
+    void offeredConcurrencyBoundsTheNotificationsInFlight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        doAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(notificationService).notifyRestaurant(any());
+
+        SimulationReport report = awaitFinished(simulations.start(
+                new SimulationRequest(20, 3, ExecutorType.PLATFORM, 1)));
+
+        assertThat(report.completed()).isEqualTo(20);
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+        assertThat(report.peakInFlight()).isLessThanOrEqualTo(3);
+        assertThat(report.peakPlatformThreads()).isPositive();
+    }
+
+    @Test
+    void rejectionsAndFailuresAreCountedSeparately() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            switch (calls.incrementAndGet() % 3) {
+                case 1 -> throw new BulkheadFullException("restaurantNotifications", "wait queue is full (50)");
+                case 2 -> throw new IllegalStateException("webhook down");
+                default -> {
+                    return null;
+                }
+            }
+        }).when(notificationService).notifyRestaurant(any());
+
+        SimulationReport report = awaitFinished(simulations.start(
+                new SimulationRequest(9, 1, ExecutorType.VIRTUAL, 1)));
+
+        assertThat(report.completed()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.failed()).isEqualTo(6); // rejections included
+    }
+
+    @Test
+    void runningJobsAreCappedAndCanBeCancelled() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            released.await();
+            return null;
+        }).when(notificationService).notifyRestaurant(any());
+
+        SimulationReport running = simulations.start(new SimulationRequest(100, 2, ExecutorType.VIRTUAL, 1));
+        assertThatThrownBy(() -> simulations.start(new SimulationRequest(1, 1, ExecutorType.VIRTUAL, 1)))
+                .isInstanceOf(BulkheadFullException.class);
+
+        simulations.cancel(running.jobId());
+        released.countDown();
+        SimulationReport cancelled = awaitFinished(running);
+
+        assertThat(cancelled.status()).isEqualTo(SimulationReport.Status.CANCELLED);
+        assertThat(cancelled.completed()).isLessThan(100);
+    }
+
+    @Test
+    void requestIsClampedToSaneValues() {
+        SimulationReport report = simulations.start(new SimulationRequest(0, -5, null, 0));
+
+        assertThat(report.request()).isEqualTo(new SimulationRequest(1, 1, ExecutorType.VIRTUAL, 1));
+        assertThat(simulations.report("unknown")).isNull();
+    }
+
+    private SimulationReport awaitFinished(SimulationReport started) throws InterruptedException {
+        awaitUntil(() -> simulations.report(started.jobId()).status() != SimulationReport.Status.RUNNING);
+        return simulations.report(started.jobId());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}